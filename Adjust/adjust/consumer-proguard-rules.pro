@@ -0,0 +1,5 @@
+# Applied to the apps that use the sdk.
+
+# created by name by CoreFactory, which falls back to the jvm defaults without them
+-keep class com.adjust.sdk.AndroidLogger { <init>(); }
+-keep class com.adjust.sdk.AndroidClock { <init>(); }
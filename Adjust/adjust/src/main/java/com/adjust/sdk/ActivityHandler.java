@@ -17,28 +17,37 @@ import android.content.pm.ResolveInfo;
 import android.net.Uri;
 import android.os.Handler;
 import android.os.HandlerThread;
+import android.os.SystemClock;
 
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static com.adjust.sdk.Constants.ACTIVITY_STATE_FILENAME;
 import static com.adjust.sdk.Constants.ATTRIBUTION_FILENAME;
 import static com.adjust.sdk.Constants.LOGTAG;
+import static com.adjust.sdk.Constants.SESSION_PARAMETERS_FILENAME;
 
-public class ActivityHandler extends HandlerThread implements IActivityHandler {
+public class ActivityHandler extends HandlerThread implements IActivityHandler,
+        AdvertisingIdProvider.OnAdvertisingIdChangedListener {
 
     private static long FOREGROUND_TIMER_INTERVAL;
     private static long FOREGROUND_TIMER_START;
+    private static long FOREGROUND_TIMER_MAX_INTERVAL;
     private static long BACKGROUND_TIMER_INTERVAL;
     private static long SESSION_INTERVAL;
     private static long SUBSESSION_INTERVAL;
+    private static long LIFECYCLE_GRACE_INTERVAL;
     private static final String TIME_TRAVEL = "Time travel!";
     private static final String ADJUST_PREFIX = "adjust_";
     private static final String ACTIVITY_STATE_NAME = "Activity state";
     private static final String ATTRIBUTION_NAME = "Attribution";
+    private static final String SESSION_PARAMETERS_NAME = "Session parameters";
     private static final String FOREGROUND_TIMER_NAME = "Foreground timer";
     private static final String BACKGROUND_TIMER_NAME = "Background timer";
 
@@ -50,12 +59,18 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
     private ScheduledExecutorService scheduler;
     private TimerOnce backgroundTimer;
     private InternalState internalState;
+    private Runnable pendingSubsessionEnd;
 
     private DeviceInfo deviceInfo;
+    // the device info with the config, as the packages send it
+    private ConfiguredDeviceInfo configuredDeviceInfo;
     private AdjustConfig adjustConfig; // always valid after construction
     private AdjustAttribution attribution;
+    private SessionParameters sessionParameters; // replaced on every change
     private IAttributionHandler attributionHandler;
     private ISdkClickHandler sdkClickHandler;
+    private CallbackDispatcher callbackDispatcher;
+    private StartupReport startupReport;
 
     public class InternalState {
         boolean enabled;
@@ -89,6 +104,9 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
 
     private ActivityHandler(AdjustConfig adjustConfig) {
         super(LOGTAG, MIN_PRIORITY);
+        startupReport = new StartupReport();
+        long constructionStart = System.nanoTime();
+
         setDaemon(true);
         start();
 
@@ -103,11 +121,29 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         }
 
         this.internalHandler = new Handler(getLooper());
+        startupReport.add(StartupReport.Phase.HANDLER_THREADS_START, constructionStart);
         internalState = new InternalState();
 
+        // listeners run on the main thread unless there is a callback executor
+        if (adjustConfig.callbackExecutor == null) {
+            callbackDispatcher = new CallbackDispatcher(
+                    new CallbackDispatcher.MainThreadExecutor(adjustConfig.context));
+        } else {
+            callbackDispatcher = new CallbackDispatcher(adjustConfig.callbackExecutor);
+        }
+
         // read files to have sync values available
+        long readStart = System.nanoTime();
         readAttribution(adjustConfig.context);
+        startupReport.finished(StartupReport.Phase.READ_ATTRIBUTION, readStart);
+
+        readStart = System.nanoTime();
         readActivityState(adjustConfig.context);
+        startupReport.finished(StartupReport.Phase.READ_ACTIVITY_STATE, readStart);
+
+        readStart = System.nanoTime();
+        readSessionParameters(adjustConfig.context);
+        startupReport.finished(StartupReport.Phase.READ_SESSION_PARAMETERS, readStart);
 
         // enabled by default
         if (activityState == null) {
@@ -120,26 +156,23 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         // in the background by default
         internalState.background = true;
 
-        internalHandler.post(new Runnable() {
-            @Override
-            public void run() {
-                initInternal();
-            }
-        });
-
         // get timer values
         FOREGROUND_TIMER_INTERVAL = AdjustFactory.getTimerInterval();
         FOREGROUND_TIMER_START = AdjustFactory.getTimerStart();
+        // an idle foreground timer backs off, but still fires often enough
+        // for the time spent updates not to be ignored as late
+        FOREGROUND_TIMER_MAX_INTERVAL = Math.min(AdjustFactory.getTimerMaxInterval(),
+                AdjustFactory.getSessionInterval() / 2);
         BACKGROUND_TIMER_INTERVAL = AdjustFactory.getTimerInterval();
 
         // initialize timers to be available in onResume/onPause
-        // after initInternal so that the handlers are initialized
         foregroundTimer = new TimerCycle(new Runnable() {
             @Override
             public void run() {
                 foregroundTimerFired();
             }
-        }, FOREGROUND_TIMER_START, FOREGROUND_TIMER_INTERVAL, FOREGROUND_TIMER_NAME);
+        }, FOREGROUND_TIMER_START, FOREGROUND_TIMER_INTERVAL, FOREGROUND_TIMER_MAX_INTERVAL,
+                FOREGROUND_TIMER_NAME);
 
         // create background timer
         scheduler = Executors.newSingleThreadScheduledExecutor();
@@ -149,6 +182,16 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
                 backgroundTimerFired();
             }
         }, BACKGROUND_TIMER_NAME);
+
+        // posted last, initInternal uses the timers and their scheduler
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                initInternal();
+            }
+        });
+
+        startupReport.finished(StartupReport.Phase.ACTIVITY_HANDLER_CONSTRUCTION, constructionStart);
     }
 
     @Override
@@ -197,6 +240,12 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         internalHandler.post(new Runnable() {
             @Override
             public void run() {
+                // resumed within the grace interval, the subsession never ended
+                if (cancelPendingSubsessionEnd()) {
+                    logger.verbose("Subsession continues");
+                    return;
+                }
+
                 stopBackgroundTimer();
 
                 startForegroundTimer();
@@ -211,23 +260,21 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
     @Override
     public void onPause() {
         internalState.background = true;
+        final long pauseTime = System.currentTimeMillis();
 
         internalHandler.post(new Runnable() {
             @Override
             public void run() {
-                stopForegroundTimer();
-
-                startBackgroundTimer();
-
-                logger.verbose("Subsession end");
-
-                endInternal();
+                pauseInternal(pauseTime);
             }
         });
     }
 
     @Override
     public void trackEvent(final AdjustEvent event) {
+        final long packageId = PackageTracer.nextPackageId();
+        PackageTracer.trace(PackageTracer.Stage.ENQUEUE, packageId, ActivityKind.EVENT);
+
         internalHandler.post(new Runnable() {
             @Override
             public void run() {
@@ -237,13 +284,18 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
                             "Please check https://github.com/adjust/android_sdk#can-i-trigger-an-event-at-application-launch for more information.");
                     startInternal();
                 }
-                trackEventInternal(event);
+                trackEventInternal(event, packageId);
             }
         });
     }
 
     @Override
     public void finishedTrackingActivity(ResponseData responseData) {
+        startupReport.finishedSinceStart(StartupReport.Phase.FIRST_PACKAGE_SENT);
+        if (responseData.activityKind == ActivityKind.SESSION) {
+            startupReport.finishedSinceStart(StartupReport.Phase.FIRST_SESSION_SENT);
+        }
+
         // redirect session responses to attribution handler to check for attribution information
         if (responseData instanceof SessionResponseData) {
             attributionHandler.checkSessionResponse((SessionResponseData)responseData);
@@ -390,6 +442,66 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         writeActivityState();
     }
 
+    @Override
+    public void addSessionCallbackParameter(final String key, final String value) {
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                addSessionCallbackParameterInternal(key, value);
+            }
+        });
+    }
+
+    @Override
+    public void addSessionPartnerParameter(final String key, final String value) {
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                addSessionPartnerParameterInternal(key, value);
+            }
+        });
+    }
+
+    @Override
+    public void removeSessionCallbackParameter(final String key) {
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                removeSessionCallbackParameterInternal(key);
+            }
+        });
+    }
+
+    @Override
+    public void removeSessionPartnerParameter(final String key) {
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                removeSessionPartnerParameterInternal(key);
+            }
+        });
+    }
+
+    @Override
+    public void resetSessionCallbackParameters() {
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                resetSessionCallbackParametersInternal();
+            }
+        });
+    }
+
+    @Override
+    public void resetSessionPartnerParameters() {
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                resetSessionPartnerParametersInternal();
+            }
+        });
+    }
+
     @Override
     public void sendReferrer(final String referrer, final long clickTime) {
         internalHandler.post(new Runnable() {
@@ -430,10 +542,84 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         });
     }
 
+    @Override
+    public StartupReport getStartupReport() {
+        return startupReport;
+    }
+
+    // persist the state and try to send the queued packages and sdk clicks until the timeout expires
+    // returns the number of packages still in the queue, or -1 if it could not be read in time
+    @Override
+    public int flush(long timeoutMilliseconds) {
+        long deadline = SystemClock.elapsedRealtime() + timeoutMilliseconds;
+        final CountDownLatch stateWritten = new CountDownLatch(1);
+
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                flushInternal();
+                stateWritten.countDown();
+            }
+        });
+
+        try {
+            if (!stateWritten.await(timeoutMilliseconds, TimeUnit.MILLISECONDS)) {
+                logger.warn("Flush timed out before writing the activity state");
+                return -1;
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Flush interrupted");
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+
+        long remaining = Math.max(0, deadline - SystemClock.elapsedRealtime());
+        int packagesRemaining = packageHandler.flush(remaining);
+
+        // the sdk clicks are not persisted, they are lost if they're not sent
+        remaining = Math.max(0, deadline - SystemClock.elapsedRealtime());
+        packagesRemaining += sdkClickHandler.flush(remaining);
+
+        // restore the sending state from before the flush
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (!toSend()) {
+                    packageHandler.pauseSending();
+                    sdkClickHandler.pauseSending();
+                }
+            }
+        });
+
+        return packagesRemaining;
+    }
+
+    // stop every handler thread and timer, so that the sdk can be initialized again
+    // waits shortly for the state to be written, so that a new instance reads it
+    @Override
+    public void teardown() {
+        final CountDownLatch stateWritten = new CountDownLatch(1);
+
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                teardownInternal();
+                stateWritten.countDown();
+            }
+        });
+
+        try {
+            if (!stateWritten.await(Constants.ONE_SECOND, TimeUnit.MILLISECONDS)) {
+                logger.warn("Teardown continues in the background");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public ActivityPackage getAttributionPackage() {
         long now = System.currentTimeMillis();
-        PackageBuilder attributionBuilder = new PackageBuilder(adjustConfig,
-                deviceInfo,
+        PackageBuilder attributionBuilder = new PackageBuilder(configuredDeviceInfo,
                 activityState,
                 now);
         return attributionBuilder.buildAttributionPackage();
@@ -470,17 +656,30 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         });
     }
 
+    @Override
+    public void onAdvertisingIdChanged(AdvertisingIdProvider.Snapshot snapshot) {
+        logger.info("Google Play Services Advertising ID changed");
+    }
+
     private void initInternal() {
         SESSION_INTERVAL = AdjustFactory.getSessionInterval();
         SUBSESSION_INTERVAL = AdjustFactory.getSubsessionInterval();
+        // a longer grace interval would hide new subsessions
+        LIFECYCLE_GRACE_INTERVAL = Math.min(AdjustFactory.getLifecycleGraceInterval(),
+                SUBSESSION_INTERVAL);
 
-        deviceInfo = new DeviceInfo(adjustConfig.context, adjustConfig.sdkPrefix);
+        long deviceInfoStart = System.nanoTime();
+        readDeviceInfo();
+        startupReport.finished(StartupReport.Phase.DEVICE_INFO, deviceInfoStart);
 
         if (adjustConfig.eventBufferingEnabled) {
             logger.info("Event buffering is enabled");
         }
 
-        String playAdId = Util.getPlayAdId(adjustConfig.context);
+        AdvertisingIdProvider advertisingIdProvider = AdjustFactory.getAdvertisingIdProvider(adjustConfig.context);
+        advertisingIdProvider.addListener(this);
+
+        String playAdId = advertisingIdProvider.getPlayAdId();
         if (playAdId == null) {
             logger.warn("Unable to get Google Play Services Advertising ID at start time");
             if (deviceInfo.macSha1 == null &&
@@ -501,7 +700,9 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
             sendReferrer(adjustConfig.referrer, adjustConfig.referrerClickTime); // send to background queue to make sure that activityState is valid
         }
 
+        long handlersStart = System.nanoTime();
         packageHandler = AdjustFactory.getPackageHandler(this, adjustConfig.context, toSend());
+        startupReport.add(StartupReport.Phase.HANDLER_THREADS_START, handlersStart);
 
         ActivityPackage attributionPackage = getAttributionPackage();
         attributionHandler = AdjustFactory.getAttributionHandler(this,
@@ -509,7 +710,46 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
                 toSend(),
                 adjustConfig.hasAttributionChangedListener());
 
+        handlersStart = System.nanoTime();
         sdkClickHandler = AdjustFactory.getSdkClickHandler(toSend());
+        startupReport.add(StartupReport.Phase.HANDLER_THREADS_START, handlersStart);
+    }
+
+    private void readDeviceInfo() {
+        setDeviceInfo(DeviceInfo.readCached(adjustConfig.context, adjustConfig.sdkPrefix));
+
+        if (!deviceInfo.readFromCache) {
+            logger.debug("Device info read in %d ms", deviceInfo.readTime);
+            deviceInfo.writeCache(adjustConfig.context);
+            return;
+        }
+
+        logger.debug("Device info read from cache in %d ms", deviceInfo.readTime);
+
+        // read the expensive fields again in the background, for the next launch
+        // and for the following packages if they changed
+        scheduler.submit(new Runnable() {
+            @Override
+            public void run() {
+                final DeviceInfo freshDeviceInfo = new DeviceInfo(adjustConfig.context, adjustConfig.sdkPrefix);
+                freshDeviceInfo.writeCache(adjustConfig.context);
+
+                internalHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (freshDeviceInfo.changedFrom(deviceInfo)) {
+                            logger.debug("Device info changed since the last launch");
+                            setDeviceInfo(freshDeviceInfo);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void setDeviceInfo(DeviceInfo deviceInfo) {
+        this.deviceInfo = deviceInfo;
+        this.configuredDeviceInfo = new ConfiguredDeviceInfo(adjustConfig, deviceInfo);
     }
 
     private void startInternal() {
@@ -592,18 +832,67 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         attributionHandler.getAttribution();
     }
 
-    private void endInternal() {
+    private void pauseInternal(final long pauseTime) {
+        // the subsession end is already pending
+        if (pendingSubsessionEnd != null) {
+            return;
+        }
+
+        if (LIFECYCLE_GRACE_INTERVAL <= 0) {
+            endSubsessionInternal(pauseTime);
+            return;
+        }
+
+        // wait for a resume that would make this pause a no-op,
+        // like switching between activities
+        pendingSubsessionEnd = new Runnable() {
+            @Override
+            public void run() {
+                pendingSubsessionEnd = null;
+                endSubsessionInternal(pauseTime);
+            }
+        };
+        internalHandler.postDelayed(pendingSubsessionEnd, LIFECYCLE_GRACE_INTERVAL);
+    }
+
+    private boolean cancelPendingSubsessionEnd() {
+        if (pendingSubsessionEnd == null) {
+            return false;
+        }
+
+        internalHandler.removeCallbacks(pendingSubsessionEnd);
+        pendingSubsessionEnd = null;
+        return true;
+    }
+
+    private void endSubsessionInternal(long pauseTime) {
+        stopForegroundTimer();
+
+        startBackgroundTimer();
+
+        logger.verbose("Subsession end");
+
+        endInternal(pauseTime);
+    }
+
+    private void endInternal(long pauseTime) {
         // pause sending if it's not allowed to send
         if (!toSend()) {
             pauseSending();
         }
 
-        if (updateActivityState(System.currentTimeMillis())) {
+        // events tracked during the grace interval already counted the time after the pause
+        long now = pauseTime;
+        if (activityState != null && activityState.lastActivity > now) {
+            now = activityState.lastActivity;
+        }
+
+        if (updateActivityState(now)) {
             writeActivityState();
         }
     }
 
-    private void trackEventInternal(AdjustEvent event) {
+    private void trackEventInternal(AdjustEvent event, long packageId) {
         if (!checkActivityState(activityState)) return;
         if (!this.isEnabled()) return;
         if (!checkEvent(event)) return;
@@ -613,9 +902,13 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         activityState.eventCount++;
         updateActivityState(now);
 
-        PackageBuilder eventBuilder = new PackageBuilder(adjustConfig, deviceInfo, activityState, now);
+        PackageBuilder eventBuilder = new PackageBuilder(configuredDeviceInfo, activityState, now);
+        eventBuilder.sessionParameters = sessionParameters;
+        eventBuilder.packageId = packageId;
         ActivityPackage eventPackage = eventBuilder.buildEventPackage(event);
         packageHandler.addPackage(eventPackage);
+        // there is something to send again
+        foregroundTimer.resetCycleDelay();
 
         if (adjustConfig.eventBufferingEnabled) {
             logger.info("Buffered event %s", eventPackage.getSuffix());
@@ -631,116 +924,169 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         writeActivityState();
     }
 
-    private void launchEventResponseTasksInternal(final EventResponseData eventResponseData) {
-        Handler handler = new Handler(adjustConfig.context.getMainLooper());
+    private void flushInternal() {
+        persistActivityState();
+
+        // send in the background as well, unless it's disabled or offline
+        if (!paused()) {
+            packageHandler.resumeSending();
+            sdkClickHandler.resumeSending();
+        }
+    }
+
+    private void teardownInternal() {
+        logger.verbose("ActivityHandler teardown");
+
+        persistActivityState();
 
+        AdjustFactory.getAdvertisingIdProvider(adjustConfig.context).teardown();
+
+        foregroundTimer.teardown();
+        backgroundTimer.teardown();
+        scheduler.shutdownNow();
+
+        packageHandler.teardown();
+        attributionHandler.teardown();
+        sdkClickHandler.teardown();
+
+        quit();
+    }
+
+    private void persistActivityState() {
+        // end the subsession now instead of losing it in the handler queue
+        if (pendingSubsessionEnd != null) {
+            Runnable subsessionEnd = pendingSubsessionEnd;
+            cancelPendingSubsessionEnd();
+            subsessionEnd.run();
+        }
+
+        if (activityState == null) {
+            return;
+        }
+
+        // time spent only counts while in the foreground
+        if (internalState.isForeground()) {
+            updateActivityState(System.currentTimeMillis());
+        }
+
+        writeActivityState();
+    }
+
+    private void launchEventResponseTasksInternal(final EventResponseData eventResponseData) {
         // success callback
         if (eventResponseData.success && adjustConfig.onEventTrackingSucceededListener != null) {
             logger.debug("Launching success event tracking listener");
-            // add it to the handler queue
+            // add it to the callback queue
             Runnable runnable = new Runnable() {
                 @Override
                 public void run() {
                     adjustConfig.onEventTrackingSucceededListener.onFinishedEventTrackingSucceeded(eventResponseData.getSuccessResponseData());
+                    traceListenerDispatch(eventResponseData);
                 }
             };
-            handler.post(runnable);
+            callbackDispatcher.dispatch(runnable);
 
             return;
         }
         // failure callback
         if (!eventResponseData.success && adjustConfig.onEventTrackingFailedListener != null) {
             logger.debug("Launching failed event tracking listener");
-            // add it to the handler queue
+            // add it to the callback queue
             Runnable runnable = new Runnable() {
                 @Override
                 public void run() {
                     adjustConfig.onEventTrackingFailedListener.onFinishedEventTrackingFailed(eventResponseData.getFailureResponseData());
+                    traceListenerDispatch(eventResponseData);
                 }
             };
-            handler.post(runnable);
+            callbackDispatcher.dispatch(runnable);
 
             return;
         }
+
+        traceListenerDispatch(eventResponseData);
     }
 
     private void launchSessionResponseTasksInternal(SessionResponseData sessionResponseData) {
-        // use the same handler to ensure that all tasks are executed sequentially
-        Handler handler = new Handler(adjustConfig.context.getMainLooper());
-
         // try to update the attribution
         boolean attributionUpdated = updateAttribution(sessionResponseData.attribution);
 
         // if attribution changed, launch attribution changed delegate
         if (attributionUpdated) {
-            launchAttributionListener(handler);
+            launchAttributionListener();
         }
 
         // launch Session tracking listener if available
-        launchSessionResponseListener(sessionResponseData, handler);
+        launchSessionResponseListener(sessionResponseData);
 
         // if there is any, try to launch the deeplink
-        prepareDeeplink(sessionResponseData, handler);
+        prepareDeeplink(sessionResponseData);
     }
 
-    private void launchSessionResponseListener(final SessionResponseData sessionResponseData, Handler handler) {
+    private void launchSessionResponseListener(final SessionResponseData sessionResponseData) {
         // success callback
         if (sessionResponseData.success && adjustConfig.onSessionTrackingSucceededListener != null) {
             logger.debug("Launching success session tracking listener");
-            // add it to the handler queue
+            // add it to the callback queue
             Runnable runnable = new Runnable() {
                 @Override
                 public void run() {
                     adjustConfig.onSessionTrackingSucceededListener.onFinishedSessionTrackingSucceeded(sessionResponseData.getSuccessResponseData());
+                    traceListenerDispatch(sessionResponseData);
                 }
             };
-            handler.post(runnable);
+            callbackDispatcher.dispatch(runnable);
 
             return;
         }
         // failure callback
         if (!sessionResponseData.success && adjustConfig.onSessionTrackingFailedListener != null) {
             logger.debug("Launching failed session tracking listener");
-            // add it to the handler queue
+            // add it to the callback queue
             Runnable runnable = new Runnable() {
                 @Override
                 public void run() {
                     adjustConfig.onSessionTrackingFailedListener.onFinishedSessionTrackingFailed(sessionResponseData.getFailureResponseData());
+                    traceListenerDispatch(sessionResponseData);
                 }
             };
-            handler.post(runnable);
+            callbackDispatcher.dispatch(runnable);
 
             return;
         }
+
+        traceListenerDispatch(sessionResponseData);
     }
 
-    private void launchAttributionResponseTasksInternal(AttributionResponseData responseData) {
-        Handler handler = new Handler(adjustConfig.context.getMainLooper());
+    private void traceListenerDispatch(ResponseData responseData) {
+        PackageTracer.trace(PackageTracer.Stage.LISTENER_DISPATCH, responseData.packageId, responseData.activityKind);
+    }
 
+    private void launchAttributionResponseTasksInternal(AttributionResponseData responseData) {
         // try to update the attribution
         boolean attributionUpdated = updateAttribution(responseData.attribution);
 
         // if attribution changed, launch attribution changed delegate
         if (attributionUpdated) {
-            launchAttributionListener(handler);
+            launchAttributionListener();
         }
     }
 
-    private void launchAttributionListener(Handler handler) {
+    private void launchAttributionListener() {
         if (adjustConfig.onAttributionChangedListener == null) {
             return;
         }
-        // add it to the handler queue
+        // add it to the callback queue
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 adjustConfig.onAttributionChangedListener.onAttributionChanged(attribution);
             }
         };
-        handler.post(runnable);
+        callbackDispatcher.dispatch(runnable);
     }
 
-    private void prepareDeeplink(ResponseData responseData, final Handler handler) {
+    private void prepareDeeplink(ResponseData responseData) {
         if (responseData.jsonResponse == null) {
             return;
         }
@@ -766,7 +1112,7 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
                 }
             }
         };
-        handler.post(runnable);
+        callbackDispatcher.dispatch(runnable);
     }
 
     private Intent createDeeplinkIntent(Uri location) {
@@ -795,7 +1141,7 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
             return;
         }
 
-        // add it to the handler queue
+        // add it to the callback queue
         logger.info("Open deep link (%s)", deeplink);
         adjustConfig.context.startActivity(deeplinkIntent);
     }
@@ -804,7 +1150,8 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         if (referrer == null || referrer.length() == 0 ) {
             return;
         }
-        PackageBuilder clickPackageBuilder = queryStringClickPackageBuilder(referrer);
+        // decoded as a whole by the receiver
+        PackageBuilder clickPackageBuilder = queryStringClickPackageBuilder(referrer, false);
 
         if (clickPackageBuilder == null) {
             return;
@@ -821,13 +1168,14 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
             return;
         }
 
-        String queryString = url.getQuery();
+        // decoded by the parser, pair by pair
+        String queryString = url.getEncodedQuery();
 
         if (queryString == null && url.toString().length() > 0) {
             queryString = "";
         }
 
-        PackageBuilder clickPackageBuilder = queryStringClickPackageBuilder(queryString);
+        PackageBuilder clickPackageBuilder = queryStringClickPackageBuilder(queryString, true);
         if (clickPackageBuilder == null) {
             return;
         }
@@ -838,7 +1186,7 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         sdkClickHandler.sendSdkClick(clickPackage);
     }
 
-    private PackageBuilder queryStringClickPackageBuilder(String queryString) {
+    private PackageBuilder queryStringClickPackageBuilder(String queryString, boolean encoded) {
         if (queryString == null) {
             return null;
         }
@@ -848,16 +1196,24 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
 
         logger.verbose("Reading query string (%s)", queryString);
 
-        String[] queryPairs = queryString.split("&");
+        if (encoded) {
+            QueryStringParser.parse(queryString, ADJUST_PREFIX, queryStringParameters);
+        } else {
+            QueryStringParser.parseDecoded(queryString, ADJUST_PREFIX, queryStringParameters);
+        }
 
-        for (String pair : queryPairs) {
-            readQueryString(pair, queryStringParameters, queryStringAttribution);
+        Iterator<Map.Entry<String, String>> iterator = queryStringParameters.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> parameter = iterator.next();
+            if (trySetAttribution(queryStringAttribution, parameter.getKey(), parameter.getValue())) {
+                iterator.remove();
+            }
         }
 
         String reftag = queryStringParameters.remove(Constants.REFTAG);
 
         long now = System.currentTimeMillis();
-        PackageBuilder builder = new PackageBuilder(adjustConfig, deviceInfo, activityState, now);
+        PackageBuilder builder = new PackageBuilder(configuredDeviceInfo, activityState, now);
         builder.extraParameters = queryStringParameters;
         builder.attribution = queryStringAttribution;
         builder.reftag = reftag;
@@ -865,28 +1221,6 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         return builder;
     }
 
-    private boolean readQueryString(String queryString,
-                                    Map<String, String> extraParameters,
-                                    AdjustAttribution queryStringAttribution) {
-        String[] pairComponents = queryString.split("=");
-        if (pairComponents.length != 2) return false;
-
-        String key = pairComponents[0];
-        if (!key.startsWith(ADJUST_PREFIX)) return false;
-
-        String value = pairComponents[1];
-        if (value.length() == 0) return false;
-
-        String keyWOutPrefix = key.substring(ADJUST_PREFIX.length());
-        if (keyWOutPrefix.length() == 0) return false;
-
-        if (!trySetAttribution(queryStringAttribution, keyWOutPrefix, value)) {
-            extraParameters.put(keyWOutPrefix, value);
-        }
-
-        return true;
-    }
-
     private boolean trySetAttribution(AdjustAttribution queryStringAttribution,
                                       String key,
                                       String value) {
@@ -967,11 +1301,17 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
         return context.deleteFile(ATTRIBUTION_FILENAME);
     }
 
+    public static boolean deleteSessionParameters(Context context) {
+        return context.deleteFile(SESSION_PARAMETERS_FILENAME);
+    }
+
     private void transferSessionPackage(long now) {
-        PackageBuilder builder = new PackageBuilder(adjustConfig, deviceInfo, activityState, now);
+        PackageBuilder builder = new PackageBuilder(configuredDeviceInfo, activityState, now);
+        builder.sessionParameters = sessionParameters;
         ActivityPackage sessionPackage = builder.buildSessionPackage();
         packageHandler.addPackage(sessionPackage);
         packageHandler.sendFirstPackage();
+        foregroundTimer.resetCycleDelay();
     }
 
     private void startForegroundTimer() {
@@ -994,7 +1334,19 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
             return;
         }
 
-        packageHandler.sendFirstPackage();
+        // time spent stopped with the pause, even if the subsession end is still pending
+        if (pendingSubsessionEnd != null) {
+            packageHandler.sendFirstPackage();
+            return;
+        }
+
+        // fire less often while there is nothing left to send
+        if (packageHandler.getQueueSize() == 0) {
+            foregroundTimer.backoff();
+        } else {
+            packageHandler.sendFirstPackage();
+            foregroundTimer.resetCycleDelay();
+        }
 
         if (updateActivityState(System.currentTimeMillis())) {
             writeActivityState();
@@ -1025,16 +1377,29 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
 
     private void readActivityState(Context context) {
         try {
-            activityState = Util.readObject(context, ACTIVITY_STATE_FILENAME, ACTIVITY_STATE_NAME, ActivityState.class);
+            activityState = Util.readObject(new ContextStorage(context), ACTIVITY_STATE_FILENAME, ACTIVITY_STATE_NAME, ActivityState.class);
         } catch (Exception e) {
             logger.error("Failed to read %s file (%s)", ACTIVITY_STATE_NAME, e.getMessage());
             activityState = null;
         }
     }
 
+    private void readSessionParameters(Context context) {
+        try {
+            sessionParameters = Util.readObject(new ContextStorage(context), SESSION_PARAMETERS_FILENAME, SESSION_PARAMETERS_NAME, SessionParameters.class);
+        } catch (Exception e) {
+            logger.error("Failed to read %s file (%s)", SESSION_PARAMETERS_NAME, e.getMessage());
+            sessionParameters = null;
+        }
+
+        if (sessionParameters == null) {
+            sessionParameters = new SessionParameters();
+        }
+    }
+
     private void readAttribution(Context context) {
         try {
-            attribution = Util.readObject(context, ATTRIBUTION_FILENAME, ATTRIBUTION_NAME, AdjustAttribution.class);
+            attribution = Util.readObject(new ContextStorage(context), ATTRIBUTION_FILENAME, ATTRIBUTION_NAME, AdjustAttribution.class);
         } catch (Exception e) {
             logger.error("Failed to read %s file (%s)", ATTRIBUTION_NAME, e.getMessage());
             attribution = null;
@@ -1042,11 +1407,85 @@ public class ActivityHandler extends HandlerThread implements IActivityHandler {
     }
 
     private synchronized void writeActivityState() {
-        Util.writeObject(activityState, adjustConfig.context, ACTIVITY_STATE_FILENAME, ACTIVITY_STATE_NAME);
+        Util.writeObject(activityState, new ContextStorage(adjustConfig.context), ACTIVITY_STATE_FILENAME, ACTIVITY_STATE_NAME);
+    }
+
+    private void writeSessionParameters() {
+        Util.writeObject(sessionParameters, new ContextStorage(adjustConfig.context), SESSION_PARAMETERS_FILENAME, SESSION_PARAMETERS_NAME);
     }
 
     private void writeAttribution() {
-        Util.writeObject(attribution, adjustConfig.context, ATTRIBUTION_FILENAME, ATTRIBUTION_NAME);
+        Util.writeObject(attribution, new ContextStorage(adjustConfig.context), ATTRIBUTION_FILENAME, ATTRIBUTION_NAME);
+    }
+
+    private void addSessionCallbackParameterInternal(String key, String value) {
+        if (!AdjustEvent.isValidParameter(key, "key", "Session Callback", logger)) return;
+        if (!AdjustEvent.isValidParameter(value, "value", "Session Callback", logger)) return;
+
+        if (sessionParameters.getCallbackParameters().containsKey(key)) {
+            logger.warn("key %s was overwritten", key);
+        }
+
+        sessionParameters = sessionParameters.withCallbackParameter(key, value);
+        writeSessionParameters();
+    }
+
+    private void addSessionPartnerParameterInternal(String key, String value) {
+        if (!AdjustEvent.isValidParameter(key, "key", "Session Partner", logger)) return;
+        if (!AdjustEvent.isValidParameter(value, "value", "Session Partner", logger)) return;
+
+        if (sessionParameters.getPartnerParameters().containsKey(key)) {
+            logger.warn("key %s was overwritten", key);
+        }
+
+        sessionParameters = sessionParameters.withPartnerParameter(key, value);
+        writeSessionParameters();
+    }
+
+    private void removeSessionCallbackParameterInternal(String key) {
+        if (!AdjustEvent.isValidParameter(key, "key", "Session Callback", logger)) return;
+
+        if (!sessionParameters.getCallbackParameters().containsKey(key)) {
+            logger.warn("Key %s does not exist", key);
+            return;
+        }
+
+        logger.debug("Key %s will be removed", key);
+        sessionParameters = sessionParameters.withoutCallbackParameter(key);
+        writeSessionParameters();
+    }
+
+    private void removeSessionPartnerParameterInternal(String key) {
+        if (!AdjustEvent.isValidParameter(key, "key", "Session Partner", logger)) return;
+
+        if (!sessionParameters.getPartnerParameters().containsKey(key)) {
+            logger.warn("Key %s does not exist", key);
+            return;
+        }
+
+        logger.debug("Key %s will be removed", key);
+        sessionParameters = sessionParameters.withoutPartnerParameter(key);
+        writeSessionParameters();
+    }
+
+    private void resetSessionCallbackParametersInternal() {
+        if (sessionParameters.getCallbackParameters().isEmpty()) {
+            logger.warn("Session Callback parameters are not set");
+            return;
+        }
+
+        sessionParameters = sessionParameters.withoutCallbackParameters();
+        writeSessionParameters();
+    }
+
+    private void resetSessionPartnerParametersInternal() {
+        if (sessionParameters.getPartnerParameters().isEmpty()) {
+            logger.warn("Session Partner parameters are not set");
+            return;
+        }
+
+        sessionParameters = sessionParameters.withoutPartnerParameters();
+        writeSessionParameters();
     }
 
     private boolean checkEvent(AdjustEvent event) {
@@ -11,6 +11,9 @@ package com.adjust.sdk;
 
 import android.content.Context;
 import android.net.Uri;
+import android.os.Looper;
+
+import java.io.File;
 
 /**
  * The main interface to Adjust.
@@ -32,52 +35,226 @@ public class Adjust {
     }
 
     public static void onCreate(AdjustConfig adjustConfig) {
-        AdjustInstance adjustInstance = Adjust.getDefaultInstance();
-        adjustInstance.onCreate(adjustConfig);
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.onCreate");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.onCreate(adjustConfig);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
     }
 
     public static void trackEvent(AdjustEvent event) {
-        AdjustInstance adjustInstance = Adjust.getDefaultInstance();
-        adjustInstance.trackEvent(event);
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.trackEvent");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.trackEvent(event);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
     }
 
     public static void onResume() {
-        AdjustInstance adjustInstance = Adjust.getDefaultInstance();
-        adjustInstance.onResume();
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.onResume");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.onResume();
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
     }
 
     public static void onPause() {
-        AdjustInstance adjustInstance = Adjust.getDefaultInstance();
-        adjustInstance.onPause();
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.onPause");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.onPause();
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
     }
 
     public static void setEnabled(boolean enabled) {
-        AdjustInstance adjustInstance = Adjust.getDefaultInstance();
-        adjustInstance.setEnabled(enabled);
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.setEnabled");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.setEnabled(enabled);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
     }
 
     public static boolean isEnabled() {
-        AdjustInstance adjustInstance = Adjust.getDefaultInstance();
-        return adjustInstance.isEnabled();
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.isEnabled");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            return adjustInstance.isEnabled();
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
     }
 
     public static void appWillOpenUrl(Uri url) {
-        AdjustInstance adjustInstance = Adjust.getDefaultInstance();
-        adjustInstance.appWillOpenUrl(url);
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.appWillOpenUrl");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.appWillOpenUrl(url);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
     }
 
     public static void setReferrer(String referrer) {
-        AdjustInstance adjustInstance = Adjust.getDefaultInstance();
-        adjustInstance.sendReferrer(referrer);
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.setReferrer");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.sendReferrer(referrer);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    public static void addSessionCallbackParameter(String key, String value) {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.addSessionCallbackParameter");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.addSessionCallbackParameter(key, value);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    public static void addSessionPartnerParameter(String key, String value) {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.addSessionPartnerParameter");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.addSessionPartnerParameter(key, value);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    public static void removeSessionCallbackParameter(String key) {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.removeSessionCallbackParameter");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.removeSessionCallbackParameter(key);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    public static void removeSessionPartnerParameter(String key) {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.removeSessionPartnerParameter");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.removeSessionPartnerParameter(key);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    public static void resetSessionCallbackParameters() {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.resetSessionCallbackParameters");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.resetSessionCallbackParameters();
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    public static void resetSessionPartnerParameters() {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.resetSessionPartnerParameters");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.resetSessionPartnerParameters();
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
     }
 
     public static void setOfflineMode(boolean enabled) {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.setOfflineMode");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.setOfflineMode(enabled);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    public static int flush(long timeoutMilliseconds) {
         AdjustInstance adjustInstance = Adjust.getDefaultInstance();
-        adjustInstance.setOfflineMode(enabled);
+        return adjustInstance.flush(timeoutMilliseconds);
+    }
+
+    public static void shutdown() {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("Adjust.shutdown");
+        try {
+            AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+            adjustInstance.shutdown();
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    public static MetricsRegistry.Snapshot getMetricsSnapshot() {
+        return AdjustFactory.getMetricsRegistry().snapshot();
+    }
+
+    public static long getEstimatedQueueFootprint() {
+        return AdjustFactory.getMetricsRegistry().gauge(MetricsRegistry.PACKAGE_QUEUE_HEAP_BYTES).get();
+    }
+
+    public static StartupReport getStartupReport() {
+        AdjustInstance adjustInstance = Adjust.getDefaultInstance();
+        return adjustInstance.getStartupReport();
+    }
+
+    /**
+     * Reports the calls to the sdk that took longer than the budget, in microseconds, on the thread of the caller.
+     * Blocking calls like flush are not checked.
+     */
+    public static void setOverheadBudget(long mainThreadMicros,
+                                         long otherThreadMicros,
+                                         OnOverheadBudgetExceededListener listener) {
+        OverheadMonitor.setMainThread(Looper.getMainLooper().getThread());
+        OverheadMonitor.setBudget(mainThreadMicros, otherThreadMicros, listener);
+    }
+
+    /**
+     * Keeps the last log records of the level and above in memory, also when they are not written to logcat.
+     */
+    public static void enableDiagnosticLog(int capacity, LogLevel minimumLevel) {
+        DiagnosticLog.enable(capacity, minimumLevel);
+    }
+
+    public static void disableDiagnosticLog() {
+        DiagnosticLog.disable();
+    }
+
+    public static String dumpDiagnosticLog() {
+        return DiagnosticLog.dump();
+    }
+
+    /**
+     * Appends every package sent from now on to the file, see TrafficRecorder.read to read them back.
+     */
+    public static void startTrafficRecording(File file) {
+        TrafficRecorder.start(file);
+    }
+
+    public static void stopTrafficRecording() {
+        TrafficRecorder.stop();
+    }
+
+    public static void setPackageStageListener(OnPackageStageListener listener) {
+        PackageTracer.setListener(listener);
     }
 
     public static void getGoogleAdId(Context context, OnDeviceIdsRead onDeviceIdRead) {
-        Util.getGoogleAdId(context, onDeviceIdRead);
+        AndroidUtil.getGoogleAdId(context, onDeviceIdRead);
     }
 }
 
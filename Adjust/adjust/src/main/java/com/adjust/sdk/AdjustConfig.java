@@ -2,6 +2,8 @@ package com.adjust.sdk;
 
 import android.content.Context;
 
+import java.util.concurrent.Executor;
+
 /**
  * Created by pfms on 06/11/14.
  */
@@ -25,23 +27,27 @@ public class AdjustConfig {
     OnSessionTrackingFailedListener onSessionTrackingFailedListener;
     OnDeeplinkResponseListener onDeeplinkResponseListener;
     boolean sendInBackground;
+    Executor callbackExecutor;
 
     public static final String ENVIRONMENT_SANDBOX = "sandbox";
     public static final String ENVIRONMENT_PRODUCTION = "production";
 
     public AdjustConfig(Context context, String appToken, String environment) {
-        if (!isValid(context, appToken, environment)) {
-            return;
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("AdjustConfig");
+        try {
+            if (isValid(context, appToken, environment)) {
+                this.context = context.getApplicationContext();
+                this.appToken = appToken;
+                this.environment = environment;
+
+                // default values
+                this.logLevel = LogLevel.INFO;
+                this.eventBufferingEnabled = false;
+                this.sendInBackground = false;
+            }
+        } finally {
+            OverheadMonitor.finish(measurement);
         }
-
-        this.context = context.getApplicationContext();
-        this.appToken = appToken;
-        this.environment = environment;
-
-        // default values
-        this.logLevel = LogLevel.INFO;
-        this.eventBufferingEnabled = false;
-        this.sendInBackground = false;
     }
 
     public void setEventBufferingEnabled(Boolean eventBufferingEnabled) {
@@ -102,6 +108,10 @@ public class AdjustConfig {
         this.onDeeplinkResponseListener = onDeeplinkResponseListener;
     }
 
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
     public boolean hasAttributionChangedListener() {
         return onAttributionChangedListener != null;
     }
@@ -133,7 +143,7 @@ public class AdjustConfig {
             return false;
         }
 
-        if (!Util.checkPermission(context, android.Manifest.permission.INTERNET)) {
+        if (!AndroidUtil.checkPermission(context, android.Manifest.permission.INTERNET)) {
             logger.error("Missing permission: INTERNET");
             return false;
         }
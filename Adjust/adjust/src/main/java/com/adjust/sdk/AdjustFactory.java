@@ -12,14 +12,16 @@ public class AdjustFactory {
     private static IRequestHandler requestHandler = null;
     private static IAttributionHandler attributionHandler = null;
     private static IActivityHandler activityHandler = null;
-    private static ILogger logger = null;
-    private static HttpsURLConnection httpsURLConnection = null;
     private static ISdkClickHandler sdkClickHandler = null;
+    private static RetryBudget retryBudget = null;
+    private static AdvertisingIdProvider advertisingIdProvider = null;
 
     private static long timerInterval = -1;
     private static long timerStart = -1;
+    private static long timerMaxInterval = -1;
     private static long sessionInterval = -1;
     private static long subsessionInterval = -1;
+    private static long lifecycleGraceInterval = -1;
     private static BackoffStrategy sdkClickBackoffStrategy = null;
     private static BackoffStrategy packageHandlerBackoffStrategy = null;
 
@@ -51,11 +53,31 @@ public class AdjustFactory {
     }
 
     public static ILogger getLogger() {
-        if (logger == null) {
-            // Logger needs to be "static" to retain the configuration throughout the app
-            logger = new Logger();
+        return CoreFactory.getLogger();
+    }
+
+    public static synchronized RetryBudget getRetryBudget() {
+        if (retryBudget == null) {
+            // shared by all senders of the process
+            retryBudget = new RetryBudget();
+        }
+        return retryBudget;
+    }
+
+    public static MetricsRegistry getMetricsRegistry() {
+        return CoreFactory.getMetricsRegistry();
+    }
+
+    public static IClock getClock() {
+        return CoreFactory.getClock();
+    }
+
+    public static synchronized AdvertisingIdProvider getAdvertisingIdProvider(Context context) {
+        // a new one after the sdk was shut down
+        if (advertisingIdProvider == null || advertisingIdProvider.isTornDown()) {
+            advertisingIdProvider = new AdvertisingIdProvider(context, 5 * Constants.ONE_MINUTE);
         }
-        return logger;
+        return advertisingIdProvider;
     }
 
     public static long getTimerInterval() {
@@ -72,6 +94,13 @@ public class AdjustFactory {
         return timerStart;
     }
 
+    public static long getTimerMaxInterval() {
+        if (timerMaxInterval == -1) {
+            return getTimerInterval() * 4;
+        }
+        return timerMaxInterval;
+    }
+
     public static long getSessionInterval() {
         if (sessionInterval == -1) {
             return Constants.THIRTY_MINUTES;
@@ -86,6 +115,13 @@ public class AdjustFactory {
         return subsessionInterval;
     }
 
+    public static long getLifecycleGraceInterval() {
+        if (lifecycleGraceInterval == -1) {
+            return Constants.ONE_SECOND / 2;
+        }
+        return lifecycleGraceInterval;
+    }
+
     public static BackoffStrategy getSdkClickBackoffStrategy() {
         if (sdkClickBackoffStrategy == null) {
             return BackoffStrategy.SHORT_WAIT;
@@ -120,19 +156,11 @@ public class AdjustFactory {
     }
 
     public static HttpsURLConnection getHttpsURLConnection(URL url) throws IOException {
-        if (AdjustFactory.httpsURLConnection == null) {
-            return (HttpsURLConnection)url.openConnection();
-        }
-
-        return AdjustFactory.httpsURLConnection;
+        return CoreFactory.getHttpsURLConnection(url);
     }
 
     public static URLGetConnection getHttpsURLGetConnection(URL url) throws IOException {
-        if (AdjustFactory.httpsURLConnection == null) {
-            return new URLGetConnection((HttpsURLConnection)url.openConnection(), url);
-        }
-
-        return new URLGetConnection(AdjustFactory.httpsURLConnection, url);
+        return new URLGetConnection(CoreFactory.getHttpsURLConnection(url), url);
     }
 
     public static ISdkClickHandler getSdkClickHandler(boolean startsSending) {
@@ -153,7 +181,23 @@ public class AdjustFactory {
     }
 
     public static void setLogger(ILogger logger) {
-        AdjustFactory.logger = logger;
+        CoreFactory.setLogger(logger);
+    }
+
+    public static synchronized void setRetryBudget(RetryBudget retryBudget) {
+        AdjustFactory.retryBudget = retryBudget;
+    }
+
+    public static void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        CoreFactory.setMetricsRegistry(metricsRegistry);
+    }
+
+    public static void setClock(IClock clock) {
+        CoreFactory.setClock(clock);
+    }
+
+    public static synchronized void setAdvertisingIdProvider(AdvertisingIdProvider advertisingIdProvider) {
+        AdjustFactory.advertisingIdProvider = advertisingIdProvider;
     }
 
     public static void setTimerInterval(long timerInterval) {
@@ -164,6 +208,10 @@ public class AdjustFactory {
         AdjustFactory.timerStart = timerStart;
     }
 
+    public static void setTimerMaxInterval(long timerMaxInterval) {
+        AdjustFactory.timerMaxInterval = timerMaxInterval;
+    }
+
     public static void setSessionInterval(long sessionInterval) {
         AdjustFactory.sessionInterval = sessionInterval;
     }
@@ -172,6 +220,10 @@ public class AdjustFactory {
         AdjustFactory.subsessionInterval = subsessionInterval;
     }
 
+    public static void setLifecycleGraceInterval(long lifecycleGraceInterval) {
+        AdjustFactory.lifecycleGraceInterval = lifecycleGraceInterval;
+    }
+
     public static void setSdkClickBackoffStrategy(BackoffStrategy sdkClickBackoffStrategy) {
         AdjustFactory.sdkClickBackoffStrategy = sdkClickBackoffStrategy;
     }
@@ -189,7 +241,7 @@ public class AdjustFactory {
     }
 
     public static void setHttpsURLConnection(HttpsURLConnection httpsURLConnection) {
-        AdjustFactory.httpsURLConnection = httpsURLConnection;
+        CoreFactory.setHttpsURLConnection(httpsURLConnection);
     }
 
     public static void setSdkClickHandler(ISdkClickHandler sdkClickHandler) {
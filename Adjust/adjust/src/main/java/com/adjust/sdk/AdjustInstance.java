@@ -70,11 +70,57 @@ public class AdjustInstance {
         }
     }
 
+    public void addSessionCallbackParameter(String key, String value) {
+        if (!checkActivityHandler()) return;
+        activityHandler.addSessionCallbackParameter(key, value);
+    }
+
+    public void addSessionPartnerParameter(String key, String value) {
+        if (!checkActivityHandler()) return;
+        activityHandler.addSessionPartnerParameter(key, value);
+    }
+
+    public void removeSessionCallbackParameter(String key) {
+        if (!checkActivityHandler()) return;
+        activityHandler.removeSessionCallbackParameter(key);
+    }
+
+    public void removeSessionPartnerParameter(String key) {
+        if (!checkActivityHandler()) return;
+        activityHandler.removeSessionPartnerParameter(key);
+    }
+
+    public void resetSessionCallbackParameters() {
+        if (!checkActivityHandler()) return;
+        activityHandler.resetSessionCallbackParameters();
+    }
+
+    public void resetSessionPartnerParameters() {
+        if (!checkActivityHandler()) return;
+        activityHandler.resetSessionPartnerParameters();
+    }
+
     public void setOfflineMode(boolean enabled) {
         if (!checkActivityHandler()) return;
         activityHandler.setOfflineMode(enabled);
     }
 
+    public int flush(long timeoutMilliseconds) {
+        if (!checkActivityHandler()) return -1;
+        return activityHandler.flush(timeoutMilliseconds);
+    }
+
+    public StartupReport getStartupReport() {
+        if (!checkActivityHandler()) return null;
+        return activityHandler.getStartupReport();
+    }
+
+    public void shutdown() {
+        if (!checkActivityHandler()) return;
+        activityHandler.teardown();
+        activityHandler = null;
+    }
+
     private boolean checkActivityHandler() {
         if (activityHandler == null) {
             getLogger().error("Adjust not initialized correctly");
@@ -4,11 +4,6 @@ import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-
-import static com.adjust.sdk.Constants.ENCODING;
-import static com.adjust.sdk.Constants.MALFORMED;
 import static com.adjust.sdk.Constants.REFERRER;
 
 // support multiple BroadcastReceivers for the INSTALL_REFERRER:
@@ -22,14 +17,14 @@ public class AdjustReferrerReceiver extends BroadcastReceiver {
             return;
         }
 
-        String referrer;
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("AdjustReferrerReceiver.onReceive");
         try {
-            referrer = URLDecoder.decode(rawReferrer, ENCODING);
-        } catch (UnsupportedEncodingException e) {
-            referrer = MALFORMED;
-        }
+            String referrer = QueryStringParser.decode(rawReferrer);
 
-        AdjustInstance adjust = Adjust.getDefaultInstance();
-        adjust.sendReferrer(referrer);
+            AdjustInstance adjust = Adjust.getDefaultInstance();
+            adjust.sendReferrer(referrer);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
     }
 }
@@ -0,0 +1,231 @@
+package com.adjust.sdk;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the Google Play Services advertising id and limit ad tracking flag.
+ * Reading them is a blocking call into Play Services, so it is done once and then
+ * refreshed in the background when the cached values are older than the time to live.
+ * Reads that failed, or found no advertising id, are retried after a much shorter interval.
+ */
+public class AdvertisingIdProvider {
+    private static final long DEFAULT_RETRY_INTERVAL = Constants.ONE_SECOND;
+
+    private Context context;
+    private long timeToLive;
+    private long retryInterval;
+    private volatile Snapshot snapshot;
+    private final Object readLock = new Object();
+    private ExecutorService refresher;
+    private AtomicBoolean isRefreshing;
+    private List<OnAdvertisingIdChangedListener> listeners;
+
+    private AtomicLong hits;
+    private AtomicLong misses;
+    private AtomicLong refreshes;
+    private AtomicLong refreshTimeTotal;
+    private volatile long lastRefreshTime;
+
+    public interface OnAdvertisingIdChangedListener {
+        void onAdvertisingIdChanged(Snapshot snapshot);
+    }
+
+    public static class Snapshot {
+        public final String playAdId;
+        public final Boolean isPlayTrackingEnabled;
+        final long expiresAt; // elapsed realtime
+
+        Snapshot(String playAdId, Boolean isPlayTrackingEnabled, long expiresAt) {
+            this.playAdId = playAdId;
+            this.isPlayTrackingEnabled = isPlayTrackingEnabled;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean sameValues(Snapshot other) {
+            return Util.equalString(playAdId, other.playAdId)
+                    && Util.equalBoolean(isPlayTrackingEnabled, other.isPlayTrackingEnabled);
+        }
+    }
+
+    public AdvertisingIdProvider(Context context, long timeToLive) {
+        this(context, timeToLive, DEFAULT_RETRY_INTERVAL);
+    }
+
+    public AdvertisingIdProvider(Context context, long timeToLive, long retryInterval) {
+        this.context = context.getApplicationContext();
+        this.timeToLive = timeToLive;
+        this.retryInterval = Math.min(timeToLive, retryInterval);
+        this.refresher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "AdvertisingIdProvider");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.isRefreshing = new AtomicBoolean(false);
+        this.listeners = new CopyOnWriteArrayList<OnAdvertisingIdChangedListener>();
+
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.refreshes = new AtomicLong();
+        this.refreshTimeTotal = new AtomicLong();
+    }
+
+    public String getPlayAdId() {
+        return getSnapshot().playAdId;
+    }
+
+    public Boolean isPlayTrackingEnabled() {
+        return getSnapshot().isPlayTrackingEnabled;
+    }
+
+    // reads from Play Services only when nothing was read yet
+    // stale values are returned while the refresh runs in the background
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+
+        if (current == null) {
+            misses.incrementAndGet();
+            return readFirstSnapshot();
+        }
+
+        hits.incrementAndGet();
+
+        if (SystemClock.elapsedRealtime() >= current.expiresAt) {
+            refreshInBackground();
+        }
+
+        return current;
+    }
+
+    public void refreshInBackground() {
+        // only one refresh at a time
+        if (!isRefreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refresher.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        refresh();
+                    } finally {
+                        isRefreshing.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // torn down, the cached values are kept
+            isRefreshing.set(false);
+        }
+    }
+
+    public void teardown() {
+        refresher.shutdownNow();
+        listeners.clear();
+        AdjustFactory.getLogger().verbose("AdvertisingIdProvider teardown");
+    }
+
+    boolean isTornDown() {
+        return refresher.isShutdown();
+    }
+
+    public void addListener(OnAdvertisingIdChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(OnAdvertisingIdChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    // in milliseconds
+    public long getLastRefreshTime() {
+        return lastRefreshTime;
+    }
+
+    // in milliseconds
+    public double getAverageRefreshTime() {
+        long refreshCount = refreshes.get();
+        if (refreshCount == 0) {
+            return 0;
+        }
+        return refreshTimeTotal.get() / (double) refreshCount;
+    }
+
+    private Snapshot readFirstSnapshot() {
+        // concurrent first readers wait for a single read
+        synchronized (readLock) {
+            if (snapshot == null) {
+                refresh();
+            }
+            return snapshot;
+        }
+    }
+
+    private void refresh() {
+        long start = SystemClock.elapsedRealtime();
+
+        String playAdId = null;
+        Boolean isPlayTrackingEnabled = null;
+        try {
+            Object advertisingInfoObject = Reflection.getAdvertisingInfoObject(context);
+            playAdId = Reflection.getPlayAdIdFromInfo(advertisingInfoObject);
+            isPlayTrackingEnabled = Reflection.isPlayTrackingEnabledFromInfo(advertisingInfoObject);
+        } catch (Throwable t) {
+            // Play Services not available or not ready yet, retried after the retry interval
+        }
+
+        long end = SystemClock.elapsedRealtime();
+        refreshes.incrementAndGet();
+        refreshTimeTotal.addAndGet(end - start);
+        lastRefreshTime = end - start;
+
+        Snapshot previous = snapshot;
+        Snapshot current;
+        if (playAdId != null) {
+            current = new Snapshot(playAdId, isPlayTrackingEnabled, end + timeToLive);
+        } else if (previous != null && previous.playAdId != null) {
+            // a failed refresh keeps the values read before
+            current = new Snapshot(previous.playAdId, previous.isPlayTrackingEnabled, end + retryInterval);
+        } else {
+            current = new Snapshot(null, isPlayTrackingEnabled, end + retryInterval);
+        }
+        snapshot = current;
+
+        ILogger logger = AdjustFactory.getLogger();
+        logger.verbose("Advertising id read in %d ms", end - start);
+
+        if (previous == null || previous.sameValues(current)) {
+            return;
+        }
+
+        logger.debug("Advertising id changed");
+        for (OnAdvertisingIdChangedListener listener : listeners) {
+            listener.onAdvertisingIdChanged(current);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.adjust.sdk;
+
+import android.os.Debug;
+import android.os.SystemClock;
+
+/**
+ * Clocks of the device for the core, created by CoreFactory by name.
+ */
+public class AndroidClock implements IClock {
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public long elapsedRealtime() {
+        return SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public long threadCpuTimeNanos() {
+        return Debug.threadCpuTimeNanos();
+    }
+}
@@ -0,0 +1,15 @@
+package com.adjust.sdk;
+
+import android.util.Log;
+
+import static com.adjust.sdk.Constants.LOGTAG;
+
+/**
+ * Logger of the core writing to logcat, created by CoreFactory by name.
+ */
+public class AndroidLogger extends Logger {
+    @Override
+    protected void println(LogLevel level, String message) {
+        Log.println(level.getAndroidLogLevel(), LOGTAG, message);
+    }
+}
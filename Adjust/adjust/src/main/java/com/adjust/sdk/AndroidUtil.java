@@ -0,0 +1,94 @@
+package com.adjust.sdk;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.AsyncTask;
+import android.os.Looper;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+
+import javax.net.ssl.HttpsURLConnection;
+
+/**
+ * Collects the utility functions of Adjust that depend on Android, the others are in Util of the core.
+ */
+public class AndroidUtil {
+
+    public static String getPlayAdId(Context context) {
+        return AdjustFactory.getAdvertisingIdProvider(context).getPlayAdId();
+    }
+
+    public static void getGoogleAdId(Context context, final OnDeviceIdsRead onDeviceIdRead) {
+        ILogger logger = AdjustFactory.getLogger();
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            logger.debug("GoogleAdId being read in the background");
+            String GoogleAdId = AndroidUtil.getPlayAdId(context);
+
+            logger.debug("GoogleAdId read %s", GoogleAdId);
+            onDeviceIdRead.onGoogleAdIdRead(GoogleAdId);
+            return;
+        }
+
+        logger.debug("GoogleAdId being read in the foreground");
+        new AsyncTask<Context,Void,String>() {
+            @Override
+            protected String doInBackground(Context... params) {
+                ILogger logger = AdjustFactory.getLogger();
+                Context innerContext = params[0];
+                String innerResult = AndroidUtil.getPlayAdId(innerContext);
+                logger.debug("GoogleAdId read %s", innerResult);
+                return innerResult;
+            }
+
+            @Override
+            protected void onPostExecute(String playAdiId) {
+                ILogger logger = AdjustFactory.getLogger();
+                onDeviceIdRead.onGoogleAdIdRead(playAdiId);
+            }
+        }.execute(context);
+    }
+
+    public static Boolean isPlayTrackingEnabled(Context context) {
+        return AdjustFactory.getAdvertisingIdProvider(context).isPlayTrackingEnabled();
+    }
+
+    public static String getMacAddress(Context context) {
+        return Reflection.getMacAddress(context);
+    }
+
+    public static Map<String, String> getPluginKeys(Context context) {
+        return Reflection.getPluginKeys(context);
+    }
+    public static String getAndroidId(Context context) {
+        return Reflection.getAndroidId(context);
+    }
+
+    public static AdjustFactory.URLGetConnection createGETHttpsURLConnection(String urlString, String clientSdk)
+            throws IOException
+    {
+        URL url = new URL(urlString);
+        AdjustFactory.URLGetConnection urlGetConnection = AdjustFactory.getHttpsURLGetConnection(url);
+
+        HttpsURLConnection connection = urlGetConnection.httpsURLConnection;
+        Util.setDefaultHttpsUrlConnectionProperties(connection, clientSdk);
+
+        connection.setRequestMethod("GET");
+
+        return urlGetConnection;
+    }
+
+    public static boolean checkPermission(Context context, String permission) {
+        int result = context.checkCallingOrSelfPermission(permission);
+        return result == PackageManager.PERMISSION_GRANTED;
+    }
+
+    public static String[] getSupportedAbis() {
+        return Reflection.getSupportedAbis();
+    }
+
+    public static String getCpuAbi() {
+        return Reflection.getCpuAbi();
+    }
+}
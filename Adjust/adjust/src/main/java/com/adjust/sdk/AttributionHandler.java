@@ -1,6 +1,7 @@
 package com.adjust.sdk;
 
 import android.net.Uri;
+import android.os.SystemClock;
 
 import org.json.JSONObject;
 
@@ -20,6 +21,8 @@ public class AttributionHandler implements IAttributionHandler {
     private ILogger logger;
     private ActivityPackage attributionPackage;
     private TimerOnce timer;
+    private RetryBudget retryBudget;
+    private MetricsRegistry metrics;
     private static final String ATTRIBUTION_TIMER_NAME = "Attribution timer";
 
     private boolean paused;
@@ -33,6 +36,8 @@ public class AttributionHandler implements IAttributionHandler {
                               boolean hasListener) {
         scheduler = Executors.newSingleThreadScheduledExecutor();
         logger = AdjustFactory.getLogger();
+        retryBudget = AdjustFactory.getRetryBudget();
+        metrics = AdjustFactory.getMetricsRegistry();
 
         if (this.scheduler != null) {
             timer = new TimerOnce(scheduler, new Runnable() {
@@ -94,6 +99,17 @@ public class AttributionHandler implements IAttributionHandler {
         paused = false;
     }
 
+    @Override
+    public void teardown() {
+        logger.verbose("AttributionHandler teardown");
+
+        if (timer != null) {
+            timer.teardown();
+        }
+
+        scheduler.shutdownNow();
+    }
+
     private void getAttribution(long delayInMilliseconds) {
         // don't reset if new time is shorter than last one
         if (timer.getFireIn() > delayInMilliseconds) {
@@ -121,6 +137,11 @@ public class AttributionHandler implements IAttributionHandler {
         if (timerMilliseconds >= 0) {
             activityHandler.setAskingAttribution(true);
 
+            // asking again after an attribution response is a retry of the attribution request
+            if (responseData instanceof AttributionResponseData) {
+                timerMilliseconds += retryBudget.acquireRetry();
+            }
+
             getAttribution(timerMilliseconds);
 
             return;
@@ -153,23 +174,35 @@ public class AttributionHandler implements IAttributionHandler {
             return;
         }
 
-        logger.verbose("%s", attributionPackage.getExtendedString());
+        if (logger.isVerboseEnabled()) {
+            logger.verbose("%s", attributionPackage.getExtendedString());
+        }
+
+        long requestStart = SystemClock.elapsedRealtime();
 
         try {
-            AdjustFactory.URLGetConnection urlGetConnection = Util.createGETHttpsURLConnection(
+            AdjustFactory.URLGetConnection urlGetConnection = AndroidUtil.createGETHttpsURLConnection(
                     buildUri(attributionPackage.getPath(), attributionPackage.getParameters()).toString(),
                     attributionPackage.getClientSdk());
 
             ResponseData responseData = Util.readHttpResponse(urlGetConnection.httpsURLConnection, attributionPackage);
             lastUrlUsed = urlGetConnection.url;
 
+            metrics.histogram(MetricsRegistry.REQUEST_LATENCY + attributionPackage.getActivityKind())
+                    .record(SystemClock.elapsedRealtime() - requestStart);
+
             if (!(responseData instanceof AttributionResponseData)) {
                 return;
             }
 
+            if (responseData.jsonResponse != null) {
+                retryBudget.recordSuccess();
+            }
+
             checkAttributionResponse((AttributionResponseData)responseData);
         } catch (Exception e) {
             logger.error("Failed to get attribution (%s)", e.getMessage());
+            metrics.counter(MetricsRegistry.REQUEST_FAILURES + attributionPackage.getActivityKind()).increment();
             return;
         }
     }
@@ -0,0 +1,71 @@
+package com.adjust.sdk;
+
+import android.content.Context;
+import android.os.Handler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the listener callbacks, in order, on the callback executor.
+ * Callbacks added while a dispatch is pending are run in that same dispatch.
+ */
+public class CallbackDispatcher {
+    private Executor executor;
+    private Queue<Runnable> callbacks;
+    private AtomicBoolean dispatchPending;
+    private Runnable dispatch;
+
+    public CallbackDispatcher(Executor executor) {
+        this.executor = executor;
+        this.callbacks = new ConcurrentLinkedQueue<Runnable>();
+        this.dispatchPending = new AtomicBoolean(false);
+        this.dispatch = new Runnable() {
+            @Override
+            public void run() {
+                runCallbacks();
+            }
+        };
+    }
+
+    public void dispatch(Runnable callback) {
+        callbacks.add(callback);
+        scheduleDispatch();
+    }
+
+    private void scheduleDispatch() {
+        if (dispatchPending.compareAndSet(false, true)) {
+            executor.execute(dispatch);
+        }
+    }
+
+    private void runCallbacks() {
+        try {
+            Runnable callback;
+            while ((callback = callbacks.poll()) != null) {
+                callback.run();
+            }
+        } finally {
+            dispatchPending.set(false);
+            // callbacks added after the last poll, or left behind by a failing callback
+            if (!callbacks.isEmpty()) {
+                scheduleDispatch();
+            }
+        }
+    }
+
+    public static class MainThreadExecutor implements Executor {
+        private Handler handler;
+
+        public MainThreadExecutor(Context context) {
+            this.handler = new Handler(context.getMainLooper());
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            handler.post(command);
+        }
+    }
+}
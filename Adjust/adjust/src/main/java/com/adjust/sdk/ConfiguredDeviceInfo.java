@@ -0,0 +1,132 @@
+package com.adjust.sdk;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Device info of the packages on Android: the device info read from the context, the config and the advertising id.
+ */
+class ConfiguredDeviceInfo implements IDeviceInfo {
+    private final AdjustConfig adjustConfig;
+    private final DeviceInfo deviceInfo;
+
+    // parameters that only change with the advertising id
+    private volatile BaseParameters defaultBaseParameters;
+    private volatile BaseParameters idsBaseParameters;
+
+    private static class BaseParameters {
+        final AdvertisingIdProvider.Snapshot advertisingId;
+        final Map<String, String> parameters;
+
+        BaseParameters(AdvertisingIdProvider.Snapshot advertisingId, Map<String, String> parameters) {
+            this.advertisingId = advertisingId;
+            this.parameters = Collections.unmodifiableMap(parameters);
+        }
+    }
+
+    ConfiguredDeviceInfo(AdjustConfig adjustConfig, DeviceInfo deviceInfo) {
+        this.adjustConfig = adjustConfig;
+        this.deviceInfo = deviceInfo;
+    }
+
+    @Override
+    public String getClientSdk() {
+        return deviceInfo.clientSdk;
+    }
+
+    @Override
+    public String getDefaultTracker() {
+        return adjustConfig.defaultTracker;
+    }
+
+    @Override
+    public Map<String, String> getDefaultParameters() {
+        AdvertisingIdProvider.Snapshot advertisingId = getAdvertisingId();
+        BaseParameters baseParameters = defaultBaseParameters;
+
+        if (baseParameters == null || baseParameters.advertisingId != advertisingId) {
+            Map<String, String> parameters = new HashMap<String, String>();
+
+            injectDeviceInfo(parameters);
+            injectConfig(parameters, advertisingId);
+
+            baseParameters = new BaseParameters(advertisingId, parameters);
+            defaultBaseParameters = baseParameters;
+        }
+
+        return baseParameters.parameters;
+    }
+
+    @Override
+    public Map<String, String> getIdsParameters() {
+        AdvertisingIdProvider.Snapshot advertisingId = getAdvertisingId();
+        BaseParameters baseParameters = idsBaseParameters;
+
+        if (baseParameters == null || baseParameters.advertisingId != advertisingId) {
+            Map<String, String> parameters = new HashMap<String, String>();
+
+            injectDeviceInfoIds(parameters);
+            injectConfig(parameters, advertisingId);
+
+            baseParameters = new BaseParameters(advertisingId, parameters);
+            idsBaseParameters = baseParameters;
+        }
+
+        return baseParameters.parameters;
+    }
+
+    private AdvertisingIdProvider.Snapshot getAdvertisingId() {
+        return AdjustFactory.getAdvertisingIdProvider(adjustConfig.context).getSnapshot();
+    }
+
+    private void injectDeviceInfo(Map<String, String> parameters) {
+        injectDeviceInfoIds(parameters);
+        PackageBuilder.addString(parameters, "fb_id", deviceInfo.fbAttributionId);
+        PackageBuilder.addString(parameters, "package_name", deviceInfo.packageName);
+        PackageBuilder.addString(parameters, "app_version", deviceInfo.appVersion);
+        PackageBuilder.addString(parameters, "device_type", deviceInfo.deviceType);
+        PackageBuilder.addString(parameters, "device_name", deviceInfo.deviceName);
+        PackageBuilder.addString(parameters, "device_manufacturer", deviceInfo.deviceManufacturer);
+        PackageBuilder.addString(parameters, "os_name", deviceInfo.osName);
+        PackageBuilder.addString(parameters, "os_version", deviceInfo.osVersion);
+        PackageBuilder.addString(parameters, "api_level", deviceInfo.apiLevel);
+        PackageBuilder.addString(parameters, "language", deviceInfo.language);
+        PackageBuilder.addString(parameters, "country", deviceInfo.country);
+        PackageBuilder.addString(parameters, "screen_size", deviceInfo.screenSize);
+        PackageBuilder.addString(parameters, "screen_format", deviceInfo.screenFormat);
+        PackageBuilder.addString(parameters, "screen_density", deviceInfo.screenDensity);
+        PackageBuilder.addString(parameters, "display_width", deviceInfo.displayWidth);
+        PackageBuilder.addString(parameters, "display_height", deviceInfo.displayHeight);
+        PackageBuilder.addString(parameters, "hardware_name", deviceInfo.hardwareName);
+        PackageBuilder.addString(parameters, "cpu_type", deviceInfo.abi);
+        fillPluginKeys(parameters);
+    }
+
+    private void injectDeviceInfoIds(Map<String, String> parameters) {
+        PackageBuilder.addString(parameters, "mac_sha1", deviceInfo.macSha1);
+        PackageBuilder.addString(parameters, "mac_md5", deviceInfo.macShortMd5);
+        PackageBuilder.addString(parameters, "android_id", deviceInfo.androidId);
+    }
+
+    private void injectConfig(Map<String, String> parameters, AdvertisingIdProvider.Snapshot advertisingId) {
+        PackageBuilder.addString(parameters, "app_token", adjustConfig.appToken);
+        PackageBuilder.addString(parameters, "environment", adjustConfig.environment);
+        PackageBuilder.addBoolean(parameters, "device_known", adjustConfig.deviceKnown);
+        PackageBuilder.addBoolean(parameters, "needs_response_details", adjustConfig.hasListener());
+
+        PackageBuilder.addString(parameters, "gps_adid", advertisingId.playAdId);
+        PackageBuilder.addBoolean(parameters, "tracking_enabled", advertisingId.isPlayTrackingEnabled);
+        PackageBuilder.addBoolean(parameters, "event_buffering_enabled", adjustConfig.eventBufferingEnabled);
+    }
+
+    private void fillPluginKeys(Map<String, String> parameters) {
+        if (deviceInfo.pluginKeys == null) {
+            return;
+        }
+
+        for (Map.Entry<String, String> entry : deviceInfo.pluginKeys.entrySet()) {
+            PackageBuilder.addString(parameters, entry.getKey(), entry.getValue());
+        }
+    }
+}
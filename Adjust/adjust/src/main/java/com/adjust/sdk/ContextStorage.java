@@ -0,0 +1,38 @@
+package com.adjust.sdk;
+
+import android.content.Context;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Storage in the private files of the app.
+ */
+class ContextStorage implements IStorage {
+    private final Context context;
+
+    ContextStorage(Context context) {
+        this.context = context;
+    }
+
+    @Override
+    public InputStream openInput(String filename) throws IOException {
+        return context.openFileInput(filename);
+    }
+
+    @Override
+    public OutputStream openOutput(String filename) throws IOException {
+        return context.openFileOutput(filename, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public boolean delete(String filename) {
+        return context.deleteFile(filename);
+    }
+
+    @Override
+    public long length(String filename) {
+        return context.getFileStreamPath(filename).length();
+    }
+}
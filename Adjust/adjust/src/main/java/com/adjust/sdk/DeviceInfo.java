@@ -9,11 +9,14 @@ import android.content.res.Resources;
 import android.database.Cursor;
 import android.net.Uri;
 import android.os.Build;
+import android.os.SystemClock;
 import android.util.DisplayMetrics;
 
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
+import static com.adjust.sdk.Constants.DEVICE_INFO_CACHE_FILENAME;
 import static com.adjust.sdk.Constants.HIGH;
 import static com.adjust.sdk.Constants.LARGE;
 import static com.adjust.sdk.Constants.LONG;
@@ -27,6 +30,8 @@ import static com.adjust.sdk.Constants.XLARGE;
  * Created by pfms on 06/11/14.
  */
 class DeviceInfo {
+    private static final String DEVICE_INFO_CACHE_NAME = "Device info cache";
+
     String macSha1;
     String macShortMd5;
     String androidId;
@@ -51,17 +56,34 @@ class DeviceInfo {
     String abi;
     Map<String, String> pluginKeys;
 
+    // expensive fields, persisted between launches
+    DeviceInfoCache cache;
+    boolean readFromCache;
+    long readTime; // milliseconds spent reading the device info
+
     DeviceInfo(Context context, String sdkPrefix) {
+        this(context, sdkPrefix, false);
+    }
+
+    // uses the persisted expensive fields when they are still valid
+    static DeviceInfo readCached(Context context, String sdkPrefix) {
+        return new DeviceInfo(context, sdkPrefix, true);
+    }
+
+    private DeviceInfo(Context context, String sdkPrefix, boolean useCache) {
+        long start = SystemClock.elapsedRealtime();
+
         Resources resources = context.getResources();
         DisplayMetrics displayMetrics = resources.getDisplayMetrics();
         Configuration configuration = resources.getConfiguration();
         Locale locale = configuration.locale;
         int screenLayout = configuration.screenLayout;
-        boolean isGooglePlayServicesAvailable = Util.getPlayAdId(context) != null;
-        String macAddress = getMacAddress(context, isGooglePlayServicesAvailable);
+        PackageInfo packageInfo = getPackageInfo(context);
+        int appVersionCode = packageInfo == null ? 0 : packageInfo.versionCode;
+        String localeString = locale == null ? null : locale.toString();
 
         packageName = getPackageName(context);
-        appVersion = getAppVersion(context);
+        appVersion = packageInfo == null ? null : packageInfo.versionName;
         deviceType = getDeviceType(screenLayout);
         deviceName = getDeviceName();
         deviceManufacturer = getDeviceManufacturer();
@@ -76,21 +98,86 @@ class DeviceInfo {
         displayWidth = getDisplayWidth(displayMetrics);
         displayHeight = getDisplayHeight(displayMetrics);
         clientSdk = getClientSdk(sdkPrefix);
-        androidId = getAndroidId(context, isGooglePlayServicesAvailable);
-        fbAttributionId = getFacebookAttributionId(context);
-        pluginKeys = Util.getPluginKeys(context);
-        macSha1 = getMacSha1(macAddress);
-        macShortMd5 = getMacShortMd5(macAddress);
         hardwareName = getHardwareName();
-        abi = getABI();
+
+        DeviceInfoCache cache = null;
+        if (useCache) {
+            cache = readCache(context, appVersionCode, Build.FINGERPRINT, localeString);
+        }
+
+        readFromCache = cache != null;
+        if (!readFromCache) {
+            cache = readExpensiveFields(context, appVersionCode, Build.FINGERPRINT, localeString);
+        }
+
+        this.cache = cache;
+        androidId = cache.androidId;
+        fbAttributionId = cache.fbAttributionId;
+        pluginKeys = cache.pluginKeys;
+        macSha1 = cache.macSha1;
+        macShortMd5 = cache.macShortMd5;
+        abi = cache.abi;
+
+        readTime = SystemClock.elapsedRealtime() - start;
+    }
+
+    void writeCache(Context context) {
+        Util.writeObject(cache, new ContextStorage(context), DEVICE_INFO_CACHE_FILENAME, DEVICE_INFO_CACHE_NAME);
+    }
+
+    // the values read from the device differ from the persisted ones
+    boolean changedFrom(DeviceInfo other) {
+        return !cache.sameFields(other.cache);
+    }
+
+    private static DeviceInfoCache readCache(Context context,
+                                             int appVersionCode,
+                                             String buildFingerprint,
+                                             String locale) {
+        DeviceInfoCache cache = Util.readObject(new ContextStorage(context),
+                DEVICE_INFO_CACHE_FILENAME,
+                DEVICE_INFO_CACHE_NAME,
+                DeviceInfoCache.class);
+
+        if (cache == null) {
+            return null;
+        }
+
+        if (!cache.isValidFor(appVersionCode, buildFingerprint, locale)) {
+            AdjustFactory.getLogger().debug("%s outdated", DEVICE_INFO_CACHE_NAME);
+            return null;
+        }
+
+        return cache;
+    }
+
+    private DeviceInfoCache readExpensiveFields(Context context,
+                                                int appVersionCode,
+                                                String buildFingerprint,
+                                                String locale) {
+        DeviceInfoCache cache = new DeviceInfoCache(appVersionCode, buildFingerprint, locale);
+
+        boolean isGooglePlayServicesAvailable = AndroidUtil.getPlayAdId(context) != null;
+        String macAddress = getMacAddress(context, isGooglePlayServicesAvailable);
+        Map<String, String> pluginKeys = AndroidUtil.getPluginKeys(context);
+
+        cache.isGooglePlayServicesAvailable = isGooglePlayServicesAvailable;
+        cache.androidId = getAndroidId(context, isGooglePlayServicesAvailable);
+        cache.fbAttributionId = getFacebookAttributionId(context);
+        cache.pluginKeys = pluginKeys == null ? null : new HashMap<String, String>(pluginKeys);
+        cache.macSha1 = getMacSha1(macAddress);
+        cache.macShortMd5 = getMacShortMd5(macAddress);
+        cache.abi = getABI();
+
+        return cache;
     }
 
     private String getMacAddress(Context context, boolean isGooglePlayServicesAvailable) {
         if (!isGooglePlayServicesAvailable) {
-            if (!Util.checkPermission(context, android.Manifest.permission.ACCESS_WIFI_STATE)) {
+            if (!AndroidUtil.checkPermission(context, android.Manifest.permission.ACCESS_WIFI_STATE)) {
                 AdjustFactory.getLogger().warn("Missing permission: ACCESS_WIFI_STATE");
             }
-            return Util.getMacAddress(context);
+            return AndroidUtil.getMacAddress(context);
         } else {
             return null;
         }
@@ -100,12 +187,11 @@ class DeviceInfo {
         return context.getPackageName();
     }
 
-    private String getAppVersion(Context context) {
+    private PackageInfo getPackageInfo(Context context) {
         try {
             PackageManager packageManager = context.getPackageManager();
             String name = context.getPackageName();
-            PackageInfo info = packageManager.getPackageInfo(name, 0);
-            return info.versionName;
+            return packageManager.getPackageInfo(name, 0);
         } catch (PackageManager.NameNotFoundException e) {
             return null;
         }
@@ -240,7 +326,7 @@ class DeviceInfo {
 
     private String getAndroidId(Context context, boolean isGooglePlayServicesAvailable) {
         if (!isGooglePlayServicesAvailable) {
-            return Util.getAndroidId(context);
+            return AndroidUtil.getAndroidId(context);
         } else {
             return null;
         }
@@ -271,12 +357,12 @@ class DeviceInfo {
     }
 
     private String getABI() {
-        String[] SupportedABIS = Util.getSupportedAbis();
+        String[] SupportedABIS = AndroidUtil.getSupportedAbis();
 
         // SUPPORTED_ABIS is only supported in API level 21
         // get CPU_ABI instead
         if (SupportedABIS == null || SupportedABIS.length == 0) {
-            return Util.getCpuAbi();
+            return AndroidUtil.getCpuAbi();
         }
 
         return SupportedABIS[0];
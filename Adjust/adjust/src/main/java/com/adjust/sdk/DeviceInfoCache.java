@@ -0,0 +1,55 @@
+package com.adjust.sdk;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * The device info fields that are expensive to read, persisted between launches.
+ * Valid while the app version, the OS build and the locale stay the same.
+ */
+class DeviceInfoCache implements Serializable {
+    private static final long serialVersionUID = 5231283401792633127L;
+
+    // invalidation keys
+    int appVersionCode;
+    String buildFingerprint;
+    String locale;
+
+    // cached fields
+    boolean isGooglePlayServicesAvailable;
+    String macSha1;
+    String macShortMd5;
+    String androidId;
+    String fbAttributionId;
+    HashMap<String, String> pluginKeys;
+    String abi;
+
+    DeviceInfoCache(int appVersionCode, String buildFingerprint, String locale) {
+        this.appVersionCode = appVersionCode;
+        this.buildFingerprint = buildFingerprint;
+        this.locale = locale;
+    }
+
+    boolean isValidFor(int appVersionCode, String buildFingerprint, String locale) {
+        return this.appVersionCode == appVersionCode
+                && Util.equalString(this.buildFingerprint, buildFingerprint)
+                && Util.equalString(this.locale, locale);
+    }
+
+    boolean sameFields(DeviceInfoCache other) {
+        return isGooglePlayServicesAvailable == other.isGooglePlayServicesAvailable
+                && Util.equalString(macSha1, other.macSha1)
+                && Util.equalString(macShortMd5, other.macShortMd5)
+                && Util.equalString(androidId, other.androidId)
+                && Util.equalString(fbAttributionId, other.fbAttributionId)
+                && Util.equalsMap(pluginKeys, other.pluginKeys)
+                && Util.equalString(abi, other.abi);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "version code:%d fingerprint:%s locale:%s",
+                appVersionCode, buildFingerprint, locale);
+    }
+}
@@ -32,7 +32,25 @@ public interface IActivityHandler {
 
     void sendReferrer(String referrer, long clickTime);
 
+    void addSessionCallbackParameter(String key, String value);
+
+    void addSessionPartnerParameter(String key, String value);
+
+    void removeSessionCallbackParameter(String key);
+
+    void removeSessionPartnerParameter(String key);
+
+    void resetSessionCallbackParameters();
+
+    void resetSessionPartnerParameters();
+
     void setOfflineMode(boolean enabled);
 
     void setAskingAttribution(boolean askingAttribution);
+
+    StartupReport getStartupReport();
+
+    int flush(long timeoutMilliseconds);
+
+    void teardown();
 }
@@ -16,4 +16,6 @@ public interface IAttributionHandler {
     public void pauseSending();
 
     public void resumeSending();
+
+    public void teardown();
 }
@@ -16,4 +16,10 @@ public interface IPackageHandler {
     public void pauseSending();
 
     public void resumeSending();
+
+    public int getQueueSize();
+
+    public int flush(long timeoutMilliseconds);
+
+    public void teardown();
 }
@@ -4,4 +4,6 @@ public interface IRequestHandler {
     public void init(IPackageHandler packageHandler);
 
     public void sendPackage(ActivityPackage activityPackage, int queueSize);
+
+    public void teardown();
 }
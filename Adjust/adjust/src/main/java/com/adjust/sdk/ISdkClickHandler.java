@@ -8,4 +8,6 @@ public interface ISdkClickHandler {
     void pauseSending();
     void resumeSending();
     void sendSdkClick(ActivityPackage sdkClick);
+    int flush(long timeoutMilliseconds);
+    void teardown();
 }
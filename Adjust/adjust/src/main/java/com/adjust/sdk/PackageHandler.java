@@ -21,6 +21,7 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -35,9 +36,18 @@ public class PackageHandler extends HandlerThread implements IPackageHandler {
     private List<ActivityPackage> packageQueue;
     private AtomicBoolean isSending;
     private boolean paused;
-    private Context context;
+    private IStorage storage;
     private ILogger logger;
     private BackoffStrategy backoffStrategy;
+    private RetryBudget retryBudget;
+    private MetricsRegistry.Gauge queueSizeGauge;
+    private MetricsRegistry.Gauge queueFileBytesGauge;
+    private MetricsRegistry.Gauge queueHeapBytesGauge;
+    private MetricsRegistry.Counter addedCounter;
+    private MetricsRegistry.Counter retriesCounter;
+    private volatile int queueSize;
+    private long queueHeapBytes;
+    private final Object queueSizeLock = new Object();
 
     public PackageHandler(IActivityHandler activityHandler,
                           Context context,
@@ -48,6 +58,14 @@ public class PackageHandler extends HandlerThread implements IPackageHandler {
         this.internalHandler = new Handler(getLooper());
         this.logger = AdjustFactory.getLogger();
         this.backoffStrategy = AdjustFactory.getPackageHandlerBackoffStrategy();
+        this.retryBudget = AdjustFactory.getRetryBudget();
+
+        MetricsRegistry metrics = AdjustFactory.getMetricsRegistry();
+        this.queueSizeGauge = metrics.gauge(MetricsRegistry.PACKAGE_QUEUE_SIZE);
+        this.queueFileBytesGauge = metrics.gauge(MetricsRegistry.PACKAGE_QUEUE_FILE_BYTES);
+        this.queueHeapBytesGauge = metrics.gauge(MetricsRegistry.PACKAGE_QUEUE_HEAP_BYTES);
+        this.addedCounter = metrics.counter(MetricsRegistry.PACKAGES_ADDED);
+        this.retriesCounter = metrics.counter(MetricsRegistry.PACKAGE_RETRIES);
 
         init(activityHandler, context, startsSending);
 
@@ -62,7 +80,7 @@ public class PackageHandler extends HandlerThread implements IPackageHandler {
     @Override
     public void init(IActivityHandler activityHandler, Context context, boolean startsSending) {
         this.activityHandler = activityHandler;
-        this.context = context;
+        this.storage = new ContextStorage(context);
         this.paused = !startsSending;
     }
 
@@ -92,6 +110,7 @@ public class PackageHandler extends HandlerThread implements IPackageHandler {
     // (after success or possibly permanent failure)
     @Override
     public void sendNextPackage(ResponseData responseData) {
+
         internalHandler.post(new Runnable() {
             @Override
             public void run() {
@@ -110,13 +129,17 @@ public class PackageHandler extends HandlerThread implements IPackageHandler {
 
         if (activityPackage != null) {
             int retries = activityPackage.increaseRetries();
+            retriesCounter.increment();
 
-            long waitTime = Util.getWaitingTime(retries, backoffStrategy);
+            long waitTime = Util.getWaitingTime(retries, backoffStrategy)
+                    + retryBudget.acquireRetry();
 
-            double waitTimeSeconds = waitTime / 1000.0;
-            String secondsString = Util.SecondsDisplayFormat.format(waitTimeSeconds);
+            if (logger.isVerboseEnabled()) {
+                double waitTimeSeconds = waitTime / 1000.0;
+                String secondsString = Util.SecondsDisplayFormat.format(waitTimeSeconds);
 
-            logger.verbose("Sleeping for %s seconds before retrying the %d time", secondsString, retries);
+                logger.verbose("Sleeping for %s seconds before retrying the %d time", secondsString, retries);
+            }
             SystemClock.sleep(waitTime);
         }
 
@@ -139,22 +162,105 @@ public class PackageHandler extends HandlerThread implements IPackageHandler {
         paused = false;
     }
 
+    @Override
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    // persist the queue and wait until it is sent or the timeout expires
+    // returns the number of packages still in the queue
+    // must not be called from the internal threads of the sdk
+    @Override
+    public int flush(long timeoutMilliseconds) {
+        long deadline = SystemClock.elapsedRealtime() + timeoutMilliseconds;
+        final CountDownLatch queueWritten = new CountDownLatch(1);
+
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                writePackageQueue();
+                queueWritten.countDown();
+                sendFirstInternal();
+            }
+        });
+
+        try {
+            if (!queueWritten.await(timeoutMilliseconds, TimeUnit.MILLISECONDS)) {
+                logger.warn("Package handler flush timed out before writing the queue");
+                return queueSize;
+            }
+
+            synchronized (queueSizeLock) {
+                while (queueSize > 0) {
+                    long remaining = deadline - SystemClock.elapsedRealtime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    queueSizeLock.wait(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Package handler flush interrupted");
+            Thread.currentThread().interrupt();
+        }
+
+        logger.debug("Package handler flushed with %d packages remaining", queueSize);
+        return queueSize;
+    }
+
+    // persist the queue and stop the package and request threads
+    @Override
+    public void teardown() {
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                teardownInternal();
+            }
+        });
+    }
+
     // internal methods run in dedicated queue thread
 
     private void initInternal() {
+        StartupReport startupReport = activityHandler.getStartupReport();
+
+        long requestHandlerStart = System.nanoTime();
         requestHandler = AdjustFactory.getRequestHandler(this);
+        startupReport.add(StartupReport.Phase.HANDLER_THREADS_START, requestHandlerStart);
 
         isSending = new AtomicBoolean();
 
+        long readStart = System.nanoTime();
         readPackageQueue();
+        startupReport.finished(StartupReport.Phase.READ_PACKAGE_QUEUE, readStart);
+    }
+
+    private void teardownInternal() {
+        logger.verbose("Package handler teardown");
+
+        writePackageQueue();
+
+        if (requestHandler != null) {
+            requestHandler.teardown();
+        }
+
+        quit();
     }
 
     private void addInternal(ActivityPackage newPackage) {
         packageQueue.add(newPackage);
-        logger.debug("Added package %d (%s)", packageQueue.size(), newPackage);
-        logger.verbose("%s", newPackage.getExtendedString());
+        updateQueueSize();
+        updateQueueHeapBytes(HeapFootprint.ofPackage(newPackage));
+        addedCounter.increment();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Added package %d (%s)", packageQueue.size(), newPackage);
+        }
+        if (logger.isVerboseEnabled()) {
+            logger.verbose("%s", newPackage.getExtendedString());
+        }
 
         writePackageQueue();
+        PackageTracer.trace(PackageTracer.Stage.PERSIST, newPackage);
     }
 
     private void sendFirstInternal() {
@@ -176,7 +282,9 @@ public class PackageHandler extends HandlerThread implements IPackageHandler {
     }
 
     private void sendNextInternal() {
-        packageQueue.remove(0);
+        ActivityPackage sentPackage = packageQueue.remove(0);
+        updateQueueSize();
+        updateQueueHeapBytes(-HeapFootprint.ofPackage(sentPackage));
         writePackageQueue();
         isSending.set(false);
         logger.verbose("Package handler can send");
@@ -185,7 +293,7 @@ public class PackageHandler extends HandlerThread implements IPackageHandler {
 
     private void readPackageQueue() {
         try {
-            packageQueue = Util.readObject(context, PACKAGE_QUEUE_FILENAME, PACKAGE_QUEUE_NAME, (Class<List<ActivityPackage>>)((Class)List.class));
+            packageQueue = Util.readObject(storage, PACKAGE_QUEUE_FILENAME, PACKAGE_QUEUE_NAME, (Class<List<ActivityPackage>>)((Class)List.class));
         } catch (Exception e) {
             logger.error("Failed to read %s file (%s)", PACKAGE_QUEUE_NAME, e.getMessage());
             packageQueue = null;
@@ -196,11 +304,36 @@ public class PackageHandler extends HandlerThread implements IPackageHandler {
         } else {
             packageQueue = new ArrayList<ActivityPackage>();
         }
+
+        updateQueueSize();
+
+        long heapBytes = 0;
+        for (ActivityPackage activityPackage : packageQueue) {
+            heapBytes += HeapFootprint.ofPackage(activityPackage);
+        }
+        updateQueueHeapBytes(heapBytes);
+    }
+
+    private void updateQueueSize() {
+        synchronized (queueSizeLock) {
+            queueSize = packageQueue.size();
+            queueSizeLock.notifyAll();
+        }
+        queueSizeGauge.set(queueSize);
+    }
+
+    // estimated, packages are only changed while they're built
+    private void updateQueueHeapBytes(long delta) {
+        queueHeapBytes += delta;
+        queueHeapBytesGauge.set(queueHeapBytes);
     }
 
     private void writePackageQueue() {
-        Util.writeObject(packageQueue, context, PACKAGE_QUEUE_FILENAME, PACKAGE_QUEUE_NAME);
-        logger.debug("Package handler wrote %d packages", packageQueue.size());
+        Util.writeObject(packageQueue, storage, PACKAGE_QUEUE_FILENAME, PACKAGE_QUEUE_NAME);
+        queueFileBytesGauge.set(storage.length(PACKAGE_QUEUE_FILENAME));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Package handler wrote %d packages", packageQueue.size());
+        }
     }
 
     public static Boolean deletePackageQueue(Context context) {
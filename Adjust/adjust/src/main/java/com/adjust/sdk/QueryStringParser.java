@@ -0,0 +1,163 @@
+package com.adjust.sdk;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+
+/**
+ * Reads the parameters of deep link query strings and install referrers in a single pass.
+ * A value may contain '=' and, for repeated keys, the last value wins.
+ */
+public class QueryStringParser {
+    private static final Charset UTF8 = Charset.forName(Constants.ENCODING);
+
+    private QueryStringParser() {
+    }
+
+    /**
+     * Puts in parameters every pair of an encoded query string, as deep links have them, whose decoded key starts
+     * with prefix, with the prefix removed. Keys and values are percent-decoded once, '+' is kept like Uri.getQuery does.
+     * Pairs with an empty key or value after the prefix are skipped.
+     */
+    public static void parse(String queryString, String prefix, Map<String, String> parameters) {
+        parse(queryString, prefix, parameters, true);
+    }
+
+    /**
+     * Like parse, for a query string that was decoded as a whole, as install referrers are: the pairs are kept
+     * as they are.
+     */
+    public static void parseDecoded(String queryString, String prefix, Map<String, String> parameters) {
+        parse(queryString, prefix, parameters, false);
+    }
+
+    private static void parse(String queryString, String prefix, Map<String, String> parameters, boolean decode) {
+        int length = queryString.length();
+        int prefixLength = prefix.length();
+        int start = 0;
+
+        while (start < length) {
+            int end = queryString.indexOf('&', start);
+            if (end < 0) {
+                end = length;
+            }
+
+            int separator = queryString.indexOf('=', start);
+            if (separator >= 0 && separator < end) {
+                String key = null;
+                if (queryString.regionMatches(start, prefix, 0, prefixLength)) {
+                    int keyStart = start + prefixLength;
+                    key = decode ? decode(queryString, keyStart, separator, false)
+                            : queryString.substring(keyStart, separator);
+                } else if (decode && containsEscape(queryString, start, separator)) {
+                    // the prefix itself may be encoded, as in adjust%5Ftracker
+                    String decodedKey = decode(queryString, start, separator, false);
+                    if (decodedKey.startsWith(prefix)) {
+                        key = decodedKey.substring(prefixLength);
+                    }
+                }
+
+                int valueStart = separator + 1;
+                if (key != null && key.length() > 0 && valueStart < end) {
+                    String value = decode ? decode(queryString, valueStart, end, false)
+                            : queryString.substring(valueStart, end);
+
+                    if (value.length() > 0) {
+                        parameters.put(key, value);
+                    }
+                }
+            }
+
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Decodes application/x-www-form-urlencoded like URLDecoder, '+' is a space.
+     */
+    public static String decode(String encoded) {
+        return decode(encoded, 0, encoded.length(), true);
+    }
+
+    // malformed escapes are kept as they are instead of failing like URLDecoder
+    private static String decode(String encoded, int start, int end, boolean plusAsSpace) {
+        int position = start;
+        while (position < end) {
+            char c = encoded.charAt(position);
+            if (c == '%' || (c == '+' && plusAsSpace)) {
+                break;
+            }
+            position++;
+        }
+
+        // nothing to decode
+        if (position == end) {
+            return encoded.substring(start, end);
+        }
+
+        StringBuilder decoded = new StringBuilder(end - start);
+        decoded.append(encoded, start, position);
+        byte[] bytes = null;
+
+        while (position < end) {
+            char c = encoded.charAt(position);
+
+            if (c == '+' && plusAsSpace) {
+                decoded.append(' ');
+                position++;
+                continue;
+            }
+
+            if (c != '%') {
+                decoded.append(c);
+                position++;
+                continue;
+            }
+
+            // consecutive escapes form one UTF-8 sequence
+            if (bytes == null) {
+                bytes = new byte[(end - position) / 3];
+            }
+            int count = 0;
+            while (position + 2 < end && encoded.charAt(position) == '%') {
+                int high = hexValue(encoded.charAt(position + 1));
+                int low = hexValue(encoded.charAt(position + 2));
+                if (high < 0 || low < 0) {
+                    break;
+                }
+                bytes[count++] = (byte) ((high << 4) | low);
+                position += 3;
+            }
+
+            if (count == 0) {
+                decoded.append('%');
+                position++;
+            } else {
+                decoded.append(new String(bytes, 0, count, UTF8));
+            }
+        }
+
+        return decoded.toString();
+    }
+
+    private static boolean containsEscape(String encoded, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (encoded.charAt(i) == '%') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+}
@@ -8,21 +8,45 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.adjust.sdk.Constants.PLUGINS;
 
 public class Reflection {
+    private static final String ADVERTISING_ID_CLIENT = "com.google.android.gms.ads.identifier.AdvertisingIdClient";
+    private static final String MAC_ADDRESS_UTIL = "com.adjust.sdk.plugin.MacAddressUtil";
+    private static final String ANDROID_ID_UTIL = "com.adjust.sdk.plugin.AndroidIdUtil";
+
+    // classes and methods are resolved once, missing ones are cached as well
+    private static final Object MISSING = new Object();
+    private static final Map<String, Object> classes = new ConcurrentHashMap<String, Object>();
+    private static final Map<MethodKey, Object> methods = new ConcurrentHashMap<MethodKey, Object>();
+
+    private static volatile List<Plugin> plugins;
+
+    public static boolean isPlayServicesPresent() {
+        return forName(ADVERTISING_ID_CLIENT) != null;
+    }
+
+    public static boolean isMacAddressUtilPresent() {
+        return forName(MAC_ADDRESS_UTIL) != null;
+    }
+
+    public static boolean isAndroidIdUtilPresent() {
+        return forName(ANDROID_ID_UTIL) != null;
+    }
+
 
     public static String getPlayAdId(Context context) {
         try {
             Object AdvertisingInfoObject = getAdvertisingInfoObject(context);
 
-            String playAdid = (String) invokeInstanceMethod(AdvertisingInfoObject, "getId", null);
-
-            return playAdid;
+            return getPlayAdIdFromInfo(AdvertisingInfoObject);
         } catch (Throwable t) {
             return null;
         }
@@ -32,6 +56,24 @@ public class Reflection {
         try {
             Object AdvertisingInfoObject = getAdvertisingInfoObject(context);
 
+            return isPlayTrackingEnabledFromInfo(AdvertisingInfoObject);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    public static String getPlayAdIdFromInfo(Object AdvertisingInfoObject) {
+        try {
+            String playAdid = (String) invokeInstanceMethod(AdvertisingInfoObject, "getId", null);
+
+            return playAdid;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    public static Boolean isPlayTrackingEnabledFromInfo(Object AdvertisingInfoObject) {
+        try {
             Boolean isLimitedTrackingEnabled = (Boolean) invokeInstanceMethod(AdvertisingInfoObject, "isLimitAdTrackingEnabled", null);
 
             Boolean isPlayTrackingEnabled = (isLimitedTrackingEnabled == null ? null : !isLimitedTrackingEnabled);
@@ -43,9 +85,13 @@ public class Reflection {
     }
 
     public static String getMacAddress(Context context) {
+        if (!isMacAddressUtilPresent()) {
+            return null;
+        }
+
         try {
             String macSha1 = (String) invokeStaticMethod(
-                    "com.adjust.sdk.plugin.MacAddressUtil",
+                    MAC_ADDRESS_UTIL,
                     "getMacAddress",
                     new Class[]{Context.class}, context
             );
@@ -57,8 +103,12 @@ public class Reflection {
     }
 
     public static String getAndroidId(Context context) {
+        if (!isAndroidIdUtilPresent()) {
+            return null;
+        }
+
         try {
-            String androidId = (String) invokeStaticMethod("com.adjust.sdk.plugin.AndroidIdUtil", "getAndroidId"
+            String androidId = (String) invokeStaticMethod(ANDROID_ID_UTIL, "getAndroidId"
                     , new Class[]{Context.class}, context);
 
             return androidId;
@@ -67,9 +117,9 @@ public class Reflection {
         }
     }
 
-    private static Object getAdvertisingInfoObject(Context context)
+    public static Object getAdvertisingInfoObject(Context context)
             throws Exception {
-        return invokeStaticMethod("com.google.android.gms.ads.identifier.AdvertisingIdClient",
+        return invokeStaticMethod(ADVERTISING_ID_CLIENT,
                 "getAdvertisingIdInfo",
                 new Class[]{Context.class}, context
         );
@@ -81,7 +131,7 @@ public class Reflection {
         }
 
         try {
-            Class ConnectionResultClass = Class.forName("com.google.android.gms.common.ConnectionResult");
+            Class ConnectionResultClass = forName("com.google.android.gms.common.ConnectionResult");
 
             Field SuccessField = ConnectionResultClass.getField("SUCCESS");
 
@@ -127,12 +177,20 @@ public class Reflection {
     }
 
     public static Class forName(String className) {
-        try {
-            Class classObject = Class.forName(className);
-            return classObject;
-        } catch (Throwable t) {
+        Object cached = classes.get(className);
+        if (cached == null) {
+            try {
+                cached = Class.forName(className);
+            } catch (Throwable t) {
+                cached = MISSING;
+            }
+            classes.put(className, cached);
+        }
+
+        if (cached == MISSING) {
             return null;
         }
+        return (Class) cached;
     }
 
     public static Object createDefaultInstance(String className) {
@@ -152,7 +210,7 @@ public class Reflection {
 
     public static Object createInstance(String className, Class[] cArgs, Object... args) {
         try {
-            Class classObject = Class.forName(className);
+            Class classObject = forName(className);
             @SuppressWarnings("unchecked")
             Constructor constructor = classObject.getConstructor(cArgs);
             Object instance = constructor.newInstance(args);
@@ -164,7 +222,10 @@ public class Reflection {
 
     public static Object invokeStaticMethod(String className, String methodName, Class[] cArgs, Object... args)
             throws Exception {
-        Class classObject = Class.forName(className);
+        Class classObject = forName(className);
+        if (classObject == null) {
+            throw new ClassNotFoundException(className);
+        }
 
         return invokeMethod(classObject, methodName, null, cArgs, args);
     }
@@ -178,14 +239,34 @@ public class Reflection {
 
     public static Object invokeMethod(Class classObject, String methodName, Object instance, Class[] cArgs, Object... args)
             throws Exception {
-        @SuppressWarnings("unchecked")
-        Method methodObject = classObject.getMethod(methodName, cArgs);
+        Method methodObject = getMethod(classObject, methodName, cArgs);
 
         Object resultObject = methodObject.invoke(instance, args);
 
         return resultObject;
     }
 
+    private static Method getMethod(Class classObject, String methodName, Class[] cArgs)
+            throws NoSuchMethodException {
+        MethodKey key = new MethodKey(classObject, methodName, cArgs);
+        Object cached = methods.get(key);
+        if (cached == null) {
+            try {
+                @SuppressWarnings("unchecked")
+                Method methodObject = classObject.getMethod(methodName, cArgs);
+                cached = methodObject;
+            } catch (NoSuchMethodException e) {
+                cached = MISSING;
+            }
+            methods.put(key, cached);
+        }
+
+        if (cached == MISSING) {
+            throw new NoSuchMethodException(classObject.getName() + "." + methodName);
+        }
+        return (Method) cached;
+    }
+
     public static Map<String, String> getPluginKeys(Context context) {
         Map<String, String> pluginKeys = new HashMap<String, String>();
 
@@ -204,6 +285,16 @@ public class Reflection {
     }
 
     private static List<Plugin> getPlugins() {
+        // plugins are stateless, instantiate them only once
+        List<Plugin> cachedPlugins = plugins;
+        if (cachedPlugins == null) {
+            cachedPlugins = Collections.unmodifiableList(createPlugins());
+            plugins = cachedPlugins;
+        }
+        return cachedPlugins;
+    }
+
+    private static List<Plugin> createPlugins() {
         List<Plugin> plugins = new ArrayList<Plugin>(PLUGINS.size());
 
         for (String pluginName : PLUGINS) {
@@ -215,4 +306,39 @@ public class Reflection {
 
         return plugins;
     }
+
+    private static class MethodKey {
+        private static final Class[] NO_ARGS = new Class[0];
+
+        private final Class classObject;
+        private final String methodName;
+        private final Class[] cArgs;
+        private final int hashCode;
+
+        MethodKey(Class classObject, String methodName, Class[] cArgs) {
+            this.classObject = classObject;
+            this.methodName = methodName;
+            this.cArgs = cArgs == null ? NO_ARGS : cArgs;
+            this.hashCode = 31 * (31 * classObject.hashCode() + methodName.hashCode()) + Arrays.hashCode(this.cArgs);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey otherKey = (MethodKey) other;
+            return classObject == otherKey.classObject
+                    && methodName.equals(otherKey.methodName)
+                    && Arrays.equals(cArgs, otherKey.cArgs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
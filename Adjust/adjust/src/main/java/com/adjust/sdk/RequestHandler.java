@@ -13,6 +13,7 @@ import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
 
 import org.json.JSONException;
 
@@ -21,6 +22,7 @@ import java.io.UnsupportedEncodingException;
 import java.lang.ref.WeakReference;
 import java.net.SocketTimeoutException;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.net.ssl.HttpsURLConnection;
 
@@ -28,6 +30,9 @@ public class RequestHandler extends HandlerThread implements IRequestHandler {
     private Handler internalHandler;
     private IPackageHandler packageHandler;
     private ILogger logger;
+    private MetricsRegistry metrics;
+    private MetricsRegistry.Counter sentCounter;
+    private RetryBudget retryBudget;
 
     public RequestHandler(IPackageHandler packageHandler) {
         super(Constants.LOGTAG, MIN_PRIORITY);
@@ -35,6 +40,9 @@ public class RequestHandler extends HandlerThread implements IRequestHandler {
         start();
 
         this.logger = AdjustFactory.getLogger();
+        this.metrics = AdjustFactory.getMetricsRegistry();
+        this.sentCounter = metrics.counter(MetricsRegistry.PACKAGES_SENT);
+        this.retryBudget = AdjustFactory.getRetryBudget();
         this.internalHandler = new Handler(getLooper());
         init(packageHandler);
     }
@@ -54,23 +62,48 @@ public class RequestHandler extends HandlerThread implements IRequestHandler {
         });
     }
 
+    @Override
+    public void teardown() {
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                logger.verbose("Request handler teardown");
+                quit();
+            }
+        });
+    }
+
     private void sendInternal(ActivityPackage activityPackage, int queueSize) {
+        PackageTracer.trace(PackageTracer.Stage.QUEUE_WAIT, activityPackage);
+
         String targetURL = Constants.BASE_URL + activityPackage.getPath();
+        long requestStart = SystemClock.elapsedRealtime();
+        long sentAt = AdjustFactory.getClock().currentTimeMillis();
 
         try {
+            Map<String, String> bodyParameters = activityPackage.getBodyParameters();
             HttpsURLConnection connection = Util.createPOSTHttpsURLConnection(
                     targetURL,
                     activityPackage.getClientSdk(),
-                    activityPackage.getParameters(),
+                    bodyParameters,
                     queueSize);
 
             ResponseData responseData = Util.readHttpResponse(connection, activityPackage);
 
+            long requestMillis = SystemClock.elapsedRealtime() - requestStart;
+            metrics.histogram(MetricsRegistry.REQUEST_LATENCY + activityPackage.getActivityKind())
+                    .record(requestMillis);
+            TrafficRecorder.record(activityPackage, bodyParameters, queueSize, sentAt, requestMillis);
+
             if (responseData.jsonResponse == null) {
+                metrics.counter(MetricsRegistry.REQUEST_FAILURES + activityPackage.getActivityKind()).increment();
                 packageHandler.closeFirstPackage(responseData, activityPackage);
                 return;
             }
 
+            // the server answered, give back to the retry budget
+            retryBudget.recordSuccess();
+            sentCounter.increment();
             packageHandler.sendNextPackage(responseData);
 
         } catch (UnsupportedEncodingException e) {
@@ -90,6 +123,7 @@ public class RequestHandler extends HandlerThread implements IRequestHandler {
         final String reasonString = Util.getReasonString(message, throwable);
         String finalMessage = String.format("%s. (%s) Will retry later", packageMessage, reasonString);
         logger.error(finalMessage);
+        metrics.counter(MetricsRegistry.REQUEST_FAILURES + activityPackage.getActivityKind()).increment();
 
         ResponseData responseData = ResponseData.buildResponseData(activityPackage);
         responseData.message = finalMessage;
@@ -103,6 +137,7 @@ public class RequestHandler extends HandlerThread implements IRequestHandler {
         final String reasonString = Util.getReasonString(message, throwable);
         String finalMessage = String.format("%s. (%s)", failureMessage, reasonString);
         logger.error(finalMessage);
+        metrics.counter(MetricsRegistry.REQUEST_FAILURES + activityPackage.getActivityKind()).increment();
 
         ResponseData responseData = ResponseData.buildResponseData(activityPackage);
         responseData.message = finalMessage;
@@ -23,6 +23,12 @@ public class SdkClickHandler extends HandlerThread implements ISdkClickHandler {
     private boolean paused;
     private List<ActivityPackage> packageQueue;
     private BackoffStrategy backoffStrategy;
+    private RetryBudget retryBudget;
+    private MetricsRegistry metrics;
+    private MetricsRegistry.Gauge queueSizeGauge;
+    // clicks that were passed to the handler and are not sent yet, retries included
+    private volatile int pendingClicks;
+    private final Object pendingClicksLock = new Object();
 
     public SdkClickHandler(boolean startsSending) {
         super(Constants.LOGTAG, MIN_PRIORITY);
@@ -33,12 +39,16 @@ public class SdkClickHandler extends HandlerThread implements ISdkClickHandler {
         this.logger = AdjustFactory.getLogger();
         this.internalHandler = new Handler(getLooper());
         this.backoffStrategy = AdjustFactory.getSdkClickBackoffStrategy();
+        this.retryBudget = AdjustFactory.getRetryBudget();
+        this.metrics = AdjustFactory.getMetricsRegistry();
+        this.queueSizeGauge = metrics.gauge(MetricsRegistry.SDK_CLICK_QUEUE_SIZE);
     }
 
     @Override
     public void init(boolean startsSending) {
         this.paused = !startsSending;
         this.packageQueue = new ArrayList<ActivityPackage>();
+        clearPendingClicks();
     }
 
     @Override
@@ -55,17 +65,68 @@ public class SdkClickHandler extends HandlerThread implements ISdkClickHandler {
 
     @Override
     public void sendSdkClick(final ActivityPackage sdkClick) {
+        updatePendingClicks(1);
+
         internalHandler.post(new Runnable() {
             @Override
             public void run() {
                 packageQueue.add(sdkClick);
-                logger.debug("Added sdk_click %d", packageQueue.size());
-                logger.verbose("%s", sdkClick.getExtendedString());
+                queueSizeGauge.set(packageQueue.size());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Added sdk_click %d", packageQueue.size());
+                }
+                if (logger.isVerboseEnabled()) {
+                    logger.verbose("%s", sdkClick.getExtendedString());
+                }
                 sendNextSdkClick();
             }
         });
     }
 
+    // tries to send the queued clicks until the timeout expires
+    // returns the number of clicks that were not sent
+    @Override
+    public int flush(long timeoutMilliseconds) {
+        long deadline = SystemClock.elapsedRealtime() + timeoutMilliseconds;
+
+        sendNextSdkClick();
+
+        try {
+            synchronized (pendingClicksLock) {
+                while (pendingClicks > 0) {
+                    long remaining = deadline - SystemClock.elapsedRealtime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    pendingClicksLock.wait(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Sdk click handler flush interrupted");
+            Thread.currentThread().interrupt();
+        }
+
+        logger.debug("Sdk click handler flushed with %d packages remaining", pendingClicks);
+        return pendingClicks;
+    }
+
+    @Override
+    public void teardown() {
+        internalHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                logger.verbose("SdkClickHandler teardown");
+                // sdk clicks are not persisted, flush before the teardown to send them
+                if (!packageQueue.isEmpty()) {
+                    logger.warn("Dropped %d sdk_click packages at teardown", packageQueue.size());
+                }
+                packageQueue.clear();
+                clearPendingClicks();
+                quit();
+            }
+        });
+    }
+
     private void sendNextSdkClick() {
         internalHandler.post(new Runnable() {
             @Override
@@ -83,38 +144,57 @@ public class SdkClickHandler extends HandlerThread implements ISdkClickHandler {
                 int retries = sdkClickPackage.getRetries();
 
                 if (retries > 0) {
-                    long waitTimeMilliSeconds = Util.getWaitingTime(retries, backoffStrategy);
+                    long waitTimeMilliSeconds = Util.getWaitingTime(retries, backoffStrategy)
+                            + retryBudget.acquireRetry();
 
-                    double waitTimeSeconds = waitTimeMilliSeconds / 1000.0;
-                    String secondsString = Util.SecondsDisplayFormat.format(waitTimeSeconds);
+                    if (logger.isVerboseEnabled()) {
+                        double waitTimeSeconds = waitTimeMilliSeconds / 1000.0;
+                        String secondsString = Util.SecondsDisplayFormat.format(waitTimeSeconds);
 
-                    logger.verbose("Sleeping for %s seconds before retrying sdk_click for the %d time", secondsString, retries);
+                        logger.verbose("Sleeping for %s seconds before retrying sdk_click for the %d time", secondsString, retries);
+                    }
                     SystemClock.sleep(waitTimeMilliSeconds);
                 }
 
                 sendSdkClickInternal(sdkClickPackage);
 
                 packageQueue.remove(0);
+                queueSizeGauge.set(packageQueue.size());
+                // a retry was added again before it was removed, it stays pending
+                updatePendingClicks(-1);
                 sendNextSdkClick();
             }
         });
     }
 
     private void sendSdkClickInternal(ActivityPackage sdkClickPackage) {
+        PackageTracer.trace(PackageTracer.Stage.QUEUE_WAIT, sdkClickPackage);
+
         String targetURL = Constants.BASE_URL + sdkClickPackage.getPath();
+        long requestStart = SystemClock.elapsedRealtime();
+        long sentAt = AdjustFactory.getClock().currentTimeMillis();
+        int queueSize = packageQueue.size() - 1;
 
         try {
             HttpsURLConnection connection = Util.createPOSTHttpsURLConnection(
                     targetURL,
                     sdkClickPackage.getClientSdk(),
                     sdkClickPackage.getParameters(),
-                    packageQueue.size() - 1);
+                    queueSize);
 
             ResponseData responseData = Util.readHttpResponse(connection, sdkClickPackage);
 
+            long requestMillis = SystemClock.elapsedRealtime() - requestStart;
+            metrics.histogram(MetricsRegistry.REQUEST_LATENCY + sdkClickPackage.getActivityKind())
+                    .record(requestMillis);
+            TrafficRecorder.record(sdkClickPackage, sdkClickPackage.getParameters(), queueSize, sentAt, requestMillis);
+
             if (responseData.jsonResponse == null) {
                 retrySending(sdkClickPackage);
+                return;
             }
+
+            retryBudget.recordSuccess();
         } catch (UnsupportedEncodingException e) {
             logErrorMessage(sdkClickPackage, "Sdk_click failed to encode parameters", e);
         } catch (SocketTimeoutException e) {
@@ -130,15 +210,31 @@ public class SdkClickHandler extends HandlerThread implements ISdkClickHandler {
 
     private void retrySending(ActivityPackage sdkClickPackage) {
         int retries = sdkClickPackage.increaseRetries();
+        metrics.counter(MetricsRegistry.SDK_CLICK_RETRIES).increment();
 
         logger.error("Retrying sdk_click package for the %d time", retries);
         sendSdkClick(sdkClickPackage);
     }
 
+    private void updatePendingClicks(int change) {
+        synchronized (pendingClicksLock) {
+            pendingClicks += change;
+            pendingClicksLock.notifyAll();
+        }
+    }
+
+    private void clearPendingClicks() {
+        synchronized (pendingClicksLock) {
+            pendingClicks = 0;
+            pendingClicksLock.notifyAll();
+        }
+    }
+
     private void logErrorMessage(ActivityPackage sdkClickPackage, String message, Throwable throwable) {
         final String packageMessage = sdkClickPackage.getFailureMessage();
         final String reasonString = Util.getReasonString(message, throwable);
         String finalMessage = String.format("%s. (%s)", packageMessage, reasonString);
         logger.error(finalMessage);
+        metrics.counter(MetricsRegistry.REQUEST_FAILURES + sdkClickPackage.getActivityKind()).increment();
     }
 }
@@ -15,52 +15,52 @@ public class TimerCycle {
     private Runnable command;
     private long initialDelay;
     private long cycleDelay;
-    private String cycleDelaySeconds;
+    private long maxCycleDelay;
+    private long currentCycleDelay;
     private boolean isPaused;
     private ILogger logger;
 
     public TimerCycle(Runnable command, long initialDelay, long cycleDelay, String name) {
+        this(command, initialDelay, cycleDelay, cycleDelay, name);
+    }
+
+    public TimerCycle(Runnable command, long initialDelay, long cycleDelay, long maxCycleDelay, String name) {
         this.scheduler = Executors.newSingleThreadScheduledExecutor();
 
         this.name = name;
         this.command = command;
         this.initialDelay = initialDelay;
         this.cycleDelay = cycleDelay;
+        this.maxCycleDelay = Math.max(cycleDelay, maxCycleDelay);
+        this.currentCycleDelay = cycleDelay;
         this.isPaused = true;
         this.logger = AdjustFactory.getLogger();
-
-        this.cycleDelaySeconds = Util.SecondsDisplayFormat.format(cycleDelay / 1000.0);
     }
 
-    public void start() {
+    public synchronized void start() {
         if (!isPaused) {
             logger.verbose("%s is already started", name);
             return;
         }
 
         String initialDelaySeconds = Util.SecondsDisplayFormat.format(initialDelay / 1000.0);
+        String cycleDelaySeconds = Util.SecondsDisplayFormat.format(currentCycleDelay / 1000.0);
 
         logger.verbose("%s starting in %s seconds and cycle every %s seconds", name, initialDelaySeconds, cycleDelaySeconds);
 
-        waitingTask = scheduler.scheduleWithFixedDelay(new Runnable() {
-            @Override
-            public void run() {
-                logger.verbose("%s fired", name);
-                command.run();
-            }
-        }, initialDelay, cycleDelay, TimeUnit.MILLISECONDS);
+        schedule(initialDelay);
 
         isPaused = false;
     }
 
-    public void suspend() {
+    public synchronized void suspend() {
         if (isPaused) {
             logger.verbose("%s is already suspended", name);
             return;
         }
 
         // get the remaining delay
-        initialDelay = waitingTask.getDelay(TimeUnit.MILLISECONDS);
+        initialDelay = Math.max(0, waitingTask.getDelay(TimeUnit.MILLISECONDS));
 
         // cancel the timer
         waitingTask.cancel(false);
@@ -72,4 +72,77 @@ public class TimerCycle {
 
         isPaused = true;
     }
+
+    // double the cycle delay, up to the maximum, while there is nothing to do
+    public synchronized void backoff() {
+        if (currentCycleDelay >= maxCycleDelay) {
+            return;
+        }
+
+        long previousCycleDelay = currentCycleDelay;
+        currentCycleDelay = Math.min(currentCycleDelay * 2, maxCycleDelay);
+
+        String cycleDelaySeconds = Util.SecondsDisplayFormat.format(currentCycleDelay / 1000.0);
+        logger.verbose("%s idle, cycle every %s seconds", name, cycleDelaySeconds);
+
+        // postpone the already scheduled cycle as well
+        if (!isPaused && waitingTask != null) {
+            long remaining = Math.max(0, waitingTask.getDelay(TimeUnit.MILLISECONDS));
+            waitingTask.cancel(false);
+            schedule(remaining + currentCycleDelay - previousCycleDelay);
+        }
+    }
+
+    // go back to the initial cycle delay, when there is something to do again
+    public synchronized void resetCycleDelay() {
+        if (currentCycleDelay == cycleDelay) {
+            return;
+        }
+
+        currentCycleDelay = cycleDelay;
+
+        String cycleDelaySeconds = Util.SecondsDisplayFormat.format(currentCycleDelay / 1000.0);
+        logger.verbose("%s woken up, cycle every %s seconds", name, cycleDelaySeconds);
+
+        // don't wait longer than the initial cycle delay for the next cycle
+        if (!isPaused && waitingTask != null
+                && waitingTask.getDelay(TimeUnit.MILLISECONDS) > currentCycleDelay) {
+            waitingTask.cancel(false);
+            schedule(currentCycleDelay);
+        }
+    }
+
+    public synchronized void teardown() {
+        if (waitingTask != null) {
+            waitingTask.cancel(false);
+            waitingTask = null;
+        }
+        isPaused = true;
+
+        scheduler.shutdownNow();
+
+        logger.verbose("%s teardown", name);
+    }
+
+    private void schedule(long delay) {
+        waitingTask = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                fire();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void fire() {
+        synchronized (this) {
+            if (isPaused) {
+                return;
+            }
+            // schedule the next cycle with the current delay
+            schedule(currentCycleDelay);
+        }
+
+        logger.verbose("%s fired", name);
+        command.run();
+    }
 }
@@ -60,4 +60,9 @@ public class TimerOnce {
     public void cancel() {
         cancel(true);
     }
+
+    public void teardown() {
+        cancel(false);
+        logger.verbose("%s teardown", name);
+    }
 }
@@ -0,0 +1,87 @@
+package com.adjust.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files and lists the benchmarks that got slower than the allowed change.
+ * Usage: BaselineComparison baseline.json results.json [allowed change in percent, 10 by default]
+ */
+public class BaselineComparison {
+    public static void main(String[] args) throws IOException, JSONException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <results.json> [allowed change %]");
+            System.exit(2);
+        }
+
+        double allowedChange = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JSONObject> baseline = readScores(args[0]);
+        Map<String, JSONObject> results = readScores(args[1]);
+
+        int regressions = 0;
+        for (Map.Entry<String, JSONObject> entry : results.entrySet()) {
+            JSONObject result = entry.getValue();
+            JSONObject base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.println(String.format(Locale.US, "%-70s %14.3f %-6s (new)",
+                        entry.getKey(), result.getDouble("score"), result.getString("scoreUnit")));
+                continue;
+            }
+
+            double change = (result.getDouble("score") - base.getDouble("score")) / base.getDouble("score") * 100;
+            // lower is better for times per operation, higher for operations per time
+            boolean higherIsBetter = "thrpt".equals(result.optString("mode"));
+            double slowdown = higherIsBetter ? -change : change;
+            boolean regression = slowdown > allowedChange;
+            if (regression) {
+                regressions++;
+            }
+
+            System.out.println(String.format(Locale.US, "%-70s %14.3f %-6s %+8.1f%%%s",
+                    entry.getKey(), result.getDouble("score"), result.getString("scoreUnit"), change,
+                    regression ? "  REGRESSION" : ""));
+        }
+
+        System.out.println(String.format(Locale.US, "%d of %d benchmarks regressed by more than %.1f%%",
+                regressions, results.size(), allowedChange));
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    // primary metric of every benchmark, by benchmark name and parameters
+    private static Map<String, JSONObject> readScores(String path) throws IOException, JSONException {
+        String json = new String(Files.readAllBytes(Paths.get(path)), Charset.forName("UTF-8"));
+        JSONArray runs = new JSONArray(json);
+
+        Map<String, JSONObject> scores = new LinkedHashMap<String, JSONObject>();
+        for (int i = 0; i < runs.length(); i++) {
+            JSONObject run = runs.getJSONObject(i);
+            String name = run.getString("benchmark");
+
+            JSONObject params = run.optJSONObject("params");
+            if (params != null) {
+                StringBuilder paramString = new StringBuilder();
+                Iterator<String> keys = params.keys();
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    paramString.append(paramString.length() == 0 ? "" : ",").append(key).append('=').append(params.get(key));
+                }
+                name = name + "(" + paramString + ")";
+            }
+
+            JSONObject primaryMetric = run.getJSONObject("primaryMetric");
+            primaryMetric.put("mode", run.getString("mode"));
+            scores.put(name, primaryMetric);
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,54 @@
+package com.adjust.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sdk objects as they are in an app that tracks events, shared by the benchmarks.
+ */
+public class BenchmarkFixtures {
+    public final JvmContext context;
+    public final AdjustConfig adjustConfig;
+    public final DeviceInfo deviceInfo;
+    public final ConfiguredDeviceInfo configuredDeviceInfo;
+    public final IStorage storage;
+    public final ActivityState activityState;
+
+    public BenchmarkFixtures() {
+        context = new JvmContext();
+        adjustConfig = new AdjustConfig(context, "123456789012", AdjustConfig.ENVIRONMENT_SANDBOX);
+        deviceInfo = new DeviceInfo(context, null);
+        configuredDeviceInfo = new ConfiguredDeviceInfo(adjustConfig, deviceInfo);
+        storage = new ContextStorage(context);
+
+        activityState = new ActivityState();
+        activityState.sessionCount = 3;
+        activityState.subsessionCount = 2;
+        activityState.sessionLength = 120000;
+        activityState.timeSpent = 60000;
+    }
+
+    public AdjustEvent createEvent() {
+        AdjustEvent event = new AdjustEvent("abc123");
+        event.setRevenue(0.99, "EUR");
+        event.addCallbackParameter("user_id", "12345");
+        event.addCallbackParameter("level", "7");
+        event.addPartnerParameter("product", "sword");
+        return event;
+    }
+
+    public ActivityPackage buildEventPackage(long createdAt) {
+        activityState.eventCount++;
+        PackageBuilder builder = new PackageBuilder(configuredDeviceInfo, activityState, createdAt);
+        return builder.buildEventPackage(createEvent());
+    }
+
+    public List<ActivityPackage> buildPackageQueue(int size) {
+        List<ActivityPackage> packageQueue = new ArrayList<ActivityPackage>(size);
+        long createdAt = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            packageQueue.add(buildEventPackage(createdAt + i));
+        }
+        return packageQueue;
+    }
+}
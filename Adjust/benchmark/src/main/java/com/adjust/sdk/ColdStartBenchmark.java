@@ -0,0 +1,205 @@
+package com.adjust.sdk;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Starts the SDK in a new JVM for every run, with the files of an app that already ran and had packages
+ * left in its queue, and reports the distribution of the startup phases for every queue size.
+ * The SDK sends to a local mock server that answers without delay.
+ *
+ * Usage: ColdStartBenchmark [--runs=20] [--queues=0,100,10000] [--output=cold-start.json]
+ */
+public class ColdStartBenchmark {
+    private static final String CHILD = "--child=";
+    private static final String ON_CREATE = "on_create";
+    private static final long RUN_TIMEOUT = 60000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<String, String>();
+        for (String arg : args) {
+            if (arg.startsWith(CHILD)) {
+                runChild(new File(arg.substring(CHILD.length())));
+                return;
+            }
+            if (!arg.startsWith("--") || arg.indexOf('=') == -1) {
+                System.err.println("Unknown argument " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        int runs = Integer.parseInt(options.containsKey("runs") ? options.get("runs") : "20");
+        String queues = options.containsKey("queues") ? options.get("queues") : "0,100,10000";
+
+        Map<String, Object> report = new LinkedHashMap<String, Object>();
+        report.put("sdk", Constants.CLIENT_SDK);
+        report.put("java", System.getProperty("java.version"));
+        report.put("runs", runs);
+
+        Map<String, Object> results = new LinkedHashMap<String, Object>();
+        for (String queue : queues.split(",")) {
+            int queueSize = Integer.parseInt(queue.trim());
+            results.put(Integer.toString(queueSize), measure(queueSize, runs));
+        }
+        report.put("queued_packages", results);
+
+        String json = JsonWriter.toJson(report);
+        System.out.println(json);
+
+        if (options.containsKey("output")) {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(options.get("output")), Charset.forName("UTF-8"));
+            try {
+                writer.write(json);
+                writer.write('\n');
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    // runs of one queue size, in milliseconds by phase
+    private static Map<String, Object> measure(int queueSize, int runs) throws Exception {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures();
+        List<ActivityPackage> packageQueue = fixtures.buildPackageQueue(queueSize);
+
+        // the last activity was long enough ago for a new session
+        fixtures.activityState.lastActivity = System.currentTimeMillis() - Constants.ONE_HOUR;
+
+        Map<String, List<Double>> samples = new HashMap<String, List<Double>>();
+        for (int run = 0; run < runs; run++) {
+            JvmContext context = new JvmContext();
+            Util.writeObject(fixtures.activityState, new ContextStorage(context), Constants.ACTIVITY_STATE_FILENAME, "Activity state");
+            Util.writeObject(packageQueue, new ContextStorage(context), "AdjustIoPackageQueue", "Package queue");
+
+            JSONObject durations = runInNewJvm(context.getFilesDir());
+
+            context.deleteFiles();
+            context.getFilesDir().delete();
+
+            Iterator<String> phases = durations.keys();
+            while (phases.hasNext()) {
+                String phase = phases.next();
+                if (!samples.containsKey(phase)) {
+                    samples.put(phase, new ArrayList<Double>());
+                }
+                samples.get(phase).add(durations.getDouble(phase));
+            }
+            System.err.println("queue " + queueSize + " run " + (run + 1) + " " + durations);
+        }
+
+        fixtures.context.deleteFiles();
+
+        // in the order of the phases, the ones that never finished are left out
+        List<String> phaseNames = new ArrayList<String>();
+        phaseNames.add(ON_CREATE);
+        for (StartupReport.Phase phase : StartupReport.Phase.values()) {
+            phaseNames.add(phase.name().toLowerCase(Locale.US));
+        }
+
+        Map<String, Object> distributions = new LinkedHashMap<String, Object>();
+        for (String phaseName : phaseNames) {
+            List<Double> values = samples.get(phaseName);
+            if (values == null) {
+                continue;
+            }
+            Collections.sort(values);
+
+            Map<String, Double> distribution = new LinkedHashMap<String, Double>();
+            distribution.put("min", values.get(0));
+            distribution.put("p50", percentile(values, 0.50));
+            distribution.put("p90", percentile(values, 0.90));
+            distribution.put("max", values.get(values.size() - 1));
+            distributions.put(phaseName, distribution);
+        }
+        return distributions;
+    }
+
+    private static JSONObject runInNewJvm(File filesDir) throws IOException, InterruptedException, JSONException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder processBuilder = new ProcessBuilder(java,
+                "-cp", System.getProperty("java.class.path"),
+                ColdStartBenchmark.class.getName(),
+                CHILD + filesDir.getAbsolutePath());
+        processBuilder.redirectErrorStream(true);
+        Process process = processBuilder.start();
+
+        // the report is the last line written by the child
+        String lastLine = null;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lastLine = line;
+            }
+        } finally {
+            reader.close();
+        }
+
+        int exitCode = process.waitFor();
+        if (exitCode != 0 || lastLine == null) {
+            throw new IllegalStateException("Cold start run failed with exit code " + exitCode + ": " + lastLine);
+        }
+        return new JSONObject(lastLine);
+    }
+
+    // starts the sdk once and writes the durations of the phases as the last line
+    private static void runChild(File filesDir) throws Exception {
+        MockAdjustServer server = new MockAdjustServer(0, 0, 0, 0);
+        server.start();
+        LocalTransport.install(server.getPort());
+
+        AdjustConfig config = new AdjustConfig(new JvmContext(filesDir), "123456789012", AdjustConfig.ENVIRONMENT_SANDBOX);
+        config.setLogLevel(LogLevel.ASSERT);
+
+        long onCreateStart = System.nanoTime();
+        Adjust.onCreate(config);
+        Adjust.onResume();
+        long onCreateNanos = System.nanoTime() - onCreateStart;
+
+        StartupReport startupReport = Adjust.getStartupReport();
+        long deadline = System.currentTimeMillis() + RUN_TIMEOUT;
+        while (!startupReport.hasFinished(StartupReport.Phase.FIRST_PACKAGE_SENT)
+                || !startupReport.hasFinished(StartupReport.Phase.READ_PACKAGE_QUEUE)) {
+            if (System.currentTimeMillis() > deadline) {
+                System.out.println("Timed out with " + startupReport);
+                System.exit(1);
+            }
+            Thread.sleep(1);
+        }
+
+        Map<String, Double> durations = new LinkedHashMap<String, Double>();
+        durations.put(ON_CREATE, onCreateNanos / 1000000.0);
+        for (Map.Entry<StartupReport.Phase, Long> entry : startupReport.getDurations().entrySet()) {
+            durations.put(entry.getKey().name().toLowerCase(Locale.US), entry.getValue() / 1000000.0);
+        }
+
+        System.out.println(JsonWriter.toJson(durations));
+        System.out.flush();
+
+        // the sdk and the mock server are left running, as an app would be after startup
+        System.exit(0);
+    }
+
+    private static double percentile(List<Double> sortedValues, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedValues.size()) - 1;
+        return sortedValues.get(Math.max(0, Math.min(index, sortedValues.size() - 1)));
+    }
+}
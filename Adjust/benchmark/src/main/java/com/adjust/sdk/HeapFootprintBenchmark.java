@@ -0,0 +1,107 @@
+package com.adjust.sdk;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the heap retained by a queue of event packages, as they are built and as they are read back from
+ * the package queue file, and compares it with the estimate of the SDK. The heap is measured after full collections,
+ * so it should run alone in its JVM, ideally with the serial collector.
+ *
+ * Usage: HeapFootprintBenchmark [packages...]
+ */
+public class HeapFootprintBenchmark {
+    private static final String PACKAGE_QUEUE_FILENAME = "AdjustIoPackageQueue";
+
+    private static final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = {100, 1000, 10000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        BenchmarkFixtures fixtures = new BenchmarkFixtures();
+
+        Map<String, Object> report = new LinkedHashMap<String, Object>();
+        report.put("sdk", Constants.CLIENT_SDK);
+        report.put("java", System.getProperty("java.version"));
+
+        // loads and compiles what the measured runs use, and builds the shared base parameters
+        measure(fixtures, sizes[0]);
+
+        Map<String, Object> results = new LinkedHashMap<String, Object>();
+        for (int size : sizes) {
+            results.put(Integer.toString(size), measure(fixtures, size));
+        }
+        report.put("packages", results);
+
+        fixtures.context.deleteFiles();
+
+        System.out.println(JsonWriter.toJson(report));
+    }
+
+    private static Map<String, Object> measure(BenchmarkFixtures fixtures, int size) throws Exception {
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+
+        // built by the package builder, with shared base parameters
+        long before = usedHeap();
+        List<ActivityPackage> builtQueue = fixtures.buildPackageQueue(size);
+        long builtBytes = usedHeap() - before;
+        result.put("built", representation(builtQueue, builtBytes));
+
+        Util.writeObject(builtQueue, fixtures.storage, PACKAGE_QUEUE_FILENAME, "Package queue");
+        result.put("file_bytes_per_package",
+                fixtures.context.getFileStreamPath(PACKAGE_QUEUE_FILENAME).length() / (double) size);
+        // only the read queue is measured next
+        builtQueue = null;
+
+        // read from the package queue file, with plain parameter maps
+        before = usedHeap();
+        List<ActivityPackage> readQueue = Util.readObject(fixtures.storage, PACKAGE_QUEUE_FILENAME,
+                "Package queue", (Class<List<ActivityPackage>>) ((Class) List.class));
+        long readBytes = usedHeap() - before;
+        result.put("read", representation(readQueue, readBytes));
+
+        return result;
+    }
+
+    private static Map<String, Object> representation(List<ActivityPackage> packageQueue, long measuredBytes) {
+        long estimatedBytes = 0;
+        for (ActivityPackage activityPackage : packageQueue) {
+            estimatedBytes += HeapFootprint.ofPackage(activityPackage);
+        }
+
+        Map<String, Object> representation = new LinkedHashMap<String, Object>();
+        representation.put("measured_bytes", measuredBytes);
+        representation.put("measured_bytes_per_package", measuredBytes / (double) packageQueue.size());
+        representation.put("estimated_bytes", estimatedBytes);
+        representation.put("estimated_bytes_per_package", estimatedBytes / (double) packageQueue.size());
+        return representation;
+    }
+
+    // after collecting until the used heap stops shrinking
+    private static long usedHeap() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long current = memory.getHeapMemoryUsage().getUsed();
+            if (current >= used) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
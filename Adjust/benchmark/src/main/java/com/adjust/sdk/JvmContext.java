@@ -0,0 +1,138 @@
+package com.adjust.sdk;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.pm.ResolveInfo;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Application context of a phone-like device, with its files in a temporary directory.
+ */
+public class JvmContext extends Context {
+    private final File filesDir;
+    private final Resources resources;
+    private final PackageManager packageManager;
+    private final ContentResolver contentResolver;
+
+    public JvmContext() {
+        this(createFilesDir());
+    }
+
+    // a context of an app that already ran, with the files in the directory
+    public JvmContext(File filesDir) {
+        this.filesDir = filesDir;
+
+        DisplayMetrics displayMetrics = new DisplayMetrics();
+        displayMetrics.densityDpi = DisplayMetrics.DENSITY_HIGH;
+        displayMetrics.widthPixels = 1080;
+        displayMetrics.heightPixels = 1920;
+
+        Configuration configuration = new Configuration();
+        configuration.locale = Locale.US;
+        configuration.screenLayout = Configuration.SCREENLAYOUT_SIZE_NORMAL | Configuration.SCREENLAYOUT_LONG_YES;
+
+        resources = new Resources(displayMetrics, configuration);
+
+        final PackageInfo packageInfo = new PackageInfo();
+        packageInfo.versionName = "1.0";
+        packageInfo.versionCode = 1;
+
+        packageManager = new PackageManager() {
+            @Override
+            public PackageInfo getPackageInfo(String packageName, int flags) {
+                return packageInfo;
+            }
+
+            @Override
+            public List<ResolveInfo> queryIntentActivities(Intent intent, int flags) {
+                return Collections.emptyList();
+            }
+        };
+
+        contentResolver = new ContentResolver();
+    }
+
+    private static File createFilesDir() {
+        File filesDir;
+        try {
+            filesDir = File.createTempFile("adjust", "files");
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create the files directory", e);
+        }
+        if (!filesDir.delete() || !filesDir.mkdir()) {
+            throw new IllegalStateException("Failed to create the files directory " + filesDir);
+        }
+        return filesDir;
+    }
+
+    // deletes the files written by the sdk
+    public void deleteFiles() {
+        File[] files = filesDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    @Override
+    public Context getApplicationContext() {
+        return this;
+    }
+
+    @Override
+    public Looper getMainLooper() {
+        return Looper.getMainLooper();
+    }
+
+    @Override
+    public String getPackageName() {
+        return "com.adjust.benchmark";
+    }
+
+    @Override
+    public PackageManager getPackageManager() {
+        return packageManager;
+    }
+
+    @Override
+    public Resources getResources() {
+        return resources;
+    }
+
+    @Override
+    public ContentResolver getContentResolver() {
+        return contentResolver;
+    }
+
+    @Override
+    public Object getSystemService(String name) {
+        return null;
+    }
+
+    @Override
+    public int checkCallingOrSelfPermission(String permission) {
+        return PackageManager.PERMISSION_GRANTED;
+    }
+
+    @Override
+    public void startActivity(Intent intent) {
+    }
+
+    @Override
+    public File getFilesDir() {
+        return filesDir;
+    }
+}
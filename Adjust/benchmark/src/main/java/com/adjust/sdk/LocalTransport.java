@@ -0,0 +1,138 @@
+package com.adjust.sdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.net.URLStreamHandlerFactory;
+import java.security.cert.Certificate;
+
+import javax.net.ssl.HttpsURLConnection;
+
+/**
+ * Sends the https requests of the sdk as plain http requests to a local port, with the same path and query.
+ * Can only be installed once per process.
+ */
+public class LocalTransport {
+    public static void install(final int port) {
+        URL.setURLStreamHandlerFactory(new URLStreamHandlerFactory() {
+            @Override
+            public URLStreamHandler createURLStreamHandler(String protocol) {
+                if (!"https".equals(protocol)) {
+                    return null;
+                }
+                return new URLStreamHandler() {
+                    @Override
+                    protected URLConnection openConnection(URL url) throws IOException {
+                        return openConnection(url, Proxy.NO_PROXY);
+                    }
+
+                    @Override
+                    protected URLConnection openConnection(URL url, Proxy proxy) throws IOException {
+                        String file = url.getFile();
+                        URL localUrl = new URL("http", "127.0.0.1", port, file.startsWith("/") ? file : "/" + file);
+                        return new LocalConnection(url, (HttpURLConnection) localUrl.openConnection(proxy));
+                    }
+                };
+            }
+        });
+    }
+
+    static class LocalConnection extends HttpsURLConnection {
+        private final HttpURLConnection connection;
+
+        LocalConnection(URL url, HttpURLConnection connection) {
+            super(url);
+            this.connection = connection;
+        }
+
+        @Override
+        public void setRequestMethod(String method) throws java.net.ProtocolException {
+            connection.setRequestMethod(method);
+        }
+
+        @Override
+        public void setRequestProperty(String key, String value) {
+            connection.setRequestProperty(key, value);
+        }
+
+        @Override
+        public void setConnectTimeout(int timeout) {
+            connection.setConnectTimeout(timeout);
+        }
+
+        @Override
+        public void setReadTimeout(int timeout) {
+            connection.setReadTimeout(timeout);
+        }
+
+        @Override
+        public void setUseCaches(boolean useCaches) {
+            connection.setUseCaches(useCaches);
+        }
+
+        @Override
+        public void setDoInput(boolean doInput) {
+            connection.setDoInput(doInput);
+        }
+
+        @Override
+        public void setDoOutput(boolean doOutput) {
+            connection.setDoOutput(doOutput);
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            return connection.getOutputStream();
+        }
+
+        @Override
+        public int getResponseCode() throws IOException {
+            return connection.getResponseCode();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return connection.getInputStream();
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return connection.getErrorStream();
+        }
+
+        @Override
+        public void connect() throws IOException {
+            connection.connect();
+        }
+
+        @Override
+        public void disconnect() {
+            connection.disconnect();
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        @Override
+        public String getCipherSuite() {
+            return null;
+        }
+
+        @Override
+        public Certificate[] getLocalCertificates() {
+            return null;
+        }
+
+        @Override
+        public Certificate[] getServerCertificates() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.adjust.sdk;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the adjust servers, with configurable latency, errors and throttling.
+ * Errors and throttled requests are answered without JSON, so the sdk retries them.
+ */
+public class MockAdjustServer {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final int maxRequestsPerSecond;
+
+    private final Random random = new Random();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    // requests answered in the current second, to throttle
+    private long throttleSecond;
+    private int throttleCount;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MockAdjustServer(long latencyMillis, long jitterMillis, double errorRate, int maxRequestsPerSecond) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    respond(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        bytesReceived.addAndGet(drain(exchange.getRequestBody()));
+
+        long delay = latencyMillis;
+        double errorRoll;
+        synchronized (random) {
+            if (jitterMillis > 0) {
+                delay += (long) (random.nextDouble() * jitterMillis);
+            }
+            errorRoll = random.nextDouble();
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        if (isThrottled()) {
+            throttled.incrementAndGet();
+            send(exchange, 429, "Too Many Requests");
+            return;
+        }
+
+        if (errorRoll < errorRate) {
+            errors.incrementAndGet();
+            send(exchange, 500, "Internal Server Error");
+            return;
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        if (path.startsWith("/attribution")) {
+            send(exchange, 200, "{\"message\":\"Attribution found\",\"adid\":\"mock-adid\","
+                    + "\"attribution\":{\"tracker_token\":\"abc123\",\"tracker_name\":\"Organic\",\"network\":\"Organic\"}}");
+        } else {
+            send(exchange, 200, "{\"message\":\"OK\",\"adid\":\"mock-adid\"}");
+        }
+    }
+
+    private synchronized boolean isThrottled() {
+        if (maxRequestsPerSecond <= 0) {
+            return false;
+        }
+        long second = System.nanoTime() / 1000000000L;
+        if (second != throttleSecond) {
+            throttleSecond = second;
+            throttleCount = 0;
+        }
+        throttleCount++;
+        return throttleCount > maxRequestsPerSecond;
+    }
+
+    private static long drain(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(UTF8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        OutputStream outputStream = exchange.getResponseBody();
+        outputStream.write(bytes);
+        outputStream.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.adjust.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PackageBuilderBenchmark {
+    private BenchmarkFixtures fixtures;
+    private AdjustEvent event;
+
+    @Setup
+    public void setUp() {
+        fixtures = new BenchmarkFixtures();
+        event = fixtures.createEvent();
+    }
+
+    @Benchmark
+    public ActivityPackage buildEventPackage() {
+        PackageBuilder builder = new PackageBuilder(fixtures.configuredDeviceInfo, fixtures.activityState,
+                System.currentTimeMillis());
+        return builder.buildEventPackage(event);
+    }
+
+    @Benchmark
+    public ActivityPackage buildSessionPackage() {
+        PackageBuilder builder = new PackageBuilder(fixtures.configuredDeviceInfo, fixtures.activityState,
+                System.currentTimeMillis());
+        return builder.buildSessionPackage();
+    }
+}
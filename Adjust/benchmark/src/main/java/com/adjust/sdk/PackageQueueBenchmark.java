@@ -0,0 +1,56 @@
+package com.adjust.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading the package queue file, as the package handler does after every change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PackageQueueBenchmark {
+    private static final String FILENAME = "AdjustIoPackageQueue";
+    private static final String NAME = "Package queue";
+
+    @Param({"10", "1000", "10000"})
+    public int queueSize;
+
+    private BenchmarkFixtures fixtures;
+    private List<ActivityPackage> packageQueue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixtures = new BenchmarkFixtures();
+        packageQueue = fixtures.buildPackageQueue(queueSize);
+        Util.writeObject(packageQueue, fixtures.storage, FILENAME, NAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixtures.context.deleteFiles();
+    }
+
+    @Benchmark
+    public List<ActivityPackage> writeQueue() {
+        Util.writeObject(packageQueue, fixtures.storage, FILENAME, NAME);
+        return packageQueue;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<ActivityPackage> readQueue() {
+        return Util.readObject(fixtures.storage, FILENAME, NAME, (Class<List<ActivityPackage>>) (Class) List.class);
+    }
+}
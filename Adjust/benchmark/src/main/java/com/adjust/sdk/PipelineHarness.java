@@ -0,0 +1,309 @@
+package com.adjust.sdk;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the activity, package and request handlers end to end against a local mock server and reports
+ * the ingest rate, the acknowledgement latency, the time to drain an offline backlog, threads and heap.
+ *
+ * Usage: PipelineHarness [--events=1000] [--backlog=5000] [--latency=20] [--jitter=10]
+ *                        [--error-rate=0] [--throttle=0] [--backoff=LONG_WAIT] [--timeout=300]
+ *                        [--record=traffic.bin] [--output=results.json]
+ */
+public class PipelineHarness {
+    private final Map<String, String> options;
+    private final Map<String, Object> report = new LinkedHashMap<String, Object>();
+
+    // by package id, from the package stage listener
+    private final ConcurrentMap<Long, Long> enqueuedAt = new ConcurrentHashMap<Long, Long>();
+    private final ConcurrentMap<Long, Long> persistedAt = new ConcurrentHashMap<Long, Long>();
+    private final ConcurrentMap<Long, Long> acknowledgedAt = new ConcurrentHashMap<Long, Long>();
+    private volatile CountDownLatch sessionAcknowledged = new CountDownLatch(1);
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private volatile long peakHeapBytes;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') == -1) {
+                System.err.println("Unknown argument " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        new PipelineHarness(options).run();
+    }
+
+    PipelineHarness(Map<String, String> options) {
+        this.options = options;
+    }
+
+    void run() throws Exception {
+        int events = intOption("events", 1000);
+        int backlog = intOption("backlog", 5000);
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(intOption("timeout", 300));
+
+        MockAdjustServer server = new MockAdjustServer(
+                intOption("latency", 20),
+                intOption("jitter", 10),
+                Double.parseDouble(option("error-rate", "0")),
+                intOption("throttle", 0));
+        server.start();
+        // retries of failed requests wait minutes with the backoff of the sdk
+        AdjustFactory.setPackageHandlerBackoffStrategy(BackoffStrategy.valueOf(option("backoff", "LONG_WAIT")));
+        LocalTransport.install(server.getPort());
+
+        report.put("sdk", Constants.CLIENT_SDK);
+        report.put("java", System.getProperty("java.version"));
+        report.put("options", new LinkedHashMap<String, String>(options));
+
+        int threadsBefore = threads.getThreadCount();
+        Thread heapSampler = startHeapSampler();
+
+        PackageTracer.setListener(new OnPackageStageListener() {
+            @Override
+            public void onPackageStage(PackageTracer.Stage stage, long packageId, ActivityKind activityKind, long timestampNanos) {
+                recordStage(stage, packageId, activityKind, timestampNanos);
+            }
+        });
+
+        String recording = options.get("record");
+        if (recording != null) {
+            Adjust.startTrafficRecording(new File(recording));
+        }
+
+        JvmContext context = new JvmContext();
+        startSdk(context, timeoutMillis);
+
+        measureIngest(events, timeoutMillis);
+        measureBacklogDrain(backlog, timeoutMillis);
+
+        Map<String, Object> resources = new LinkedHashMap<String, Object>();
+        resources.put("threads_started_by_sdk", threads.getThreadCount() - threadsBefore);
+        resources.put("peak_threads", threads.getPeakThreadCount());
+        resources.put("peak_heap_bytes", peakHeapBytes);
+        report.put("resources", resources);
+
+        Map<String, Object> serverReport = new LinkedHashMap<String, Object>();
+        serverReport.put("requests", server.getRequests());
+        serverReport.put("errors", server.getErrors());
+        serverReport.put("throttled", server.getThrottled());
+        serverReport.put("bytes_received", server.getBytesReceived());
+        report.put("server", serverReport);
+        report.put("metrics", Adjust.getMetricsSnapshot().counters);
+
+        Adjust.shutdown();
+        Adjust.stopTrafficRecording();
+        PackageTracer.setListener(null);
+        heapSampler.interrupt();
+        server.stop();
+        context.deleteFiles();
+
+        writeReport();
+    }
+
+    private void startSdk(JvmContext context, long timeoutMillis) throws InterruptedException {
+        AdjustConfig config = new AdjustConfig(context, "123456789012", AdjustConfig.ENVIRONMENT_SANDBOX);
+        config.setLogLevel(LogLevel.ASSERT);
+
+        long start = System.nanoTime();
+        Adjust.onCreate(config);
+        Adjust.onResume();
+
+        if (!sessionAcknowledged.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("The first session was not acknowledged in time");
+        }
+        report.put("first_session_ack_ms", millisSince(start));
+    }
+
+    // events tracked as fast as possible while online
+    private void measureIngest(int events, long timeoutMillis) {
+        int persistedBefore = persistedAt.size();
+        List<Long> ids = new ArrayList<Long>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            Adjust.trackEvent(createEvent(i));
+        }
+        long callerNanos = System.nanoTime() - start;
+
+        waitFor(persistedAt, persistedBefore + events, timeoutMillis);
+        long persistedNanos = System.nanoTime() - start;
+
+        int remaining = Adjust.flush(timeoutMillis);
+        long ackedNanos = System.nanoTime() - start;
+
+        for (Long id : enqueuedAt.keySet()) {
+            if (acknowledgedAt.containsKey(id)) {
+                ids.add(id);
+            }
+        }
+        long[] latencies = new long[ids.size()];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = acknowledgedAt.get(ids.get(i)) - enqueuedAt.get(ids.get(i));
+        }
+        Arrays.sort(latencies);
+
+        Map<String, Object> ingest = new LinkedHashMap<String, Object>();
+        ingest.put("events", events);
+        ingest.put("caller_events_per_second", perSecond(events, callerNanos));
+        ingest.put("caller_us_per_event", callerNanos / 1000.0 / events);
+        ingest.put("persisted_events_per_second", perSecond(events, persistedNanos));
+        ingest.put("acknowledged_events_per_second", perSecond(events, ackedNanos));
+        ingest.put("remaining_after_flush", remaining);
+        ingest.put("ack_latency_p50_ms", percentileMillis(latencies, 0.50));
+        ingest.put("ack_latency_p99_ms", percentileMillis(latencies, 0.99));
+        ingest.put("ack_latency_max_ms", percentileMillis(latencies, 1.0));
+        report.put("ingest", ingest);
+    }
+
+    // events tracked offline, then sent all at once
+    private void measureBacklogDrain(int backlog, long timeoutMillis) {
+        Adjust.setOfflineMode(true);
+
+        int persistedBefore = persistedAt.size();
+        for (int i = 0; i < backlog; i++) {
+            Adjust.trackEvent(createEvent(i));
+        }
+        waitFor(persistedAt, persistedBefore + backlog, timeoutMillis);
+
+        long start = System.nanoTime();
+        Adjust.setOfflineMode(false);
+        int remaining = Adjust.flush(timeoutMillis);
+        long drainNanos = System.nanoTime() - start;
+
+        Map<String, Object> drain = new LinkedHashMap<String, Object>();
+        drain.put("packages", backlog);
+        drain.put("drain_ms", drainNanos / 1000000.0);
+        drain.put("packages_per_second", perSecond(backlog - Math.max(remaining, 0), drainNanos));
+        drain.put("remaining_after_flush", remaining);
+        report.put("backlog", drain);
+    }
+
+    private void recordStage(PackageTracer.Stage stage, long packageId, ActivityKind activityKind, long timestampNanos) {
+        switch (stage) {
+            case ENQUEUE:
+                enqueuedAt.put(packageId, timestampNanos);
+                break;
+            case PERSIST:
+                if (activityKind == ActivityKind.EVENT) {
+                    persistedAt.put(packageId, timestampNanos);
+                }
+                break;
+            case PARSE:
+                // the last answer of a package is the one that removed it from the queue
+                acknowledgedAt.put(packageId, timestampNanos);
+                if (activityKind == ActivityKind.SESSION) {
+                    sessionAcknowledged.countDown();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private AdjustEvent createEvent(int index) {
+        AdjustEvent event = new AdjustEvent("abc123");
+        event.addCallbackParameter("index", Integer.toString(index));
+        return event;
+    }
+
+    private Thread startHeapSampler() {
+        Thread sampler = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long used = memory.getHeapMemoryUsage().getUsed();
+                    if (used > peakHeapBytes) {
+                        peakHeapBytes = used;
+                    }
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "heap sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+        return sampler;
+    }
+
+    private void writeReport() throws IOException {
+        String json = JsonWriter.toJson(report);
+        System.out.println(json);
+
+        String output = options.get("output");
+        if (output != null) {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(output), Charset.forName("UTF-8"));
+            try {
+                writer.write(json);
+                writer.write('\n');
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    private static void waitFor(Map<?, ?> map, int size, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (map.size() < size) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Timed out with " + map.size() + " of " + size + " packages");
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return nanos == 0 ? 0 : count * 1e9 / nanos;
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1000000.0;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1000000.0;
+    }
+
+    private String option(String name, String defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(option(name, Integer.toString(defaultValue)));
+    }
+}
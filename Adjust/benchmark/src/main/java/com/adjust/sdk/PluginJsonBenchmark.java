@@ -0,0 +1,81 @@
+package com.adjust.sdk;
+
+import com.adjust.sdk.plugin.AdjustCriteo;
+import com.adjust.sdk.plugin.AdjustSociomantic;
+import com.adjust.sdk.plugin.AdjustTrademob;
+import com.adjust.sdk.plugin.CriteoProduct;
+import com.adjust.sdk.plugin.TrademobItem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON written by the plugins into the partner parameters of a new event, for a cart of ten products.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PluginJsonBenchmark {
+    private static final int PRODUCTS = 10;
+
+    private List<CriteoProduct> criteoProducts;
+    private List<TrademobItem> trademobItems;
+    private Map<String, String> trademobMetadata;
+    private List<Map<String, Object>> sociomanticProducts;
+
+    @Setup
+    public void setUp() {
+        criteoProducts = new ArrayList<CriteoProduct>();
+        trademobItems = new ArrayList<TrademobItem>();
+        sociomanticProducts = new ArrayList<Map<String, Object>>();
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            criteoProducts.add(new CriteoProduct(9.99f + i, i + 1, "product" + i));
+            trademobItems.add(new TrademobItem("item" + i, i + 1, 9.99f + i));
+
+            Map<String, Object> product = new HashMap<String, Object>();
+            product.put(AdjustSociomantic.SCMProductID, "product" + i);
+            product.put(AdjustSociomantic.SCMAmount, 9.99 + i);
+            product.put(AdjustSociomantic.SCMCurrency, "EUR");
+            product.put(AdjustSociomantic.SCMQuantity, i + 1);
+            sociomanticProducts.add(product);
+        }
+
+        trademobMetadata = new LinkedHashMap<String, String>();
+        trademobMetadata.put("category", "weapons");
+        trademobMetadata.put("campaign", "summer \"sale\"");
+    }
+
+    @Benchmark
+    public AdjustEvent criteoCart() {
+        AdjustEvent event = new AdjustEvent("abc123");
+        AdjustCriteo.injectCartIntoEvent(event, criteoProducts, "customer1");
+        return event;
+    }
+
+    @Benchmark
+    public AdjustEvent trademobBasket() {
+        AdjustEvent event = new AdjustEvent("abc123");
+        AdjustTrademob.injectAddToBasketIntoEvent(event, trademobItems, trademobMetadata);
+        return event;
+    }
+
+    @Benchmark
+    public AdjustEvent sociomanticCart() {
+        AdjustEvent event = new AdjustEvent("abc123");
+        AdjustSociomantic.injectCartIntoEvent(event, sociomanticProducts);
+        return event;
+    }
+}
@@ -0,0 +1,299 @@
+package com.adjust.sdk;
+
+import android.net.Uri;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays a traffic recording through the package and request handlers against the local mock server, with the
+ * time between the packages divided by the compression: 1440 replays a day of traffic in a minute. The clock of
+ * the SDK runs compressed as well, so the sent_at of the packages spans the recorded time. The created_at of the
+ * packages is sent as it was recorded.
+ *
+ * Recordings come from Adjust.startTrafficRecording in an app, or from PipelineHarness --record.
+ *
+ * Usage: TrafficReplay --recording=traffic.bin [--compression=1440] [--latency=20] [--jitter=10]
+ *                      [--error-rate=0] [--throttle=0] [--backoff=TEST_WAIT] [--timeout=300]
+ *                      [--output=results.json]
+ */
+public class TrafficReplay {
+    private final List<TrafficRecorder.Entry> entries;
+    private final double compression;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger responses = new AtomicInteger();
+    private final AtomicInteger retries = new AtomicInteger();
+
+    /**
+     * The recorded wall clock, running compression times faster from the first recorded package.
+     */
+    static class CompressedClock implements IClock {
+        private final long recordedStart;
+        private final double compression;
+        private final long startNanos;
+        private final IClock systemClock = CoreFactory.getClock();
+
+        CompressedClock(long recordedStart, double compression) {
+            this.recordedStart = recordedStart;
+            this.compression = compression;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return recordedStart + (long) ((System.nanoTime() - startNanos) / 1000000.0 * compression);
+        }
+
+        // the backoff and the retry budget wait in real time
+        @Override
+        public long elapsedRealtime() {
+            return systemClock.elapsedRealtime();
+        }
+
+        @Override
+        public long threadCpuTimeNanos() {
+            return systemClock.threadCpuTimeNanos();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') == -1) {
+                System.err.println("Unknown argument " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        if (!options.containsKey("recording")) {
+            System.err.println("Missing --recording");
+            System.exit(2);
+        }
+
+        List<TrafficRecorder.Entry> entries = TrafficRecorder.read(new File(options.get("recording")));
+        if (entries.isEmpty()) {
+            System.err.println("The recording has no packages");
+            System.exit(2);
+        }
+
+        MockAdjustServer server = new MockAdjustServer(
+                intOption(options, "latency", 20),
+                intOption(options, "jitter", 10),
+                Double.parseDouble(option(options, "error-rate", "0")),
+                intOption(options, "throttle", 0));
+        server.start();
+        // a compressed day has no room for retries that wait minutes
+        AdjustFactory.setPackageHandlerBackoffStrategy(BackoffStrategy.valueOf(option(options, "backoff", "TEST_WAIT")));
+        AdjustFactory.getLogger().setLogLevel(LogLevel.ASSERT);
+        LocalTransport.install(server.getPort());
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        TrafficReplay replay = new TrafficReplay(entries,
+                Double.parseDouble(option(options, "compression", "1440")),
+                scheduler);
+
+        Map<String, Object> report = new LinkedHashMap<String, Object>();
+        report.put("sdk", Constants.CLIENT_SDK);
+        report.put("java", System.getProperty("java.version"));
+        report.put("options", new LinkedHashMap<String, String>(options));
+        report.put("replay", replay.run(TimeUnit.SECONDS.toMillis(intOption(options, "timeout", 300))));
+
+        Map<String, Object> serverReport = new LinkedHashMap<String, Object>();
+        serverReport.put("requests", server.getRequests());
+        serverReport.put("errors", server.getErrors());
+        serverReport.put("throttled", server.getThrottled());
+        serverReport.put("bytes_received", server.getBytesReceived());
+        report.put("server", serverReport);
+
+        scheduler.shutdownNow();
+        server.stop();
+
+        writeReport(JsonWriter.toJson(report), options.get("output"));
+    }
+
+    TrafficReplay(List<TrafficRecorder.Entry> entries, double compression, ScheduledExecutorService scheduler) {
+        this.entries = entries;
+        this.compression = compression;
+        this.scheduler = scheduler;
+    }
+
+    Map<String, Object> run(long timeoutMillis) throws InterruptedException {
+        // the sdk click handler sends besides the package handler, so the recording is not strictly in order
+        long recordedStart = Long.MAX_VALUE;
+        long recordedEnd = Long.MIN_VALUE;
+        for (TrafficRecorder.Entry entry : entries) {
+            recordedStart = Math.min(recordedStart, entry.sentAt);
+            recordedEnd = Math.max(recordedEnd, entry.sentAt);
+        }
+        AdjustFactory.setClock(new CompressedClock(recordedStart, compression));
+
+        JvmContext context = new JvmContext();
+        final PackageHandler packageHandler = new PackageHandler(new ReplayActivityHandler(), context, true);
+
+        final CountDownLatch added = new CountDownLatch(entries.size());
+        long start = System.nanoTime();
+        long lastDelayNanos = 0;
+        for (final TrafficRecorder.Entry entry : entries) {
+            long delayNanos = (long) ((entry.sentAt - recordedStart) * 1000000.0 / compression);
+            lastDelayNanos = Math.max(lastDelayNanos, delayNanos);
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    packageHandler.addPackage(entry.activityPackage);
+                    packageHandler.sendFirstPackage();
+                    added.countDown();
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        // the packages still in the queue after the last one was added are sent by the flush
+        if (!added.await(TimeUnit.NANOSECONDS.toMillis(lastDelayNanos) + timeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("The scheduler fell behind the recording");
+        }
+        int remaining = packageHandler.flush(timeoutMillis);
+        long replayNanos = System.nanoTime() - start;
+
+        packageHandler.teardown();
+        AdjustFactory.setClock(null);
+        context.deleteFiles();
+
+        Map<String, Object> replay = new LinkedHashMap<String, Object>();
+        replay.put("packages", entries.size());
+        replay.put("recorded_span_ms", recordedEnd - recordedStart);
+        replay.put("replay_ms", replayNanos / 1000000.0);
+        replay.put("compression", compression);
+        replay.put("achieved_compression", replayNanos == 0 ? 0 : (recordedEnd - recordedStart) * 1e6 / replayNanos);
+        replay.put("responses", responses.get());
+        replay.put("retries", retries.get());
+        replay.put("remaining_after_flush", remaining);
+        replay.put("packages_per_second", replayNanos == 0 ? 0 : (entries.size() - Math.max(remaining, 0)) * 1e9 / replayNanos);
+        return replay;
+    }
+
+    private static void writeReport(String json, String output) throws IOException {
+        System.out.println(json);
+
+        if (output != null) {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(output), Charset.forName("UTF-8"));
+            try {
+                writer.write(json);
+                writer.write('\n');
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return Integer.parseInt(option(options, name, Integer.toString(defaultValue)));
+    }
+
+    // the package handler only reports the answers of the server back
+    private class ReplayActivityHandler implements IActivityHandler {
+        private final StartupReport startupReport = new StartupReport();
+
+        @Override
+        public void finishedTrackingActivity(ResponseData responseData) {
+            if (responseData.willRetry) {
+                retries.incrementAndGet();
+            } else {
+                responses.incrementAndGet();
+            }
+        }
+
+        @Override
+        public StartupReport getStartupReport() {
+            return startupReport;
+        }
+
+        @Override
+        public void init(AdjustConfig config) {}
+
+        @Override
+        public void onResume() {}
+
+        @Override
+        public void onPause() {}
+
+        @Override
+        public void trackEvent(AdjustEvent event) {}
+
+        @Override
+        public void setEnabled(boolean enabled) {}
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void readOpenUrl(Uri url, long clickTime) {}
+
+        @Override
+        public boolean updateAttribution(AdjustAttribution attribution) {
+            return false;
+        }
+
+        @Override
+        public void launchEventResponseTasks(EventResponseData eventResponseData) {}
+
+        @Override
+        public void launchSessionResponseTasks(SessionResponseData sessionResponseData) {}
+
+        @Override
+        public void launchAttributionResponseTasks(AttributionResponseData attributionResponseData) {}
+
+        @Override
+        public void sendReferrer(String referrer, long clickTime) {}
+
+        @Override
+        public void addSessionCallbackParameter(String key, String value) {}
+
+        @Override
+        public void addSessionPartnerParameter(String key, String value) {}
+
+        @Override
+        public void removeSessionCallbackParameter(String key) {}
+
+        @Override
+        public void removeSessionPartnerParameter(String key) {}
+
+        @Override
+        public void resetSessionCallbackParameters() {}
+
+        @Override
+        public void resetSessionPartnerParameters() {}
+
+        @Override
+        public void setOfflineMode(boolean enabled) {}
+
+        @Override
+        public void setAskingAttribution(boolean askingAttribution) {}
+
+        @Override
+        public int flush(long timeoutMilliseconds) {
+            return 0;
+        }
+
+        @Override
+        public void teardown() {}
+    }
+}
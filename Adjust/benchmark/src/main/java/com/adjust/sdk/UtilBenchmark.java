@@ -0,0 +1,108 @@
+package com.adjust.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.cert.Certificate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.HttpsURLConnection;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UtilBenchmark {
+    private static final byte[] EVENT_RESPONSE = ("{\"message\":\"Event tracked\",\"timestamp\":\"2016-08-02T12:00:00.000Z+0200\","
+            + "\"adid\":\"b3c4f8e5a6d7c8b9a0f1e2d3c4b5a6f7\"}").getBytes(Charset.forName("UTF-8"));
+
+    private Map<String, String> body;
+    private ActivityPackage eventPackage;
+    private long now;
+
+    // answers every request with the same response, without a network
+    static class ResponseConnection extends HttpsURLConnection {
+        private final byte[] response;
+
+        ResponseConnection(byte[] response) throws Exception {
+            super(new URL("https://app.adjust.com/event"));
+            this.response = response;
+        }
+
+        @Override
+        public int getResponseCode() {
+            return HTTP_OK;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(response);
+        }
+
+        @Override
+        public String getCipherSuite() {
+            return null;
+        }
+
+        @Override
+        public Certificate[] getLocalCertificates() {
+            return null;
+        }
+
+        @Override
+        public Certificate[] getServerCertificates() {
+            return null;
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        @Override
+        public void connect() {
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures();
+        eventPackage = fixtures.buildEventPackage(System.currentTimeMillis());
+        body = eventPackage.getBodyParameters();
+        now = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public String getPostDataString() throws UnsupportedEncodingException {
+        return Util.getPostDataString(body, 3);
+    }
+
+    @Benchmark
+    public String dateFormat() {
+        return Util.dateFormat(now);
+    }
+
+    @Benchmark
+    public long getWaitingTime() {
+        return Util.getWaitingTime(5, BackoffStrategy.LONG_WAIT);
+    }
+
+    @Benchmark
+    public ResponseData readHttpResponse() throws Exception {
+        return Util.readHttpResponse(new ResponseConnection(EVENT_RESPONSE), eventPackage);
+    }
+}
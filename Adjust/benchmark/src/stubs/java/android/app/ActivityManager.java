@@ -0,0 +1,14 @@
+package android.app;
+
+import java.util.List;
+
+public class ActivityManager {
+    public static class RunningAppProcessInfo {
+        public int pid;
+        public String processName;
+    }
+
+    public List<RunningAppProcessInfo> getRunningAppProcesses() {
+        return null;
+    }
+}
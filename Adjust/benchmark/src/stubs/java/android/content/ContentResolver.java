@@ -0,0 +1,11 @@
+package android.content;
+
+import android.database.Cursor;
+import android.net.Uri;
+
+public class ContentResolver {
+    // there are no content providers on the jvm
+    public final Cursor query(Uri uri, String[] projection, String selection, String[] selectionArgs, String sortOrder) {
+        return null;
+    }
+}
@@ -0,0 +1,52 @@
+package android.content;
+
+import android.content.pm.PackageManager;
+import android.content.res.Resources;
+import android.os.Looper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+
+public abstract class Context {
+    public static final int MODE_PRIVATE = 0;
+    public static final String ACTIVITY_SERVICE = "activity";
+    public static final String WIFI_SERVICE = "wifi";
+
+    public abstract Context getApplicationContext();
+
+    public abstract Looper getMainLooper();
+
+    public abstract String getPackageName();
+
+    public abstract PackageManager getPackageManager();
+
+    public abstract Resources getResources();
+
+    public abstract ContentResolver getContentResolver();
+
+    public abstract Object getSystemService(String name);
+
+    public abstract int checkCallingOrSelfPermission(String permission);
+
+    public abstract void startActivity(Intent intent);
+
+    public abstract File getFilesDir();
+
+    public File getFileStreamPath(String name) {
+        return new File(getFilesDir(), name);
+    }
+
+    public FileInputStream openFileInput(String name) throws FileNotFoundException {
+        return new FileInputStream(getFileStreamPath(name));
+    }
+
+    public FileOutputStream openFileOutput(String name, int mode) throws FileNotFoundException {
+        return new FileOutputStream(getFileStreamPath(name));
+    }
+
+    public boolean deleteFile(String name) {
+        return getFileStreamPath(name).delete();
+    }
+}
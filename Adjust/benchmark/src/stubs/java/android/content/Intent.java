@@ -0,0 +1,26 @@
+package android.content;
+
+import android.net.Uri;
+
+public class Intent {
+    public static final String ACTION_VIEW = "android.intent.action.VIEW";
+    public static final int FLAG_ACTIVITY_NEW_TASK = 0x10000000;
+
+    public Intent(String action, Uri uri) {
+    }
+
+    public Intent(String action, Uri uri, Context packageContext, Class<?> cls) {
+    }
+
+    public Intent setFlags(int flags) {
+        return this;
+    }
+
+    public Intent setPackage(String packageName) {
+        return this;
+    }
+
+    public String getStringExtra(String name) {
+        return null;
+    }
+}
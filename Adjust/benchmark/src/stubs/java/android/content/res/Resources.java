@@ -0,0 +1,21 @@
+package android.content.res;
+
+import android.util.DisplayMetrics;
+
+public class Resources {
+    private final DisplayMetrics metrics;
+    private final Configuration configuration;
+
+    public Resources(DisplayMetrics metrics, Configuration configuration) {
+        this.metrics = metrics;
+        this.configuration = configuration;
+    }
+
+    public DisplayMetrics getDisplayMetrics() {
+        return metrics;
+    }
+
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+}
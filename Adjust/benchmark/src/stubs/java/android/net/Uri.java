@@ -0,0 +1,94 @@
+package android.net;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+public class Uri {
+    private final String uriString;
+
+    private Uri(String uriString) {
+        this.uriString = uriString;
+    }
+
+    public static Uri parse(String uriString) {
+        return new Uri(uriString);
+    }
+
+    public String getEncodedQuery() {
+        int queryStart = uriString.indexOf('?');
+        if (queryStart == -1) {
+            return null;
+        }
+        int fragmentStart = uriString.indexOf('#', queryStart);
+        return fragmentStart == -1
+                ? uriString.substring(queryStart + 1)
+                : uriString.substring(queryStart + 1, fragmentStart);
+    }
+
+    public String getQuery() {
+        String encodedQuery = getEncodedQuery();
+        if (encodedQuery == null) {
+            return null;
+        }
+        try {
+            return java.net.URLDecoder.decode(encodedQuery, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return uriString;
+    }
+
+    public static final class Builder {
+        private String scheme;
+        private String authority;
+        private final StringBuilder path = new StringBuilder();
+        private final StringBuilder query = new StringBuilder();
+
+        public Builder scheme(String scheme) {
+            this.scheme = scheme;
+            return this;
+        }
+
+        public Builder authority(String authority) {
+            this.authority = authority;
+            return this;
+        }
+
+        public Builder appendPath(String segment) {
+            path.append('/').append(encode(segment));
+            return this;
+        }
+
+        public Builder appendQueryParameter(String key, String value) {
+            query.append(query.length() == 0 ? "" : "&").append(encode(key)).append('=').append(encode(value));
+            return this;
+        }
+
+        public Uri build() {
+            StringBuilder uri = new StringBuilder();
+            if (scheme != null) {
+                uri.append(scheme).append(':');
+            }
+            if (authority != null) {
+                uri.append("//").append(authority);
+            }
+            uri.append(path);
+            if (query.length() > 0) {
+                uri.append('?').append(query);
+            }
+            return new Uri(uri.toString());
+        }
+
+        private static String encode(String value) {
+            try {
+                return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+            } catch (UnsupportedEncodingException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package android.net.wifi;
+
+public class WifiInfo {
+    public String getMacAddress() {
+        return null;
+    }
+}
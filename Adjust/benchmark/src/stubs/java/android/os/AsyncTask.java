@@ -0,0 +1,21 @@
+package android.os;
+
+/**
+ * Runs the background work on a new thread and the result on the same thread.
+ */
+public abstract class AsyncTask<Params, Progress, Result> {
+    protected abstract Result doInBackground(Params... params);
+
+    protected void onPostExecute(Result result) {
+    }
+
+    public final AsyncTask<Params, Progress, Result> execute(final Params... params) {
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                onPostExecute(doInBackground(params));
+            }
+        }).start();
+        return this;
+    }
+}
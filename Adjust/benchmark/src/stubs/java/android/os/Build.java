@@ -0,0 +1,13 @@
+package android.os;
+
+public class Build {
+    public static final String MODEL = System.getProperty("os.name");
+    public static final String MANUFACTURER = System.getProperty("java.vendor");
+    public static final String DISPLAY = System.getProperty("java.vm.name");
+    public static final String FINGERPRINT = System.getProperty("java.vm.version");
+
+    public static class VERSION {
+        public static final String RELEASE = System.getProperty("os.version");
+        public static final int SDK_INT = 24;
+    }
+}
@@ -0,0 +1,12 @@
+package android.os;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public final class Debug {
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    public static long threadCpuTimeNanos() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+    }
+}
@@ -0,0 +1,41 @@
+package android.os;
+
+public class Handler {
+    private final Looper looper;
+
+    public Handler() {
+        this(Looper.myLooper());
+    }
+
+    public Handler(Looper looper) {
+        if (looper == null) {
+            throw new RuntimeException("Can't create handler inside thread that has not called Looper.prepare()");
+        }
+        this.looper = looper;
+    }
+
+    public final Looper getLooper() {
+        return looper;
+    }
+
+    public final boolean post(Runnable runnable) {
+        return looper.enqueue(this, runnable, SystemClock.uptimeMillis());
+    }
+
+    public final boolean postDelayed(Runnable runnable, long delayMillis) {
+        return looper.enqueue(this, runnable, SystemClock.uptimeMillis() + Math.max(0, delayMillis));
+    }
+
+    public final boolean postAtFrontOfQueue(Runnable runnable) {
+        return looper.enqueueAtFront(this, runnable);
+    }
+
+    public final void removeCallbacks(Runnable runnable) {
+        looper.remove(this, runnable);
+    }
+
+    // only removing everything with a null token is supported
+    public final void removeCallbacksAndMessages(Object token) {
+        looper.remove(this, null);
+    }
+}
@@ -0,0 +1,125 @@
+package android.os;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the callbacks posted by handlers, in the order of their due time, on the thread of the looper.
+ */
+public final class Looper {
+    private static final ThreadLocal<Looper> looper = new ThreadLocal<Looper>();
+    private static Looper mainLooper;
+
+    private final DelayQueue<Callback> queue = new DelayQueue<Callback>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean quitting;
+
+    static final class Callback implements Delayed {
+        final Handler handler;
+        final Runnable runnable;
+        final long dueTime;
+        final long order;
+
+        Callback(Handler handler, Runnable runnable, long dueTime, long order) {
+            this.handler = handler;
+            this.runnable = runnable;
+            this.dueTime = dueTime;
+            this.order = order;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueTime - SystemClock.uptimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            Callback otherCallback = (Callback) other;
+            if (dueTime != otherCallback.dueTime) {
+                return dueTime < otherCallback.dueTime ? -1 : 1;
+            }
+            return order < otherCallback.order ? -1 : (order == otherCallback.order ? 0 : 1);
+        }
+    }
+
+    private Looper() {
+        thread = Thread.currentThread();
+    }
+
+    public static void prepare() {
+        if (looper.get() != null) {
+            throw new RuntimeException("Only one Looper may be created per thread");
+        }
+        looper.set(new Looper());
+    }
+
+    public static Looper myLooper() {
+        return looper.get();
+    }
+
+    public static synchronized Looper getMainLooper() {
+        if (mainLooper == null) {
+            HandlerThread mainThread = new HandlerThread("main");
+            mainThread.setDaemon(true);
+            mainThread.start();
+            mainLooper = mainThread.getLooper();
+        }
+        return mainLooper;
+    }
+
+    public static void loop() {
+        Looper me = myLooper();
+        if (me == null) {
+            throw new RuntimeException("No Looper; Looper.prepare() wasn't called on this thread.");
+        }
+        while (!me.quitting) {
+            Callback callback;
+            try {
+                callback = me.queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (callback != null) {
+                callback.runnable.run();
+            }
+        }
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    public void quit() {
+        quitting = true;
+        queue.clear();
+    }
+
+    public void quitSafely() {
+        quitting = true;
+    }
+
+    boolean enqueue(Handler handler, Runnable runnable, long dueTime) {
+        if (quitting) {
+            return false;
+        }
+        return queue.add(new Callback(handler, runnable, dueTime, sequence.incrementAndGet()));
+    }
+
+    boolean enqueueAtFront(Handler handler, Runnable runnable) {
+        if (quitting) {
+            return false;
+        }
+        return queue.add(new Callback(handler, runnable, 0, -sequence.incrementAndGet()));
+    }
+
+    void remove(Handler handler, Runnable runnable) {
+        for (Callback callback : queue) {
+            if (callback.handler == handler && (runnable == null || callback.runnable == runnable)) {
+                queue.remove(callback);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package android.os;
+
+public final class SystemClock {
+    private static final long START = System.nanoTime();
+
+    public static long elapsedRealtime() {
+        return (System.nanoTime() - START) / 1000000L;
+    }
+
+    public static long uptimeMillis() {
+        return elapsedRealtime();
+    }
+
+    // like on android, interrupts don't end the sleep
+    public static void sleep(long ms) {
+        long end = elapsedRealtime() + ms;
+        boolean interrupted = false;
+        long remaining;
+        while ((remaining = end - elapsedRealtime()) > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
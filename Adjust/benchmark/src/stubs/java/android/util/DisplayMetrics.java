@@ -0,0 +1,11 @@
+package android.util;
+
+public class DisplayMetrics {
+    public static final int DENSITY_LOW = 120;
+    public static final int DENSITY_MEDIUM = 160;
+    public static final int DENSITY_HIGH = 240;
+
+    public int densityDpi;
+    public int widthPixels;
+    public int heightPixels;
+}
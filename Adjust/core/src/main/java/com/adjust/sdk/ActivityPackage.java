@@ -22,20 +22,24 @@ import java.util.TreeMap;
 public class ActivityPackage implements Serializable {
     private static final long serialVersionUID = -35935556512024097L;
 
+    @SuppressWarnings("unchecked")
     private static final ObjectStreamField[] serialPersistentFields = {
             new ObjectStreamField("path", String.class),
             new ObjectStreamField("clientSdk", String.class),
             new ObjectStreamField("parameters", (Class<Map<String,String>>)((Class)Map.class)),
             new ObjectStreamField("activityKind", ActivityKind.class),
-            new ObjectStreamField("suffix", String.class)
+            new ObjectStreamField("suffix", String.class),
+            new ObjectStreamField("sessionParameters", SessionParameters.class)
     };
 
     private transient int hashCode;
+    private transient long packageId;
 
     // data
     private String path;
     private String clientSdk;
     private Map<String, String> parameters;
+    private SessionParameters sessionParameters; // shared, merged when sent
 
     // logs
     private ActivityKind activityKind = ActivityKind.UNKNOWN;
@@ -67,6 +71,22 @@ public class ActivityPackage implements Serializable {
         this.parameters = parameters;
     }
 
+    public SessionParameters getSessionParameters() {
+        return sessionParameters;
+    }
+
+    public void setSessionParameters(SessionParameters sessionParameters) {
+        this.sessionParameters = sessionParameters;
+    }
+
+    // the parameters of the request, with the session parameters
+    public Map<String, String> getBodyParameters() {
+        if (sessionParameters == null || parameters == null) {
+            return parameters;
+        }
+        return sessionParameters.mergeInto(parameters);
+    }
+
     public ActivityKind getActivityKind() {
         return activityKind;
     }
@@ -79,6 +99,14 @@ public class ActivityPackage implements Serializable {
         this.suffix = suffix;
     }
 
+    public long getPackageId() {
+        return packageId;
+    }
+
+    void setPackageId(long packageId) {
+        this.packageId = packageId;
+    }
+
     public int getRetries() {
         return retries;
     }
@@ -89,6 +117,7 @@ public class ActivityPackage implements Serializable {
 
     public ActivityPackage(ActivityKind activityKind) {
         this.activityKind = activityKind;
+        this.packageId = PackageTracer.nextPackageId();
     }
 
     public String toString() {
@@ -126,6 +155,8 @@ public class ActivityPackage implements Serializable {
         parameters = Util.readObjectField(fields, "parameters", null);
         activityKind = Util.readObjectField(fields, "activityKind", ActivityKind.UNKNOWN);
         suffix = Util.readStringField(fields, "suffix", null);
+        sessionParameters = Util.readObjectField(fields, "sessionParameters", null);
+        packageId = PackageTracer.nextPackageId();
     }
 
     @Override
@@ -52,7 +52,7 @@ public class ActivityState implements Serializable, Cloneable {
     protected long lastInterval;
 
     protected ActivityState() {
-        logger = AdjustFactory.getLogger();
+        logger = CoreFactory.getLogger();
         // create UUID for new devices
         uuid = Util.createUuid();
         enabled = true;
@@ -0,0 +1,178 @@
+package com.adjust.sdk;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Created by pfms on 05/11/14.
+ */
+public class AdjustEvent {
+    String eventToken;
+    Double revenue;
+    String currency;
+    Map<String, String> callbackParameters;
+    Map<String, String> partnerParameters;
+
+    // parameters shared with the template, while not modified by this event
+    private AdjustEventTemplate.EncodedParameters templateCallbackParameters;
+    private AdjustEventTemplate.EncodedParameters templatePartnerParameters;
+
+
+    public AdjustEvent(String eventToken) {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("AdjustEvent");
+        try {
+            if (checkEventToken(eventToken, CoreFactory.getLogger())) {
+                this.eventToken = eventToken;
+            }
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    AdjustEvent(AdjustEventTemplate template,
+                AdjustEventTemplate.EncodedParameters callbackParameters,
+                AdjustEventTemplate.EncodedParameters partnerParameters) {
+        this.eventToken = template.eventToken;
+
+        if (callbackParameters != null) {
+            this.templateCallbackParameters = callbackParameters;
+            this.callbackParameters = callbackParameters.parameters;
+        }
+
+        if (partnerParameters != null) {
+            this.templatePartnerParameters = partnerParameters;
+            this.partnerParameters = partnerParameters.parameters;
+        }
+    }
+
+    public void setRevenue(double revenue, String currency) {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("AdjustEvent.setRevenue");
+        try {
+            if (checkRevenue(revenue, currency)) {
+                this.revenue = revenue;
+                this.currency = currency;
+            }
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    public void addCallbackParameter(String key, String value) {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("AdjustEvent.addCallbackParameter");
+        try {
+            addCallbackParameterInternal(key, value);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    private void addCallbackParameterInternal(String key, String value) {
+        if (!isValidParameter(key, "key", "Callback", CoreFactory.getLogger())) return;
+        if (!isValidParameter(value, "value", "Callback", CoreFactory.getLogger())) return;
+
+        if (callbackParameters == null) {
+            callbackParameters = new LinkedHashMap<String, String>();
+        } else if (getCallbackParametersJson() != null) {
+            callbackParameters = new LinkedHashMap<String, String>(callbackParameters);
+        }
+
+        String previousValue = callbackParameters.put(key, value);
+
+        if (previousValue != null) {
+            CoreFactory.getLogger().warn("key %s was overwritten", key);
+        }
+    }
+
+    public void addPartnerParameter(String key, String value) {
+        OverheadMonitor.Measurement measurement = OverheadMonitor.start("AdjustEvent.addPartnerParameter");
+        try {
+            addPartnerParameterInternal(key, value);
+        } finally {
+            OverheadMonitor.finish(measurement);
+        }
+    }
+
+    private void addPartnerParameterInternal(String key, String value) {
+        if (!isValidParameter(key, "key", "Partner", CoreFactory.getLogger())) return;
+        if (!isValidParameter(value, "value", "Partner", CoreFactory.getLogger())) return;
+
+        if (partnerParameters == null) {
+            partnerParameters = new LinkedHashMap<String, String>();
+        } else if (getPartnerParametersJson() != null) {
+            partnerParameters = new LinkedHashMap<String, String>(partnerParameters);
+        }
+
+        String previousValue = partnerParameters.put(key, value);
+
+        if (previousValue != null) {
+            CoreFactory.getLogger().warn("key %s was overwritten", key);
+        }
+    }
+
+    public boolean isValid() {
+        return eventToken != null;
+    }
+
+    // json encoded by the template, null once the parameters differ from it
+    String getCallbackParametersJson() {
+        if (templateCallbackParameters == null || callbackParameters != templateCallbackParameters.parameters) {
+            return null;
+        }
+        return templateCallbackParameters.json;
+    }
+
+    String getPartnerParametersJson() {
+        if (templatePartnerParameters == null || partnerParameters != templatePartnerParameters.parameters) {
+            return null;
+        }
+        return templatePartnerParameters.json;
+    }
+
+    static boolean checkEventToken(String eventToken, ILogger logger) {
+        if (eventToken == null) {
+            logger.error("Missing Event Token");
+            return false;
+        }
+        if (eventToken.length() != 6) {
+            logger.error("Malformed Event Token '%s'", eventToken);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean checkRevenue(Double revenue, String currency) {
+        if (revenue != null) {
+            if (revenue < 0.0) {
+                CoreFactory.getLogger().error("Invalid amount %.5f", revenue);
+                return false;
+            }
+
+            if (currency == null) {
+                CoreFactory.getLogger().error("Currency must be set with revenue");
+                return false;
+            }
+            if (currency.equals("")) {
+                CoreFactory.getLogger().error("Currency is empty");
+                return false;
+            }
+
+        } else if (currency != null) {
+            CoreFactory.getLogger().error("Revenue must be set with currency");
+            return false;
+        }
+        return true;
+    }
+
+    static boolean isValidParameter(String attribute, String attributeType, String parameterName, ILogger logger) {
+        if (attribute == null) {
+            logger.error("%s parameter %s is missing", parameterName, attributeType);
+            return false;
+        }
+        if (attribute.equals("")) {
+            logger.error("%s parameter %s is empty", parameterName, attributeType);
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,75 @@
+package com.adjust.sdk;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Event token and parameters shared by many events, validated and encoded once.
+ * Events created from a template only carry what varies between them.
+ */
+public class AdjustEventTemplate {
+    String eventToken;
+
+    // replaced, never modified, once they can be shared with events
+    private volatile EncodedParameters callbackParameters;
+    private volatile EncodedParameters partnerParameters;
+
+
+    static class EncodedParameters {
+        final Map<String, String> parameters;
+        final String json;
+
+        EncodedParameters(Map<String, String> parameters) {
+            this.parameters = Collections.unmodifiableMap(parameters);
+            this.json = JsonWriter.toJson(parameters);
+        }
+    }
+
+    public AdjustEventTemplate(String eventToken) {
+        if (!AdjustEvent.checkEventToken(eventToken, CoreFactory.getLogger())) return;
+
+        this.eventToken = eventToken;
+    }
+
+    public void addCallbackParameter(String key, String value) {
+        if (!AdjustEvent.isValidParameter(key, "key", "Callback", CoreFactory.getLogger())) return;
+        if (!AdjustEvent.isValidParameter(value, "value", "Callback", CoreFactory.getLogger())) return;
+
+        callbackParameters = put(callbackParameters, key, value);
+    }
+
+    public void addPartnerParameter(String key, String value) {
+        if (!AdjustEvent.isValidParameter(key, "key", "Partner", CoreFactory.getLogger())) return;
+        if (!AdjustEvent.isValidParameter(value, "value", "Partner", CoreFactory.getLogger())) return;
+
+        partnerParameters = put(partnerParameters, key, value);
+    }
+
+    public boolean isValid() {
+        return eventToken != null;
+    }
+
+    /**
+     * Creates an event with the token and the parameters of this template.
+     * Revenue and parameters added to the event only change that event.
+     */
+    public AdjustEvent newEvent() {
+        return new AdjustEvent(this, callbackParameters, partnerParameters);
+    }
+
+    private static EncodedParameters put(EncodedParameters encoded, String key, String value) {
+        Map<String, String> parameters = new LinkedHashMap<String, String>();
+        if (encoded != null) {
+            parameters.putAll(encoded.parameters);
+        }
+
+        String previousValue = parameters.put(key, value);
+
+        if (previousValue != null) {
+            CoreFactory.getLogger().warn("key %s was overwritten", key);
+        }
+
+        return new EncodedParameters(parameters);
+    }
+}
@@ -36,6 +36,8 @@ public interface Constants {
 
     String ACTIVITY_STATE_FILENAME = "AdjustIoActivityState";
     String ATTRIBUTION_FILENAME = "AdjustAttribution";
+    String DEVICE_INFO_CACHE_FILENAME = "AdjustDeviceInfo";
+    String SESSION_PARAMETERS_FILENAME = "AdjustSessionParameters";
 
     String MALFORMED = "malformed";
     String SMALL = "small";
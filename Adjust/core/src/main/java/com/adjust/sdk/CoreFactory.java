@@ -0,0 +1,106 @@
+package com.adjust.sdk;
+
+import java.io.IOException;
+import java.net.URL;
+
+import javax.net.ssl.HttpsURLConnection;
+
+/**
+ * Replaceable dependencies of the core, which doesn't depend on Android. The defaults are the logcat logger and
+ * the clocks of the device when the Android module is on the classpath; AdjustFactory sets and gets the same instances.
+ */
+public class CoreFactory {
+    private static final String ANDROID_LOGGER = "com.adjust.sdk.AndroidLogger";
+    private static final String ANDROID_CLOCK = "com.adjust.sdk.AndroidClock";
+
+    private static ILogger logger = null;
+    private static volatile MetricsRegistry metricsRegistry = null;
+    private static IClock clock = null;
+    private static HttpsURLConnection httpsURLConnection = null;
+
+    // resolved on first use, whichever class of the sdk is used first
+    private static class Platform {
+        // Logger needs to be "static" to retain the configuration throughout the app
+        static final ILogger LOGGER = newInstance(ANDROID_LOGGER, ILogger.class, new Logger());
+        static final IClock CLOCK = newInstance(ANDROID_CLOCK, IClock.class, new SystemClock());
+    }
+
+    static class SystemClock implements IClock {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public long elapsedRealtime() {
+            // doesn't count while the device sleeps
+            return System.nanoTime() / 1000000;
+        }
+
+        @Override
+        public long threadCpuTimeNanos() {
+            return -1;
+        }
+    }
+
+    // the adapters are in the same package, their constructors don't have to be public
+    private static <T> T newInstance(String className, Class<T> type, T defaultInstance) {
+        try {
+            return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (Throwable t) {
+            return defaultInstance;
+        }
+    }
+
+    public static ILogger getLogger() {
+        if (logger == null) {
+            return Platform.LOGGER;
+        }
+        return logger;
+    }
+
+    // read on every request, only the first call takes the lock
+    public static MetricsRegistry getMetricsRegistry() {
+        MetricsRegistry registry = metricsRegistry;
+        if (registry != null) {
+            return registry;
+        }
+        synchronized (CoreFactory.class) {
+            if (metricsRegistry == null) {
+                metricsRegistry = new MetricsRegistry();
+            }
+            return metricsRegistry;
+        }
+    }
+
+    public static IClock getClock() {
+        if (clock == null) {
+            return Platform.CLOCK;
+        }
+        return clock;
+    }
+
+    public static HttpsURLConnection getHttpsURLConnection(URL url) throws IOException {
+        if (CoreFactory.httpsURLConnection == null) {
+            return (HttpsURLConnection)url.openConnection();
+        }
+
+        return CoreFactory.httpsURLConnection;
+    }
+
+    public static void setLogger(ILogger logger) {
+        CoreFactory.logger = logger;
+    }
+
+    public static synchronized void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        CoreFactory.metricsRegistry = metricsRegistry;
+    }
+
+    public static void setClock(IClock clock) {
+        CoreFactory.clock = clock;
+    }
+
+    public static void setHttpsURLConnection(HttpsURLConnection httpsURLConnection) {
+        CoreFactory.httpsURLConnection = httpsURLConnection;
+    }
+}
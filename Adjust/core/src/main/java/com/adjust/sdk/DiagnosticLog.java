@@ -0,0 +1,144 @@
+package com.adjust.sdk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last log records in memory, whatever the log level of logcat, so they can be read when
+ * something went wrong in the field. Records are stored with the message template and its arguments,
+ * they are only formatted when the log is dumped. Writing never locks: every record takes the next slot
+ * of a fixed size ring, overwriting the oldest one.
+ *
+ * Arguments are kept as they were passed, so an argument changed after it was logged
+ * is dumped with its changed value.
+ */
+public class DiagnosticLog {
+    // the largest power of two an int holds
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private static volatile DiagnosticLog current;
+
+    private final AtomicReferenceArray<Record> slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final int minimumAndroidLogLevel;
+
+    private static class Record {
+        final long sequence;
+        final long timestamp;
+        final LogLevel level;
+        final String threadName;
+        final String message;
+        final Object[] parameters;
+
+        Record(long sequence, LogLevel level, String message, Object[] parameters) {
+            this.sequence = sequence;
+            this.timestamp = System.currentTimeMillis();
+            this.level = level;
+            this.threadName = Thread.currentThread().getName();
+            this.message = message;
+            this.parameters = parameters;
+        }
+
+        String format() {
+            String formatted;
+            try {
+                if (parameters.length == 0 && message.indexOf('%') < 0) {
+                    formatted = message;
+                } else {
+                    formatted = String.format(Locale.US, message, parameters);
+                }
+            } catch (Exception e) {
+                formatted = message + " " + Arrays.toString(parameters);
+            }
+            return String.format(Locale.US, "%s %s [%s] %s",
+                    Util.dateFormat(timestamp), level.name().charAt(0), threadName, formatted);
+        }
+    }
+
+    private static final Comparator<Record> BY_SEQUENCE = new Comparator<Record>() {
+        @Override
+        public int compare(Record lhs, Record rhs) {
+            return lhs.sequence < rhs.sequence ? -1 : (lhs.sequence == rhs.sequence ? 0 : 1);
+        }
+    };
+
+    // the capacity is rounded up to a power of two
+    DiagnosticLog(int capacity, LogLevel minimumLevel) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<Record>(size);
+        this.mask = size - 1;
+        this.minimumAndroidLogLevel = minimumLevel.androidLogLevel;
+    }
+
+    /**
+     * Starts keeping the last records of the level and above, replacing the records kept until now.
+     * The capacity can't be above 2^30 records.
+     */
+    public static void enable(int capacity, LogLevel minimumLevel) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY || minimumLevel == null) {
+            CoreFactory.getLogger().error("Invalid diagnostic log capacity %d or level %s", capacity, minimumLevel);
+            return;
+        }
+        current = new DiagnosticLog(capacity, minimumLevel);
+    }
+
+    public static void disable() {
+        current = null;
+    }
+
+    /**
+     * The kept records, oldest first and formatted one per line. Empty when the log is disabled.
+     */
+    public static String dump() {
+        DiagnosticLog diagnosticLog = current;
+        if (diagnosticLog == null) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (Record record : diagnosticLog.records()) {
+            builder.append(record.format()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    // to build expensive log arguments also when logcat would skip them
+    static boolean isRecording(LogLevel level) {
+        DiagnosticLog diagnosticLog = current;
+        return diagnosticLog != null && level.androidLogLevel >= diagnosticLog.minimumAndroidLogLevel;
+    }
+
+    static void record(LogLevel level, String message, Object[] parameters) {
+        DiagnosticLog diagnosticLog = current;
+        if (diagnosticLog == null || level.androidLogLevel < diagnosticLog.minimumAndroidLogLevel) {
+            return;
+        }
+
+        long sequence = diagnosticLog.nextSequence.getAndIncrement();
+        diagnosticLog.slots.set((int) (sequence & diagnosticLog.mask),
+                new Record(sequence, level, message, parameters));
+    }
+
+    // slots written while reading may hold newer records than the ones around them, sorting puts them in order
+    private List<Record> records() {
+        List<Record> records = new ArrayList<Record>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            Record record = slots.get(i);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        Collections.sort(records, BY_SEQUENCE);
+        return records;
+    }
+}
@@ -0,0 +1,42 @@
+package com.adjust.sdk;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Storage in a directory of the file system, for the core outside of Android.
+ */
+public class FileStorage implements IStorage {
+    private final File directory;
+
+    public FileStorage(File directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public InputStream openInput(String filename) throws IOException {
+        return new FileInputStream(new File(directory, filename));
+    }
+
+    @Override
+    public OutputStream openOutput(String filename) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create " + directory);
+        }
+        return new FileOutputStream(new File(directory, filename));
+    }
+
+    @Override
+    public boolean delete(String filename) {
+        return new File(directory, filename).delete();
+    }
+
+    @Override
+    public long length(String filename) {
+        return new File(directory, filename).length();
+    }
+}
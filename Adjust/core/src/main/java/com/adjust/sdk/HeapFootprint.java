@@ -0,0 +1,77 @@
+package com.adjust.sdk;
+
+import java.util.Map;
+
+/**
+ * Estimates the heap used by queued packages, with the object layout of a 32-bit Android runtime:
+ * 8 byte object headers, 4 byte references, strings with inline 16-bit chars, sizes aligned to 8 bytes.
+ *
+ * Only what a package adds to the queue is counted. Objects shared by the packages of a launch are left out:
+ * the path, client sdk and parameter key constants, the base parameters of built packages and the
+ * session parameters. Packages read from storage share some parameter values too, so for them it's an upper bound.
+ */
+class HeapFootprint {
+    private static final int OBJECT_HEADER = 8;
+    private static final int ARRAY_HEADER = 12;
+    private static final int REFERENCE = 4;
+
+    // header, hashCode, packageId, six references and retries
+    private static final long ACTIVITY_PACKAGE = align(OBJECT_HEADER + 4 + 8 + 6 * REFERENCE + 4);
+    // header, base, overlay, overriddenCount and entrySet
+    private static final long PACKAGE_PARAMETERS = align(OBJECT_HEADER + 3 * REFERENCE + 4);
+    // header, table, entrySet, keySet, values, size, modCount, threshold and loadFactor
+    private static final long HASH_MAP = align(OBJECT_HEADER + 4 * REFERENCE + 4 * 4);
+    // header, hash, key, value and next
+    private static final long HASH_MAP_ENTRY = align(OBJECT_HEADER + 4 + 3 * REFERENCE);
+    // header, count and hash, the chars follow inline
+    private static final int STRING = OBJECT_HEADER + 4 + 4;
+
+    static long ofPackage(ActivityPackage activityPackage) {
+        return ACTIVITY_PACKAGE
+                + ofString(activityPackage.getSuffix())
+                + ofParameters(activityPackage.getParameters());
+    }
+
+    static long ofParameters(Map<String, String> parameters) {
+        if (parameters == null) {
+            return 0;
+        }
+        if (parameters instanceof PackageParameters) {
+            return PACKAGE_PARAMETERS + ofHashMap(((PackageParameters) parameters).getOverlay());
+        }
+        return ofHashMap(parameters);
+    }
+
+    // the keys are constants, the values belong to the map
+    static long ofHashMap(Map<String, String> map) {
+        int capacity = tableCapacity(map.size());
+        long bytes = HASH_MAP + (capacity == 0 ? 0 : align(ARRAY_HEADER + capacity * REFERENCE));
+        for (String value : map.values()) {
+            bytes += HASH_MAP_ENTRY + ofString(value);
+        }
+        return bytes;
+    }
+
+    static long ofString(String string) {
+        if (string == null) {
+            return 0;
+        }
+        return align(STRING + 2L * string.length());
+    }
+
+    // the table is created with the first entry and doubled to keep the default load factor
+    private static int tableCapacity(int size) {
+        if (size == 0) {
+            return 0;
+        }
+        int capacity = 16;
+        while (capacity * 3 / 4 < size) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,18 @@
+package com.adjust.sdk;
+
+/**
+ * Clocks of the platform. The wall clock stamps the packages and is replaced to replay recorded traffic faster.
+ */
+public interface IClock {
+    long currentTimeMillis();
+
+    /**
+     * Monotonic milliseconds, counting while the device sleeps.
+     */
+    long elapsedRealtime();
+
+    /**
+     * CPU time of the calling thread, or -1 when the platform can't measure it.
+     */
+    long threadCpuTimeNanos();
+}
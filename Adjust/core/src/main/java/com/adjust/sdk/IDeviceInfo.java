@@ -0,0 +1,23 @@
+package com.adjust.sdk;
+
+import java.util.Map;
+
+/**
+ * What the packages tell about the app and the device. The Android module reads it from the config,
+ * the context and the advertising id.
+ */
+public interface IDeviceInfo {
+    String getClientSdk();
+
+    /**
+     * Parameters of the session and event packages. The returned map is shared and must not be changed.
+     */
+    Map<String, String> getDefaultParameters();
+
+    /**
+     * Parameters of the click and attribution packages, that only identify the app and the device.
+     */
+    Map<String, String> getIdsParameters();
+
+    String getDefaultTracker();
+}
@@ -17,4 +17,9 @@ public interface ILogger {
 
     public void Assert(String message, Object... parameters);
 
+    // to skip building expensive log arguments that would not be logged
+    public boolean isVerboseEnabled();
+
+    public boolean isDebugEnabled();
+
 }
@@ -0,0 +1,24 @@
+package com.adjust.sdk;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Private files of the sdk, by name: the activity state, the package queue and the other persisted objects.
+ */
+public interface IStorage {
+    /**
+     * @throws FileNotFoundException when nothing was written under the name
+     */
+    InputStream openInput(String filename) throws IOException;
+
+    // replaces the previous content
+    OutputStream openOutput(String filename) throws IOException;
+
+    boolean delete(String filename);
+
+    // 0 when the file doesn't exist
+    long length(String filename);
+}
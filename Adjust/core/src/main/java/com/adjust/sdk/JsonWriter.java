@@ -0,0 +1,255 @@
+package com.adjust.sdk;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes JSON text straight into a reusable buffer, without building a tree of objects first.
+ * Strings are escaped as required by RFC 4627, numbers that JSON can't represent are written as null.
+ */
+public class JsonWriter {
+    // larger buffers are not kept between uses
+    private static final int MAX_REUSED_CAPACITY = 8 * 1024;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<JsonWriter> writers = new ThreadLocal<JsonWriter>() {
+        @Override
+        protected JsonWriter initialValue() {
+            return new JsonWriter();
+        }
+    };
+
+    private StringBuilder buffer;
+
+    public JsonWriter() {
+        buffer = new StringBuilder(256);
+    }
+
+    /**
+     * Returns the writer of the calling thread, emptied.
+     * The text of the previous use must have been read before.
+     */
+    public static JsonWriter obtain() {
+        JsonWriter writer = writers.get();
+        writer.reset();
+        return writer;
+    }
+
+    public static String toJson(Object value) {
+        return obtain().value(value).toString();
+    }
+
+    public JsonWriter reset() {
+        if (buffer.capacity() > MAX_REUSED_CAPACITY) {
+            buffer = new StringBuilder(256);
+        } else {
+            buffer.setLength(0);
+        }
+        return this;
+    }
+
+    public JsonWriter beginObject() {
+        separate();
+        buffer.append('{');
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        buffer.append('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        separate();
+        buffer.append('[');
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        buffer.append(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) {
+        separate();
+        writeString(String.valueOf(name));
+        buffer.append(':');
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separate();
+        buffer.append(value);
+        return this;
+    }
+
+    public JsonWriter value(float value) {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            return nullValue();
+        }
+        separate();
+        buffer.append(value);
+        return this;
+    }
+
+    public JsonWriter value(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return nullValue();
+        }
+        separate();
+        buffer.append(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separate();
+        buffer.append(value);
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        separate();
+        buffer.append("null");
+        return this;
+    }
+
+    /**
+     * Writes strings, numbers, booleans, maps, collections and arrays of objects,
+     * nested to any depth. Other objects are written as their string value.
+     */
+    public JsonWriter value(Object value) {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof String) {
+            return value((String) value);
+        }
+        if (value instanceof Boolean) {
+            return value(((Boolean) value).booleanValue());
+        }
+        if (value instanceof Float) {
+            return value(((Float) value).floatValue());
+        }
+        if (value instanceof Double) {
+            return value(((Double) value).doubleValue());
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof AtomicLong || value instanceof AtomicInteger) {
+            return value(((Number) value).longValue());
+        }
+        if (value instanceof BigDecimal) {
+            return number(((BigDecimal) value).toPlainString());
+        }
+        if (value instanceof Number) {
+            // BigInteger and other numbers, without losing their fraction or digits
+            double doubleValue = ((Number) value).doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                return nullValue();
+            }
+            return number(value.toString());
+        }
+        if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                value(entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof Collection) {
+            beginArray();
+            for (Object item : (Collection<?>) value) {
+                value(item);
+            }
+            return endArray();
+        }
+        if (value instanceof Object[]) {
+            beginArray();
+            for (Object item : (Object[]) value) {
+                value(item);
+            }
+            return endArray();
+        }
+        return value(value.toString());
+    }
+
+    private JsonWriter number(String number) {
+        separate();
+        buffer.append(number);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+
+    // a comma is needed after any value, but not at the start of an object or array, nor after a name
+    private void separate() {
+        int length = buffer.length();
+        if (length == 0) {
+            return;
+        }
+        char last = buffer.charAt(length - 1);
+        if (last != '{' && last != '[' && last != ':') {
+            buffer.append(',');
+        }
+    }
+
+    private void writeString(String value) {
+        buffer.append('"');
+
+        int length = value.length();
+        int unescaped = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String replacement;
+
+            if (c == '"') {
+                replacement = "\\\"";
+            } else if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == '\n') {
+                replacement = "\\n";
+            } else if (c == '\r') {
+                replacement = "\\r";
+            } else if (c == '\t') {
+                replacement = "\\t";
+            } else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                replacement = null;
+            } else {
+                continue;
+            }
+
+            // copy the run of characters that need no escaping at once
+            buffer.append(value, unescaped, i);
+            unescaped = i + 1;
+
+            if (replacement != null) {
+                buffer.append(replacement);
+            } else {
+                buffer.append("\\u")
+                        .append(HEX_DIGITS[(c >> 12) & 0xf])
+                        .append(HEX_DIGITS[(c >> 8) & 0xf])
+                        .append(HEX_DIGITS[(c >> 4) & 0xf])
+                        .append(HEX_DIGITS[c & 0xf]);
+            }
+        }
+        buffer.append(value, unescaped, length);
+
+        buffer.append('"');
+    }
+}
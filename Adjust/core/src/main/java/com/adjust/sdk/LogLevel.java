@@ -1,12 +1,11 @@
 package com.adjust.sdk;
 
-import android.util.Log;
-
 /**
  * Created by pfms on 11/03/15.
  */
 public enum LogLevel {
-    VERBOSE(Log.VERBOSE), DEBUG(Log.DEBUG), INFO(Log.INFO), WARN(Log.WARN), ERROR(Log.ERROR), ASSERT(Log.ASSERT);
+    // the priorities of android.util.Log
+    VERBOSE(2), DEBUG(3), INFO(4), WARN(5), ERROR(6), ASSERT(7);
     final int androidLogLevel;
 
     LogLevel(final int androidLogLevel) {
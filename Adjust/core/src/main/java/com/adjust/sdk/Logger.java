@@ -0,0 +1,136 @@
+//
+//  Logger.java
+//  Adjust
+//
+//  Created by Christian Wellenbrock on 2013-04-18.
+//  Copyright (c) 2013 adjust GmbH. All rights reserved.
+//  See the file MIT-LICENSE for copying permission.
+//
+
+package com.adjust.sdk;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static com.adjust.sdk.Constants.LOGTAG;
+
+public class Logger implements ILogger {
+
+    private LogLevel logLevel;
+    private static String formatErrorMessage = "Error formating log message: %s, with params: %s";
+
+    public Logger() {
+        setLogLevel(LogLevel.INFO);
+    }
+
+    @Override
+    public void setLogLevel(LogLevel logLevel) {
+        this.logLevel = logLevel;
+    }
+
+    @Override
+    public void setLogLevelString(String logLevelString) {
+        if (null != logLevelString) {
+            try {
+                setLogLevel(LogLevel.valueOf(logLevelString.toUpperCase(Locale.US)));
+            } catch (IllegalArgumentException iae) {
+                error("Malformed logLevel '%s', falling back to 'info'", logLevelString);
+            }
+        }
+    }
+
+    @Override
+    public void verbose(String message, Object... parameters) {
+        DiagnosticLog.record(LogLevel.VERBOSE, message, parameters);
+        if (logLevel.androidLogLevel <= LogLevel.VERBOSE.androidLogLevel) {
+            try {
+                println(LogLevel.VERBOSE, format(message, parameters));
+            } catch (Exception e) {
+                println(LogLevel.ERROR, String.format(Locale.US, formatErrorMessage, message, Arrays.toString(parameters)));
+            }
+        }
+    }
+
+    @Override
+    public void debug(String message, Object... parameters) {
+        DiagnosticLog.record(LogLevel.DEBUG, message, parameters);
+        if (logLevel.androidLogLevel <= LogLevel.DEBUG.androidLogLevel) {
+            try {
+                println(LogLevel.DEBUG, format(message, parameters));
+            } catch (Exception e) {
+                println(LogLevel.ERROR, String.format(Locale.US, formatErrorMessage, message, Arrays.toString(parameters)));
+            }
+        }
+    }
+
+    @Override
+    public void info(String message, Object... parameters) {
+        DiagnosticLog.record(LogLevel.INFO, message, parameters);
+        if (logLevel.androidLogLevel <= LogLevel.INFO.androidLogLevel) {
+            try {
+                println(LogLevel.INFO, format(message, parameters));
+            } catch (Exception e) {
+                println(LogLevel.ERROR, String.format(Locale.US, formatErrorMessage, message, Arrays.toString(parameters)));
+            }
+        }
+    }
+
+    @Override
+    public void warn(String message, Object... parameters) {
+        DiagnosticLog.record(LogLevel.WARN, message, parameters);
+        if (logLevel.androidLogLevel <= LogLevel.WARN.androidLogLevel) {
+            try {
+                println(LogLevel.WARN, format(message, parameters));
+            } catch (Exception e) {
+                println(LogLevel.ERROR, String.format(Locale.US, formatErrorMessage, message, Arrays.toString(parameters)));
+            }
+        }
+    }
+
+    @Override
+    public void error(String message, Object... parameters) {
+        DiagnosticLog.record(LogLevel.ERROR, message, parameters);
+        if (logLevel.androidLogLevel <= LogLevel.ERROR.androidLogLevel) {
+            try {
+                println(LogLevel.ERROR, format(message, parameters));
+            } catch (Exception e) {
+                println(LogLevel.ERROR, String.format(Locale.US, formatErrorMessage, message, Arrays.toString(parameters)));
+            }
+        }
+    }
+
+    @Override
+    public boolean isVerboseEnabled() {
+        return logLevel.androidLogLevel <= LogLevel.VERBOSE.androidLogLevel || DiagnosticLog.isRecording(LogLevel.VERBOSE);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return logLevel.androidLogLevel <= LogLevel.DEBUG.androidLogLevel || DiagnosticLog.isRecording(LogLevel.DEBUG);
+    }
+
+    @Override
+    public void Assert(String message, Object... parameters) {
+        DiagnosticLog.record(LogLevel.ASSERT, message, parameters);
+        try {
+            println(LogLevel.ASSERT, format(message, parameters));
+        } catch (Exception e) {
+            println(LogLevel.ERROR, String.format(Locale.US, formatErrorMessage, message, Arrays.toString(parameters)));
+        }
+    }
+
+    /**
+     * Writes a message that passed the log level, to the standard output outside of Android.
+     */
+    protected void println(LogLevel level, String message) {
+        System.out.println(level.name().charAt(0) + "/" + LOGTAG + ": " + message);
+    }
+
+    private static String format(String message, Object... parameters) {
+        // nothing to format
+        if (parameters.length == 0 && message.indexOf('%') < 0) {
+            return message;
+        }
+        return String.format(Locale.US, message, parameters);
+    }
+}
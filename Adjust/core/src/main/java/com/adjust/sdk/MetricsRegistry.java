@@ -0,0 +1,213 @@
+package com.adjust.sdk;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters, gauges and latency histograms of the package pipeline.
+ * Updating a metric never locks, reading them all is done with a snapshot.
+ */
+public class MetricsRegistry {
+    // package handler
+    public static final String PACKAGE_QUEUE_SIZE = "package_queue.size";
+    public static final String PACKAGE_QUEUE_FILE_BYTES = "package_queue.file_bytes";
+    public static final String PACKAGE_QUEUE_HEAP_BYTES = "package_queue.heap_bytes";
+    public static final String PACKAGES_ADDED = "packages.added";
+    public static final String PACKAGE_RETRIES = "packages.retries";
+    // sdk click handler
+    public static final String SDK_CLICK_QUEUE_SIZE = "sdk_click_queue.size";
+    public static final String SDK_CLICK_RETRIES = "sdk_clicks.retries";
+    // packages the server answered
+    public static final String PACKAGES_SENT = "packages.sent";
+    // requests, by activity kind
+    public static final String REQUEST_LATENCY = "request.latency.";
+    public static final String REQUEST_FAILURES = "request.failures.";
+    public static final String BYTES_SENT = "bytes.sent";
+    public static final String BYTES_RECEIVED = "bytes.received";
+
+    // upper bounds in milliseconds, the last bucket counts everything above
+    public static final long[] LATENCY_BUCKETS = {50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+
+    // updated on every request, looked up once
+    final Counter bytesSent = counter(BYTES_SENT);
+    final Counter bytesReceived = counter(BYTES_RECEIVED);
+
+    public static class Counter {
+        private final AtomicLong value = new AtomicLong();
+
+        public void increment() {
+            value.incrementAndGet();
+        }
+
+        public void add(long delta) {
+            value.addAndGet(delta);
+        }
+
+        public long get() {
+            return value.get();
+        }
+    }
+
+    public static class Gauge {
+        private volatile long value;
+
+        public void set(long value) {
+            this.value = value;
+        }
+
+        public long get() {
+            return value;
+        }
+    }
+
+    public static class Histogram {
+        private final long[] bounds;
+        private final AtomicLongArray buckets;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        Histogram(long[] bounds) {
+            this.bounds = bounds;
+            this.buckets = new AtomicLongArray(bounds.length + 1);
+        }
+
+        public void record(long value) {
+            int bucket = 0;
+            while (bucket < bounds.length && value > bounds[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            sum.addAndGet(value);
+
+            long currentMax = max.get();
+            while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+                currentMax = max.get();
+            }
+        }
+
+        HistogramSnapshot snapshot() {
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return new HistogramSnapshot(bounds, counts, count.get(), sum.get(), max.get());
+        }
+    }
+
+    /**
+     * Bucket counts of a histogram. The count of bucket i is of the values up to bounds[i],
+     * and above the bound of the previous bucket. The last bucket has no upper bound.
+     */
+    public static class HistogramSnapshot {
+        public final long[] bounds;
+        public final long[] counts;
+        public final long count;
+        public final long sum;
+        public final long max;
+
+        HistogramSnapshot(long[] bounds, long[] counts, long count, long sum, long max) {
+            this.bounds = bounds.clone();
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getMean() {
+            return count == 0 ? 0 : sum / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "count:%d mean:%d max:%d", count, getMean(), max);
+        }
+    }
+
+    /**
+     * Values of every metric at one point in time, sorted by name.
+     * Metrics updated while it's taken may be read before or after the update.
+     */
+    public static class Snapshot {
+        public final Map<String, Long> counters;
+        public final Map<String, Long> gauges;
+        public final Map<String, HistogramSnapshot> histograms;
+
+        Snapshot(Map<String, Long> counters, Map<String, Long> gauges, Map<String, HistogramSnapshot> histograms) {
+            this.counters = Collections.unmodifiableMap(counters);
+            this.gauges = Collections.unmodifiableMap(gauges);
+            this.histograms = Collections.unmodifiableMap(histograms);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "counters:%s gauges:%s histograms:%s", counters, gauges, histograms);
+        }
+    }
+
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            counter = new Counter();
+            Counter previous = counters.putIfAbsent(name, counter);
+            if (previous != null) {
+                counter = previous;
+            }
+        }
+        return counter;
+    }
+
+    public Gauge gauge(String name) {
+        Gauge gauge = gauges.get(name);
+        if (gauge == null) {
+            gauge = new Gauge();
+            Gauge previous = gauges.putIfAbsent(name, gauge);
+            if (previous != null) {
+                gauge = previous;
+            }
+        }
+        return gauge;
+    }
+
+    public Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = new Histogram(LATENCY_BUCKETS);
+            Histogram previous = histograms.putIfAbsent(name, histogram);
+            if (previous != null) {
+                histogram = previous;
+            }
+        }
+        return histogram;
+    }
+
+    public Snapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<String, Long>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            counterValues.put(entry.getKey(), entry.getValue().get());
+        }
+
+        Map<String, Long> gaugeValues = new TreeMap<String, Long>();
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            gaugeValues.put(entry.getKey(), entry.getValue().get());
+        }
+
+        Map<String, HistogramSnapshot> histogramValues = new TreeMap<String, HistogramSnapshot>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            histogramValues.put(entry.getKey(), entry.getValue().snapshot());
+        }
+
+        return new Snapshot(counterValues, gaugeValues, histogramValues);
+    }
+}
@@ -0,0 +1,8 @@
+package com.adjust.sdk;
+
+public interface OnOverheadBudgetExceededListener {
+    /**
+     * Called on the thread that called the sdk, right before the call returns.
+     */
+    void onOverheadBudgetExceeded(OverheadMonitor.Violation violation);
+}
@@ -0,0 +1,9 @@
+package com.adjust.sdk;
+
+public interface OnPackageStageListener {
+    /**
+     * Called on the thread of the sdk that finished the stage. The timestamp is from System.nanoTime,
+     * so only the differences between the timestamps of one process are meaningful.
+     */
+    void onPackageStage(PackageTracer.Stage stage, long packageId, ActivityKind activityKind, long timestampNanos);
+}
@@ -0,0 +1,129 @@
+package com.adjust.sdk;
+
+import java.util.Locale;
+
+/**
+ * Measures the wall and cpu time spent inside the public calls of the sdk, on the thread of the caller,
+ * and reports the calls that took longer than the budget of their thread. Meant for development builds:
+ * while no budget is set, a call only costs a volatile read.
+ */
+public class OverheadMonitor {
+    private static volatile Budget budget;
+    // null outside of Android, every call is then checked against the budget of the other threads
+    private static volatile Thread mainThread;
+
+    private static class Budget {
+        final long mainThreadNanos;
+        final long otherThreadNanos;
+        final OnOverheadBudgetExceededListener listener;
+
+        Budget(long mainThreadNanos, long otherThreadNanos, OnOverheadBudgetExceededListener listener) {
+            this.mainThreadNanos = mainThreadNanos;
+            this.otherThreadNanos = otherThreadNanos;
+            this.listener = listener;
+        }
+    }
+
+    static class Measurement {
+        final String api;
+        final long wallStartNanos;
+        final long cpuStartNanos;
+
+        Measurement(String api) {
+            this.api = api;
+            this.cpuStartNanos = CoreFactory.getClock().threadCpuTimeNanos();
+            this.wallStartNanos = System.nanoTime();
+        }
+    }
+
+    public static class Violation {
+        public final String api;
+        public final long wallNanos;
+        public final long cpuNanos; // -1 when the clock can't measure cpu time
+        public final long budgetNanos;
+        public final boolean mainThread;
+        public final String threadName;
+
+        Violation(String api, long wallNanos, long cpuNanos, long budgetNanos, boolean mainThread, String threadName) {
+            this.api = api;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.budgetNanos = budgetNanos;
+            this.mainThread = mainThread;
+            this.threadName = threadName;
+        }
+
+        @Override
+        public String toString() {
+            String cpuString = cpuNanos < 0
+                    ? "n/a"
+                    : String.format(Locale.US, "%.3f ms", cpuNanos / 1000000.0);
+            return String.format(Locale.US, "%s took %.3f ms (cpu %s) on %s, over the budget of %.3f ms",
+                    api, wallNanos / 1000000.0, cpuString,
+                    mainThread ? "the main thread" : "thread " + threadName,
+                    budgetNanos / 1000000.0);
+        }
+    }
+
+    /**
+     * Budgets in microseconds for the calls on the main thread and on any other thread, 0 to not check them.
+     * Without a listener, violations are logged as warnings.
+     */
+    public static void setBudget(long mainThreadMicros, long otherThreadMicros, OnOverheadBudgetExceededListener listener) {
+        if (mainThreadMicros <= 0 && otherThreadMicros <= 0) {
+            budget = null;
+            return;
+        }
+        budget = new Budget(mainThreadMicros * 1000, otherThreadMicros * 1000, listener);
+    }
+
+    static void setMainThread(Thread mainThread) {
+        OverheadMonitor.mainThread = mainThread;
+    }
+
+    // null while no budget is set
+    static Measurement start(String api) {
+        if (budget == null) {
+            return null;
+        }
+        return new Measurement(api);
+    }
+
+    static void finish(Measurement measurement) {
+        if (measurement == null) {
+            return;
+        }
+
+        long wallNanos = System.nanoTime() - measurement.wallStartNanos;
+        long cpuEndNanos = CoreFactory.getClock().threadCpuTimeNanos();
+        long cpuNanos = -1;
+        if (measurement.cpuStartNanos >= 0 && cpuEndNanos >= 0) {
+            cpuNanos = cpuEndNanos - measurement.cpuStartNanos;
+        }
+
+        Budget currentBudget = budget;
+        if (currentBudget == null) {
+            return;
+        }
+
+        boolean mainThread = Thread.currentThread() == OverheadMonitor.mainThread;
+        long budgetNanos = mainThread ? currentBudget.mainThreadNanos : currentBudget.otherThreadNanos;
+        if (budgetNanos <= 0 || wallNanos <= budgetNanos) {
+            return;
+        }
+
+        Violation violation = new Violation(measurement.api, wallNanos, cpuNanos, budgetNanos,
+                mainThread, Thread.currentThread().getName());
+
+        if (currentBudget.listener == null) {
+            CoreFactory.getLogger().warn("%s", violation);
+            return;
+        }
+
+        try {
+            currentBudget.listener.onOverheadBudgetExceeded(violation);
+        } catch (Throwable throwable) {
+            CoreFactory.getLogger().error("Overhead budget listener failed (%s)", throwable.getMessage());
+        }
+    }
+}
@@ -9,17 +9,11 @@
 
 package com.adjust.sdk;
 
-import android.text.TextUtils;
-
-import org.json.JSONObject;
-
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
 class PackageBuilder {
-    private AdjustConfig adjustConfig;
-    private DeviceInfo deviceInfo;
+    private IDeviceInfo deviceInfo;
     private ActivityState activityState;
     private long createdAt;
 
@@ -30,13 +24,15 @@ class PackageBuilder {
     String referrer;
     String deeplink;
 
-    private static ILogger logger = AdjustFactory.getLogger();
+    // sessions and events
+    SessionParameters sessionParameters;
 
-    public PackageBuilder(AdjustConfig adjustConfig,
-                          DeviceInfo deviceInfo,
+    // events, the id reserved when they were tracked
+    long packageId;
+
+    public PackageBuilder(IDeviceInfo deviceInfo,
                           ActivityState activityState,
                           long createdAt) {
-        this.adjustConfig = adjustConfig;
         this.deviceInfo = deviceInfo;
         this.activityState = activityState == null ? null : activityState.shallowCopy();
         this.createdAt = createdAt;
@@ -45,12 +41,15 @@ class PackageBuilder {
     public ActivityPackage buildSessionPackage() {
         Map<String, String> parameters = getDefaultParameters();
         addDuration(parameters, "last_interval", activityState.lastInterval);
-        addString(parameters, "default_tracker", adjustConfig.defaultTracker);
+        addString(parameters, "default_tracker", deviceInfo.getDefaultTracker());
 
         ActivityPackage sessionPackage = getDefaultActivityPackage(ActivityKind.SESSION);
         sessionPackage.setPath("/session");
         sessionPackage.setSuffix("");
         sessionPackage.setParameters(parameters);
+        sessionPackage.setSessionParameters(sessionParameters);
+
+        PackageTracer.trace(PackageTracer.Stage.BUILD, sessionPackage);
 
         return sessionPackage;
     }
@@ -61,13 +60,16 @@ class PackageBuilder {
         addString(parameters, "event_token", event.eventToken);
         addDouble(parameters, "revenue", event.revenue);
         addString(parameters, "currency", event.currency);
-        addMapJson(parameters, "callback_params", event.callbackParameters);
-        addMapJson(parameters, "partner_params", event.partnerParameters);
+        addMapJson(parameters, "callback_params", event.callbackParameters, event.getCallbackParametersJson());
+        addMapJson(parameters, "partner_params", event.partnerParameters, event.getPartnerParametersJson());
 
         ActivityPackage eventPackage = getDefaultActivityPackage(ActivityKind.EVENT);
         eventPackage.setPath("/event");
         eventPackage.setSuffix(getEventSuffix(event));
         eventPackage.setParameters(parameters);
+        eventPackage.setSessionParameters(sessionParameters);
+
+        PackageTracer.trace(PackageTracer.Stage.BUILD, eventPackage);
 
         return eventPackage;
     }
@@ -88,6 +90,8 @@ class PackageBuilder {
         clickPackage.setSuffix("");
         clickPackage.setParameters(parameters);
 
+        PackageTracer.trace(PackageTracer.Stage.BUILD, clickPackage);
+
         return clickPackage;
     }
 
@@ -99,20 +103,23 @@ class PackageBuilder {
         attributionPackage.setSuffix("");
         attributionPackage.setParameters(parameters);
 
+        PackageTracer.trace(PackageTracer.Stage.BUILD, attributionPackage);
+
         return attributionPackage;
     }
 
     private ActivityPackage getDefaultActivityPackage(ActivityKind activityKind) {
         ActivityPackage activityPackage = new ActivityPackage(activityKind);
-        activityPackage.setClientSdk(deviceInfo.clientSdk);
+        activityPackage.setClientSdk(deviceInfo.getClientSdk());
+        if (packageId != 0) {
+            activityPackage.setPackageId(packageId);
+        }
         return activityPackage;
     }
 
     private Map<String, String> getDefaultParameters() {
-        Map<String, String> parameters = new HashMap<String, String>();
+        Map<String, String> parameters = new PackageParameters(deviceInfo.getDefaultParameters());
 
-        injectDeviceInfo(parameters);
-        injectConfig(parameters);
         injectActivityState(parameters);
         injectCreatedAt(parameters);
 
@@ -123,10 +130,8 @@ class PackageBuilder {
     }
 
     private Map<String, String> getIdsParameters() {
-        Map<String, String> parameters = new HashMap<String, String>();
+        Map<String, String> parameters = new PackageParameters(deviceInfo.getIdsParameters());
 
-        injectDeviceInfoIds(parameters);
-        injectConfig(parameters);
         injectCreatedAt(parameters);
 
         checkDeviceIds(parameters);
@@ -134,48 +139,6 @@ class PackageBuilder {
         return parameters;
     }
 
-    private void injectDeviceInfo(Map<String, String> parameters) {
-        injectDeviceInfoIds(parameters);
-        addString(parameters, "fb_id", deviceInfo.fbAttributionId);
-        addString(parameters, "package_name", deviceInfo.packageName);
-        addString(parameters, "app_version", deviceInfo.appVersion);
-        addString(parameters, "device_type", deviceInfo.deviceType);
-        addString(parameters, "device_name", deviceInfo.deviceName);
-        addString(parameters, "device_manufacturer", deviceInfo.deviceManufacturer);
-        addString(parameters, "os_name", deviceInfo.osName);
-        addString(parameters, "os_version", deviceInfo.osVersion);
-        addString(parameters, "api_level", deviceInfo.apiLevel);
-        addString(parameters, "language", deviceInfo.language);
-        addString(parameters, "country", deviceInfo.country);
-        addString(parameters, "screen_size", deviceInfo.screenSize);
-        addString(parameters, "screen_format", deviceInfo.screenFormat);
-        addString(parameters, "screen_density", deviceInfo.screenDensity);
-        addString(parameters, "display_width", deviceInfo.displayWidth);
-        addString(parameters, "display_height", deviceInfo.displayHeight);
-        addString(parameters, "hardware_name", deviceInfo.hardwareName);
-        addString(parameters, "cpu_type", deviceInfo.abi);
-        fillPluginKeys(parameters);
-    }
-
-    private void injectDeviceInfoIds(Map<String, String> parameters) {
-        addString(parameters, "mac_sha1", deviceInfo.macSha1);
-        addString(parameters, "mac_md5", deviceInfo.macShortMd5);
-        addString(parameters, "android_id", deviceInfo.androidId);
-    }
-
-    private void injectConfig(Map<String, String> parameters) {
-        addString(parameters, "app_token", adjustConfig.appToken);
-        addString(parameters, "environment", adjustConfig.environment);
-        addBoolean(parameters, "device_known", adjustConfig.deviceKnown);
-        addBoolean(parameters, "needs_response_details", adjustConfig.hasListener());
-
-        String playAdId = Util.getPlayAdId(adjustConfig.context);
-        addString(parameters, "gps_adid", playAdId);
-        Boolean isTrackingEnabled = Util.isPlayTrackingEnabled(adjustConfig.context);
-        addBoolean(parameters, "tracking_enabled", isTrackingEnabled);
-        addBoolean(parameters, "event_buffering_enabled", adjustConfig.eventBufferingEnabled);
-    }
-
     private void injectActivityState(Map<String, String> parameters) {
         addString(parameters, "android_uuid", activityState.uuid);
         addInt(parameters, "session_count", activityState.sessionCount);
@@ -203,17 +166,7 @@ class PackageBuilder {
                 && !parameters.containsKey("mac_md5")
                 && !parameters.containsKey("android_id")
                 && !parameters.containsKey("gps_adid")) {
-            logger.error("Missing device id's. Please check if Proguard is correctly set with Adjust SDK");
-        }
-    }
-
-    private void fillPluginKeys(Map<String, String> parameters) {
-        if (deviceInfo.pluginKeys == null) {
-            return;
-        }
-
-        for (Map.Entry<String, String> entry : deviceInfo.pluginKeys.entrySet()) {
-            addString(parameters, entry.getKey(), entry.getValue());
+            CoreFactory.getLogger().error("Missing device id's. Please check if Proguard is correctly set with Adjust SDK");
         }
     }
 
@@ -225,15 +178,15 @@ class PackageBuilder {
         }
     }
 
-    private void addString(Map<String, String> parameters, String key, String value) {
-        if (TextUtils.isEmpty(value)) {
+    static void addString(Map<String, String> parameters, String key, String value) {
+        if (value == null || value.length() == 0) {
             return;
         }
 
         parameters.put(key, value);
     }
 
-    private void addInt(Map<String, String> parameters, String key, long value) {
+    private static void addInt(Map<String, String> parameters, String key, long value) {
         if (value < 0) {
             return;
         }
@@ -242,7 +195,7 @@ class PackageBuilder {
         addString(parameters, key, valueString);
     }
 
-    private void addDate(Map<String, String> parameters, String key, long value) {
+    private static void addDate(Map<String, String> parameters, String key, long value) {
         if (value < 0) {
             return;
         }
@@ -251,7 +204,7 @@ class PackageBuilder {
         addString(parameters, key, dateString);
     }
 
-    private void addDuration(Map<String, String> parameters, String key, long durationInMilliSeconds) {
+    private static void addDuration(Map<String, String> parameters, String key, long durationInMilliSeconds) {
         if (durationInMilliSeconds < 0) {
             return;
         }
@@ -260,7 +213,7 @@ class PackageBuilder {
         addInt(parameters, key, durationInSeconds);
     }
 
-    private void addMapJson(Map<String, String> parameters, String key, Map<String, String> map) {
+    private static void addMapJson(Map<String, String> parameters, String key, Map<String, String> map) {
         if (map == null) {
             return;
         }
@@ -269,13 +222,22 @@ class PackageBuilder {
             return;
         }
 
-        JSONObject jsonObject = new JSONObject(map);
-        String jsonString = jsonObject.toString();
+        String jsonString = JsonWriter.toJson(map);
 
         addString(parameters, key, jsonString);
     }
 
-    private void addBoolean(Map<String, String> parameters, String key, Boolean value) {
+    private static void addMapJson(Map<String, String> parameters, String key, Map<String, String> map, String encodedJson) {
+        // already encoded by an event template
+        if (encodedJson != null) {
+            addString(parameters, key, encodedJson);
+            return;
+        }
+
+        addMapJson(parameters, key, map);
+    }
+
+    static void addBoolean(Map<String, String> parameters, String key, Boolean value) {
         if (value == null) {
             return;
         }
@@ -285,7 +247,7 @@ class PackageBuilder {
         addInt(parameters, key, intValue);
     }
 
-    private void addDouble(Map<String, String> parameters, String key, Double value) {
+    private static void addDouble(Map<String, String> parameters, String key, Double value) {
         if (value == null) return;
 
         String doubleString = String.format(Locale.US, "%.5f", value);
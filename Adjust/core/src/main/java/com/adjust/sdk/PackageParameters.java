@@ -0,0 +1,139 @@
+package com.adjust.sdk;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Package parameters made of base parameters shared by every package
+ * and a small overlay with the parameters of this package.
+ * Both are only merged when iterated, when the package is encoded.
+ */
+class PackageParameters extends AbstractMap<String, String> implements Serializable {
+    private static final long serialVersionUID = -1743213045734987126L;
+
+    private final Map<String, String> base; // shared, never modified
+    private final Map<String, String> overlay;
+    private int overriddenCount; // overlay keys also in the base
+    private transient Set<Entry<String, String>> entrySet;
+
+    PackageParameters(Map<String, String> base) {
+        this.base = base;
+        this.overlay = new HashMap<String, String>();
+    }
+
+    @Override
+    public String get(Object key) {
+        String value = overlay.get(key);
+        if (value != null || overlay.containsKey(key)) {
+            return value;
+        }
+        return base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return overlay.containsKey(key) || base.containsKey(key);
+    }
+
+    @Override
+    public String put(String key, String value) {
+        if (overlay.containsKey(key)) {
+            return overlay.put(key, value);
+        }
+
+        overlay.put(key, value);
+        if (base.containsKey(key)) {
+            overriddenCount++;
+            return base.get(key);
+        }
+        return null;
+    }
+
+    @Override
+    public String remove(Object key) {
+        if (base.containsKey(key)) {
+            throw new UnsupportedOperationException("Base parameters can't be removed");
+        }
+        return overlay.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return base.size() + overlay.size() - overriddenCount;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new MergingIterator();
+                }
+
+                @Override
+                public int size() {
+                    return PackageParameters.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    Map<String, String> getOverlay() {
+        return overlay;
+    }
+
+    // persisted as a plain map, as before the base parameters were shared
+    private Object writeReplace() throws ObjectStreamException {
+        return new HashMap<String, String>(this);
+    }
+
+    // overlay entries first, then the base entries not overridden by the overlay
+    private class MergingIterator implements Iterator<Entry<String, String>> {
+        private Iterator<Entry<String, String>> overlayIterator = overlay.entrySet().iterator();
+        private Iterator<Entry<String, String>> baseIterator = base.entrySet().iterator();
+        private Entry<String, String> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (overlayIterator.hasNext()) {
+                next = overlayIterator.next();
+                return true;
+            }
+            while (baseIterator.hasNext()) {
+                Entry<String, String> entry = baseIterator.next();
+                if (!overlay.containsKey(entry.getKey())) {
+                    next = entry;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, String> entry = next;
+            next = null;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.adjust.sdk;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports the stages a package goes through, from being tracked until its response reached the listeners.
+ * Each stage is reported once it's finished, so the time spent in a stage is the difference
+ * to the timestamp of the stage before. Without a listener, a hop only costs a volatile read.
+ */
+public class PackageTracer {
+    public enum Stage {
+        // the event was handed over to the activity handler, reported for events only
+        ENQUEUE,
+        // the package was built
+        BUILD,
+        // the package queue with the package was written to storage
+        PERSIST,
+        // the package was taken from the queue to be sent, again for every retry
+        QUEUE_WAIT,
+        // the response was read
+        HTTP,
+        // the response was parsed
+        PARSE,
+        // the listener of the response was called, or there was none to call
+        LISTENER_DISPATCH
+    }
+
+    private static volatile OnPackageStageListener listener;
+    private static final AtomicLong lastPackageId = new AtomicLong();
+
+    public static void setListener(OnPackageStageListener listener) {
+        PackageTracer.listener = listener;
+    }
+
+    // unique within the process, packages read from storage get a new one
+    static long nextPackageId() {
+        return lastPackageId.incrementAndGet();
+    }
+
+    static void trace(Stage stage, ActivityPackage activityPackage) {
+        if (listener == null) {
+            return;
+        }
+        trace(stage, activityPackage.getPackageId(), activityPackage.getActivityKind());
+    }
+
+    static void trace(Stage stage, long packageId, ActivityKind activityKind) {
+        OnPackageStageListener currentListener = listener;
+        if (currentListener == null) {
+            return;
+        }
+
+        try {
+            currentListener.onPackageStage(stage, packageId, activityKind, System.nanoTime());
+        } catch (Throwable throwable) {
+            CoreFactory.getLogger().error("Package stage listener failed (%s)", throwable.getMessage());
+        }
+    }
+}
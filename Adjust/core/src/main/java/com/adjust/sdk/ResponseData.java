@@ -16,6 +16,7 @@ public abstract class ResponseData {
     public boolean willRetry;
     public JSONObject jsonResponse;
     public AdjustAttribution attribution;
+    long packageId;
 
     public static ResponseData buildResponseData(ActivityPackage activityPackage) {
         ActivityKind activityKind = activityPackage.getActivityKind();
@@ -39,6 +40,7 @@ public abstract class ResponseData {
         }
 
         responseData.activityKind = activityKind;
+        responseData.packageId = activityPackage.getPackageId();
 
         return responseData;
     }
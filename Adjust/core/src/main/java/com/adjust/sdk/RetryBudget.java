@@ -0,0 +1,106 @@
+package com.adjust.sdk;
+
+import java.util.Locale;
+
+/**
+ * Token bucket shared by every sender of the process to bound the total retry traffic.
+ * Each retry takes a token; successful requests put tokens back.
+ * A token is also added every refill interval, so that retries can still reach
+ * the server when no request succeeds for a long time.
+ */
+public class RetryBudget {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final double DEFAULT_SUCCESS_REFILL = 1.0;
+    private static final long DEFAULT_REFILL_INTERVAL = Constants.ONE_MINUTE;
+
+    private final int capacity;
+    private final double successRefill;
+    private final long refillInterval;
+
+    // negative when retries were deferred, the debt is paid by refills
+    private double tokens;
+    private long lastRefill;
+
+    private long grantedRetries;
+    private long deferredRetries;
+    private long successes;
+
+    public RetryBudget() {
+        this(DEFAULT_CAPACITY, DEFAULT_SUCCESS_REFILL, DEFAULT_REFILL_INTERVAL);
+    }
+
+    public RetryBudget(int capacity, double successRefill, long refillInterval) {
+        this.capacity = capacity;
+        this.successRefill = successRefill;
+        this.refillInterval = refillInterval;
+        this.tokens = capacity;
+        this.lastRefill = CoreFactory.getClock().elapsedRealtime();
+    }
+
+    // takes a token for one retry
+    // returns how long the retry has to be deferred, in addition to its own backoff
+    public synchronized long acquireRetry() {
+        refill();
+
+        tokens -= 1;
+        if (tokens >= 0) {
+            grantedRetries++;
+            return 0;
+        }
+
+        deferredRetries++;
+        long deferTime = (long) Math.ceil(-tokens * refillInterval);
+
+        String secondsString = Util.SecondsDisplayFormat.format(deferTime / 1000.0);
+        CoreFactory.getLogger().debug("Retry budget exhausted, deferring retry for %s seconds", secondsString);
+
+        return deferTime;
+    }
+
+    public synchronized void recordSuccess() {
+        refill();
+
+        successes++;
+        tokens = Math.min(capacity, tokens + successRefill);
+    }
+
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getGrantedRetries() {
+        return grantedRetries;
+    }
+
+    public synchronized long getDeferredRetries() {
+        return deferredRetries;
+    }
+
+    public synchronized long getSuccesses() {
+        return successes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        refill();
+        return String.format(Locale.US, "tokens:%.2f/%d granted:%d deferred:%d successes:%d",
+                tokens, capacity, grantedRetries, deferredRetries, successes);
+    }
+
+    private void refill() {
+        long now = CoreFactory.getClock().elapsedRealtime();
+        long elapsed = now - lastRefill;
+        lastRefill = now;
+
+        if (elapsed <= 0 || refillInterval <= 0) {
+            return;
+        }
+
+        tokens = Math.min(capacity, tokens + (double) elapsed / refillInterval);
+    }
+}
@@ -0,0 +1,142 @@
+package com.adjust.sdk;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Callback and partner parameters sent with every session and event package.
+ * Never modified: a change creates new session parameters, so packages can keep a reference
+ * to the ones they were built with and only merge them when their request is sent.
+ */
+public class SessionParameters implements Serializable {
+    private static final long serialVersionUID = -2834960164632743520L;
+
+    static final String CALLBACK_PARAMS = "callback_params";
+    static final String PARTNER_PARAMS = "partner_params";
+
+    private final LinkedHashMap<String, String> callbackParameters;
+    private final LinkedHashMap<String, String> partnerParameters;
+
+    private transient String callbackParametersJson;
+    private transient String partnerParametersJson;
+
+    SessionParameters() {
+        this(new LinkedHashMap<String, String>(), new LinkedHashMap<String, String>());
+    }
+
+    private SessionParameters(LinkedHashMap<String, String> callbackParameters,
+                              LinkedHashMap<String, String> partnerParameters) {
+        this.callbackParameters = callbackParameters;
+        this.partnerParameters = partnerParameters;
+    }
+
+    public Map<String, String> getCallbackParameters() {
+        return Collections.unmodifiableMap(callbackParameters);
+    }
+
+    public Map<String, String> getPartnerParameters() {
+        return Collections.unmodifiableMap(partnerParameters);
+    }
+
+    public boolean isEmpty() {
+        return callbackParameters.isEmpty() && partnerParameters.isEmpty();
+    }
+
+    SessionParameters withCallbackParameter(String key, String value) {
+        LinkedHashMap<String, String> parameters = new LinkedHashMap<String, String>(callbackParameters);
+        parameters.put(key, value);
+        return new SessionParameters(parameters, partnerParameters);
+    }
+
+    SessionParameters withPartnerParameter(String key, String value) {
+        LinkedHashMap<String, String> parameters = new LinkedHashMap<String, String>(partnerParameters);
+        parameters.put(key, value);
+        return new SessionParameters(callbackParameters, parameters);
+    }
+
+    SessionParameters withoutCallbackParameter(String key) {
+        LinkedHashMap<String, String> parameters = new LinkedHashMap<String, String>(callbackParameters);
+        parameters.remove(key);
+        return new SessionParameters(parameters, partnerParameters);
+    }
+
+    SessionParameters withoutPartnerParameter(String key) {
+        LinkedHashMap<String, String> parameters = new LinkedHashMap<String, String>(partnerParameters);
+        parameters.remove(key);
+        return new SessionParameters(callbackParameters, parameters);
+    }
+
+    SessionParameters withoutCallbackParameters() {
+        return new SessionParameters(new LinkedHashMap<String, String>(), partnerParameters);
+    }
+
+    SessionParameters withoutPartnerParameters() {
+        return new SessionParameters(callbackParameters, new LinkedHashMap<String, String>());
+    }
+
+    /**
+     * Returns the package parameters with these parameters merged in.
+     * Parameters of the package itself win over session parameters with the same key.
+     */
+    Map<String, String> mergeInto(Map<String, String> packageParameters) {
+        if (isEmpty()) {
+            return packageParameters;
+        }
+
+        Map<String, String> merged = new HashMap<String, String>(packageParameters);
+
+        if (!callbackParameters.isEmpty()) {
+            if (callbackParametersJson == null) {
+                callbackParametersJson = JsonWriter.toJson(callbackParameters);
+            }
+            merged.put(CALLBACK_PARAMS, mergeJson(callbackParameters, callbackParametersJson,
+                    packageParameters.get(CALLBACK_PARAMS)));
+        }
+
+        if (!partnerParameters.isEmpty()) {
+            if (partnerParametersJson == null) {
+                partnerParametersJson = JsonWriter.toJson(partnerParameters);
+            }
+            merged.put(PARTNER_PARAMS, mergeJson(partnerParameters, partnerParametersJson,
+                    packageParameters.get(PARTNER_PARAMS)));
+        }
+
+        return merged;
+    }
+
+    private static String mergeJson(Map<String, String> sessionParameters,
+                                    String sessionJson,
+                                    String packageJson) {
+        if (packageJson == null) {
+            return sessionJson;
+        }
+
+        Map<String, String> parameters = new LinkedHashMap<String, String>(sessionParameters);
+        try {
+            JSONObject packageObject = new JSONObject(packageJson);
+            Iterator<String> keys = packageObject.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                parameters.put(key, packageObject.getString(key));
+            }
+        } catch (JSONException e) {
+            CoreFactory.getLogger().error("Failed to merge session parameters (%s)", e.getMessage());
+            return packageJson;
+        }
+
+        return JsonWriter.toJson(parameters);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "callback:%s partner:%s", callbackParameters, partnerParameters);
+    }
+}
@@ -0,0 +1,104 @@
+package com.adjust.sdk;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * How long the phases of the start of the SDK took, from the construction of the activity handler
+ * until the first packages were sent. Phases run on different threads and finish in any order,
+ * a phase that didn't finish yet has no duration.
+ */
+public class StartupReport {
+    public enum Phase {
+        // the whole constructor of the activity handler, on the thread of Adjust.onCreate
+        ACTIVITY_HANDLER_CONSTRUCTION,
+        // reading the files of the attribution, the activity state and the session parameters
+        READ_ATTRIBUTION,
+        READ_ACTIVITY_STATE,
+        READ_SESSION_PARAMETERS,
+        // reading the device info, from its cache or from the system
+        DEVICE_INFO,
+        // reading the package queue file
+        READ_PACKAGE_QUEUE,
+        // starting the threads of the activity, package, request and sdk click handlers, added up
+        HANDLER_THREADS_START,
+        // since the construction started, until the response to the first package sent
+        FIRST_PACKAGE_SENT,
+        // since the construction started, until the response to the first session package
+        FIRST_SESSION_SENT
+    }
+
+    private static final long NOT_FINISHED = -1;
+
+    private final long startNanos;
+    private final AtomicLongArray durations;
+
+    public StartupReport() {
+        this.startNanos = System.nanoTime();
+        this.durations = new AtomicLongArray(Phase.values().length);
+        for (int i = 0; i < durations.length(); i++) {
+            durations.set(i, NOT_FINISHED);
+        }
+    }
+
+    // the duration of a phase that started at phaseStartNanos and just finished
+    void finished(Phase phase, long phaseStartNanos) {
+        durations.set(phase.ordinal(), System.nanoTime() - phaseStartNanos);
+    }
+
+    // the time since the report was created, only the first time
+    void finishedSinceStart(Phase phase) {
+        durations.compareAndSet(phase.ordinal(), NOT_FINISHED, System.nanoTime() - startNanos);
+    }
+
+    // for phases that run more than once
+    void add(Phase phase, long phaseStartNanos) {
+        long elapsed = System.nanoTime() - phaseStartNanos;
+        long current;
+        do {
+            current = durations.get(phase.ordinal());
+        } while (!durations.compareAndSet(phase.ordinal(), current,
+                current == NOT_FINISHED ? elapsed : current + elapsed));
+    }
+
+    public boolean hasFinished(Phase phase) {
+        return durations.get(phase.ordinal()) != NOT_FINISHED;
+    }
+
+    /**
+     * Duration of the phase in nanoseconds, or -1 when it didn't finish yet.
+     */
+    public long getDurationNanos(Phase phase) {
+        return durations.get(phase.ordinal());
+    }
+
+    /**
+     * Durations in nanoseconds of the phases that finished, in the order of the phases.
+     */
+    public Map<Phase, Long> getDurations() {
+        Map<Phase, Long> finished = new EnumMap<Phase, Long>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            long duration = durations.get(phase.ordinal());
+            if (duration != NOT_FINISHED) {
+                finished.put(phase, duration);
+            }
+        }
+        return Collections.unmodifiableMap(finished);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<Phase, Long> entry : getDurations().entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(String.format(Locale.US, "%s:%.3fms",
+                    entry.getKey().name().toLowerCase(Locale.US), entry.getValue() / 1000000.0));
+        }
+        return builder.toString();
+    }
+}
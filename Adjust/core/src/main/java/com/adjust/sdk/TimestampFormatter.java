@@ -0,0 +1,124 @@
+package com.adjust.sdk;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Formats timestamps exactly like SimpleDateFormat with the pattern
+ * yyyy-MM-dd'T'HH:mm:ss.SSS'Z'Z in the default time zone, but safe to use from any thread.
+ * Everything but the milliseconds is computed once per second and shared between threads,
+ * the milliseconds are written in a buffer owned by the calling thread.
+ */
+public class TimestampFormatter {
+    public static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'Z";
+
+    private static volatile Second cachedSecond;
+
+    private static final ThreadLocal<char[]> buffers = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[64];
+        }
+    };
+
+    // immutable, published through the volatile field
+    private static class Second {
+        final long epochSecond;
+        final char[] prefix; // yyyy-MM-ddTHH:mm:ss.
+        final char[] suffix; // Z+hhmm
+
+        Second(long epochSecond, char[] prefix, char[] suffix) {
+            this.epochSecond = epochSecond;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+    }
+
+    private TimestampFormatter() {
+    }
+
+    public static String format(long millis) {
+        long epochSecond = millis / 1000;
+        int millisOfSecond = (int) (millis % 1000);
+        if (millisOfSecond < 0) {
+            millisOfSecond += 1000;
+            epochSecond--;
+        }
+
+        Second second = cachedSecond;
+        if (second == null || second.epochSecond != epochSecond) {
+            second = formatSecond(epochSecond);
+            cachedSecond = second;
+        }
+
+        char[] prefix = second.prefix;
+        char[] suffix = second.suffix;
+        int length = prefix.length + 3 + suffix.length;
+
+        char[] buffer = buffers.get();
+        if (buffer.length < length) {
+            buffer = new char[length];
+            buffers.set(buffer);
+        }
+
+        System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+        int position = prefix.length;
+        buffer[position++] = (char) ('0' + millisOfSecond / 100);
+        buffer[position++] = (char) ('0' + millisOfSecond / 10 % 10);
+        buffer[position++] = (char) ('0' + millisOfSecond % 10);
+        System.arraycopy(suffix, 0, buffer, position, suffix.length);
+
+        return new String(buffer, 0, length);
+    }
+
+    private static Second formatSecond(long epochSecond) {
+        // read the default time zone once per second to follow time zone changes
+        Calendar calendar = new GregorianCalendar(TimeZone.getDefault(), Locale.US);
+        calendar.setTimeInMillis(epochSecond * 1000);
+
+        StringBuilder prefix = new StringBuilder(24);
+        appendPadded(prefix, calendar.get(Calendar.YEAR), 4);
+        prefix.append('-');
+        appendPadded(prefix, calendar.get(Calendar.MONTH) + 1, 2);
+        prefix.append('-');
+        appendPadded(prefix, calendar.get(Calendar.DAY_OF_MONTH), 2);
+        prefix.append('T');
+        appendPadded(prefix, calendar.get(Calendar.HOUR_OF_DAY), 2);
+        prefix.append(':');
+        appendPadded(prefix, calendar.get(Calendar.MINUTE), 2);
+        prefix.append(':');
+        appendPadded(prefix, calendar.get(Calendar.SECOND), 2);
+        prefix.append('.');
+
+        int offsetMinutes = (calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET)) / 60000;
+
+        StringBuilder suffix = new StringBuilder(6);
+        suffix.append('Z');
+        if (offsetMinutes < 0) {
+            suffix.append('-');
+            offsetMinutes = -offsetMinutes;
+        } else {
+            suffix.append('+');
+        }
+        appendPadded(suffix, offsetMinutes / 60, 2);
+        appendPadded(suffix, offsetMinutes % 60, 2);
+
+        return new Second(epochSecond, toChars(prefix), toChars(suffix));
+    }
+
+    private static void appendPadded(StringBuilder builder, int value, int minDigits) {
+        String digits = Integer.toString(value);
+        for (int i = digits.length(); i < minDigits; i++) {
+            builder.append('0');
+        }
+        builder.append(digits);
+    }
+
+    private static char[] toChars(StringBuilder builder) {
+        char[] chars = new char[builder.length()];
+        builder.getChars(0, builder.length(), chars, 0);
+        return chars;
+    }
+}
@@ -0,0 +1,288 @@
+package com.adjust.sdk;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends every package the sdk sent, with the time it was sent and how long the request took, to a file.
+ * Recordings are read back with read, for example to replay them against a test server.
+ *
+ * Every recording started on a file appends a segment: a header and records. Parameter names, paths and
+ * other repeated strings are written once per segment and then referred to by their index.
+ * Strings are written as their length and their UTF-8 bytes, a length of -1 is null.
+ */
+public class TrafficRecorder {
+    private static final int MAGIC = 0x41444a52; // ADJR
+    private static final int VERSION = 2;
+    private static final byte SEGMENT = 0;
+    private static final byte RECORD = 1;
+    private static final int NEW_NAME = -1;
+    private static final int MAX_NAMES = Short.MAX_VALUE;
+
+    private static volatile TrafficRecorder current;
+
+    private final File file;
+    private final DataOutputStream output;
+    private final Map<String, Integer> names = new HashMap<String, Integer>();
+    // every record is built here first, so that a failure never leaves half of it in the file
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream recordOutput = new DataOutputStream(recordBuffer);
+    private final List<String> recordNames = new ArrayList<String>();
+
+    /**
+     * A sent package, as it was read from a recording.
+     */
+    public static class Entry {
+        // wall clock of the sdk when the request was sent
+        public final long sentAt;
+        public final long durationMillis;
+        public final int queueSize;
+        public final ActivityPackage activityPackage;
+
+        Entry(long sentAt, long durationMillis, int queueSize, ActivityPackage activityPackage) {
+            this.sentAt = sentAt;
+            this.durationMillis = durationMillis;
+            this.queueSize = queueSize;
+            this.activityPackage = activityPackage;
+        }
+    }
+
+    private TrafficRecorder(File file) throws IOException {
+        this.file = file;
+        this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+
+        output.writeByte(SEGMENT);
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.flush();
+    }
+
+    public static synchronized void start(File file) {
+        stop();
+
+        try {
+            current = new TrafficRecorder(file);
+            CoreFactory.getLogger().info("Recording traffic to %s", file);
+        } catch (IOException e) {
+            CoreFactory.getLogger().error("Failed to start recording traffic to %s (%s)", file, e.getMessage());
+        }
+    }
+
+    public static synchronized void stop() {
+        stop(current);
+    }
+
+    // only if it's still the current recorder, it may have been replaced since it failed
+    private static synchronized void stop(TrafficRecorder recorder) {
+        if (recorder == null || recorder != current) {
+            return;
+        }
+        current = null;
+
+        synchronized (recorder) {
+            try {
+                recorder.output.close();
+            } catch (IOException e) {
+                CoreFactory.getLogger().error("Failed to close traffic recording %s (%s)", recorder.file, e.getMessage());
+            }
+        }
+    }
+
+    static void record(ActivityPackage activityPackage,
+                       Map<String, String> bodyParameters,
+                       int queueSize,
+                       long sentAt,
+                       long durationMillis) {
+        TrafficRecorder recorder = current;
+        if (recorder == null) {
+            return;
+        }
+
+        // the request and sdk click handlers record from their own threads
+        boolean failed = false;
+        synchronized (recorder) {
+            try {
+                recorder.write(activityPackage, bodyParameters, queueSize, sentAt, durationMillis);
+            } catch (IOException e) {
+                CoreFactory.getLogger().error("Failed to record traffic to %s (%s)", recorder.file, e.getMessage());
+                failed = true;
+            }
+        }
+
+        // outside of the lock of the recorder, start and stop take the lock of the class first
+        if (failed) {
+            stop(recorder);
+        }
+    }
+
+    private void write(ActivityPackage activityPackage,
+                       Map<String, String> bodyParameters,
+                       int queueSize,
+                       long sentAt,
+                       long durationMillis) throws IOException {
+        recordBuffer.reset();
+        recordNames.clear();
+        try {
+            recordOutput.writeByte(RECORD);
+            recordOutput.writeLong(sentAt);
+            recordOutput.writeLong(durationMillis);
+            recordOutput.writeInt(queueSize);
+            writeName(activityPackage.getActivityKind().name());
+            writeName(activityPackage.getPath());
+            writeName(activityPackage.getClientSdk());
+            writeString(recordOutput, activityPackage.getSuffix());
+
+            recordOutput.writeInt(bodyParameters.size());
+            for (Map.Entry<String, String> entry : bodyParameters.entrySet()) {
+                writeName(entry.getKey());
+                writeString(recordOutput, entry.getValue());
+            }
+        } catch (IOException e) {
+            // the names of the record were not written to the file
+            for (String name : recordNames) {
+                names.remove(name);
+            }
+            throw e;
+        }
+
+        recordBuffer.writeTo(output);
+
+        // a recording cut by the end of the app only loses what wasn't sent yet
+        output.flush();
+    }
+
+    private void writeName(String name) throws IOException {
+        Integer index = names.get(name);
+        if (index != null) {
+            recordOutput.writeShort(index);
+            return;
+        }
+
+        recordOutput.writeShort(NEW_NAME);
+        writeString(recordOutput, name);
+        if (names.size() < MAX_NAMES) {
+            names.put(name, names.size());
+            recordNames.add(name);
+        }
+    }
+
+    // unlike writeUTF, not limited to 65535 bytes
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        if (string == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = string.getBytes(Constants.ENCODING);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * The packages of every segment of the recording, in the order they were sent.
+     */
+    public static List<Entry> read(File file) throws IOException {
+        List<Entry> entries = new ArrayList<Entry>();
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            List<String> segmentNames = new ArrayList<String>();
+            while (true) {
+                byte type;
+                try {
+                    type = input.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                if (type == SEGMENT) {
+                    if (input.readInt() != MAGIC || input.readByte() != VERSION) {
+                        throw new IOException("Not a traffic recording of this version");
+                    }
+                    segmentNames.clear();
+                    continue;
+                }
+                if (type != RECORD) {
+                    throw new IOException("Unknown record type " + type);
+                }
+
+                try {
+                    entries.add(readEntry(input, segmentNames));
+                } catch (EOFException e) {
+                    // the app ended while it was writing the last record
+                    break;
+                }
+            }
+        } finally {
+            input.close();
+        }
+        return entries;
+    }
+
+    private static Entry readEntry(DataInputStream input, List<String> names) throws IOException {
+        long sentAt = input.readLong();
+        long durationMillis = input.readLong();
+        int queueSize = input.readInt();
+
+        ActivityKind activityKind;
+        try {
+            activityKind = ActivityKind.valueOf(readName(input, names));
+        } catch (IllegalArgumentException e) {
+            activityKind = ActivityKind.UNKNOWN;
+        }
+
+        ActivityPackage activityPackage = new ActivityPackage(activityKind);
+        activityPackage.setPath(readName(input, names));
+        activityPackage.setClientSdk(readName(input, names));
+        activityPackage.setSuffix(readString(input));
+
+        int parameterCount = input.readInt();
+        Map<String, String> parameters = new LinkedHashMap<String, String>();
+        for (int i = 0; i < parameterCount; i++) {
+            String name = readName(input, names);
+            parameters.put(name, readString(input));
+        }
+        activityPackage.setParameters(parameters);
+
+        return new Entry(sentAt, durationMillis, queueSize, activityPackage);
+    }
+
+    private static String readName(DataInputStream input, List<String> names) throws IOException {
+        int index = input.readShort();
+        if (index != NEW_NAME) {
+            return names.get(index);
+        }
+
+        String name = readString(input);
+        if (names.size() < MAX_NAMES) {
+            names.add(name);
+        }
+        return name;
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < -1) {
+            throw new IOException("Invalid string length " + length);
+        }
+
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, Constants.ENCODING);
+    }
+}
@@ -9,11 +9,6 @@
 
 package com.adjust.sdk;
 
-import android.content.Context;
-import android.content.pm.PackageManager;
-import android.os.AsyncTask;
-import android.os.Looper;
-
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -22,22 +17,20 @@ import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.DataOutputStream;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.security.MessageDigest;
 import java.text.DecimalFormat;
-import java.text.SimpleDateFormat;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
@@ -56,13 +49,11 @@ import static com.adjust.sdk.Constants.SHA1;
  */
 public class Util {
 
-    private static SimpleDateFormat dateFormat;
-    private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'Z";
     private static final String fieldReadErrorMessage = "Unable to read '%s' field in migration device with message (%s)";
     public static final DecimalFormat SecondsDisplayFormat = new DecimalFormat("0.0");
 
     private static ILogger getLogger() {
-        return AdjustFactory.getLogger();
+        return CoreFactory.getLogger();
     }
 
     protected static String createUuid() {
@@ -84,66 +75,14 @@ public class Util {
     }
 
     public static String dateFormat(long date) {
-        if (dateFormat == null) {
-            dateFormat = new SimpleDateFormat(DATE_FORMAT, Locale.US);
-        }
-        return dateFormat.format(date);
-    }
-
-    public static String getPlayAdId(Context context) {
-        return Reflection.getPlayAdId(context);
-    }
-
-    public static void getGoogleAdId(Context context, final OnDeviceIdsRead onDeviceIdRead) {
-        ILogger logger = AdjustFactory.getLogger();
-        if (Looper.myLooper() != Looper.getMainLooper()) {
-            logger.debug("GoogleAdId being read in the background");
-            String GoogleAdId = Util.getPlayAdId(context);
-
-            logger.debug("GoogleAdId read " + GoogleAdId);
-            onDeviceIdRead.onGoogleAdIdRead(GoogleAdId);
-            return;
-        }
-
-        logger.debug("GoogleAdId being read in the foreground");
-        new AsyncTask<Context,Void,String>() {
-            @Override
-            protected String doInBackground(Context... params) {
-                ILogger logger = AdjustFactory.getLogger();
-                Context innerContext = params[0];
-                String innerResult = Util.getPlayAdId(innerContext);
-                logger.debug("GoogleAdId read " + innerResult);
-                return innerResult;
-            }
-
-            @Override
-            protected void onPostExecute(String playAdiId) {
-                ILogger logger = AdjustFactory.getLogger();
-                onDeviceIdRead.onGoogleAdIdRead(playAdiId);
-            }
-        }.execute(context);
-    }
-
-    public static Boolean isPlayTrackingEnabled(Context context) {
-        return Reflection.isPlayTrackingEnabled(context);
-    }
-
-    public static String getMacAddress(Context context) {
-        return Reflection.getMacAddress(context);
-    }
-
-    public static Map<String, String> getPluginKeys(Context context) {
-        return Reflection.getPluginKeys(context);
-    }
-    public static String getAndroidId(Context context) {
-        return Reflection.getAndroidId(context);
+        return TimestampFormatter.format(date);
     }
 
-    public static <T> T readObject(Context context, String filename, String objectName, Class<T> type) {
+    public static <T> T readObject(IStorage storage, String filename, String objectName, Class<T> type) {
         Closeable closable = null;
         T object = null;
         try {
-            FileInputStream inputStream = context.openFileInput(filename);
+            InputStream inputStream = storage.openInput(filename);
             closable = inputStream;
 
             BufferedInputStream bufferedStream = new BufferedInputStream(inputStream);
@@ -178,10 +117,10 @@ public class Util {
         return object;
     }
 
-    public static <T> void writeObject(T object, Context context, String filename, String objectName) {
+    public static <T> void writeObject(T object, IStorage storage, String filename, String objectName) {
         Closeable closable = null;
         try {
-            FileOutputStream outputStream = context.openFileOutput(filename, Context.MODE_PRIVATE);
+            OutputStream outputStream = storage.openOutput(filename);
             closable = outputStream;
 
             BufferedOutputStream bufferedStream = new BufferedOutputStream(outputStream);
@@ -238,6 +177,9 @@ public class Util {
             }
         }
 
+        CoreFactory.getMetricsRegistry().bytesReceived.add(sb.length());
+        PackageTracer.trace(PackageTracer.Stage.HTTP, activityPackage);
+
         ResponseData responseData = ResponseData.buildResponseData(activityPackage);
 
         String stringResponse = sb.toString();
@@ -256,6 +198,8 @@ public class Util {
             responseData.message = message;
         }
 
+        PackageTracer.trace(PackageTracer.Stage.PARSE, activityPackage);
+
         if (jsonResponse == null) {
             return responseData;
         }
@@ -283,27 +227,13 @@ public class Util {
         return responseData;
     }
 
-    public static AdjustFactory.URLGetConnection createGETHttpsURLConnection(String urlString, String clientSdk)
-            throws IOException
-    {
-        URL url = new URL(urlString);
-        AdjustFactory.URLGetConnection urlGetConnection = AdjustFactory.getHttpsURLGetConnection(url);
-
-        HttpsURLConnection connection = urlGetConnection.httpsURLConnection;
-        setDefaultHttpsUrlConnectionProperties(connection, clientSdk);
-
-        connection.setRequestMethod("GET");
-
-        return urlGetConnection;
-    }
-
     public static HttpsURLConnection createPOSTHttpsURLConnection(String urlString, String clientSdk,
                                                                   Map<String, String> parameters,
                                                                   int queueSize)
             throws IOException
     {
         URL url = new URL(urlString);
-        HttpsURLConnection connection = AdjustFactory.getHttpsURLConnection(url);
+        HttpsURLConnection connection = CoreFactory.getHttpsURLConnection(url);
 
         setDefaultHttpsUrlConnectionProperties(connection, clientSdk);
         connection.setRequestMethod("POST");
@@ -313,14 +243,17 @@ public class Util {
         connection.setDoOutput(true);
 
         DataOutputStream wr = new DataOutputStream(connection.getOutputStream());
-        wr.writeBytes(getPostDataString(parameters, queueSize));
+        // url encoded, one byte per character
+        String postData = getPostDataString(parameters, queueSize);
+        wr.writeBytes(postData);
+        CoreFactory.getMetricsRegistry().bytesSent.add(postData.length());
         wr.flush();
         wr.close();
 
         return connection;
     }
 
-    private static String getPostDataString(Map<String, String> body, int queueSize) throws UnsupportedEncodingException {
+    static String getPostDataString(Map<String, String> body, int queueSize) throws UnsupportedEncodingException {
         StringBuilder result = new StringBuilder();
 
         for(Map.Entry<String, String> entry : body.entrySet()) {
@@ -336,7 +269,7 @@ public class Util {
             result.append(encodedValue);
         }
 
-        long now = System.currentTimeMillis();
+        long now = CoreFactory.getClock().currentTimeMillis();
         String dateString = Util.dateFormat(now);
 
         result.append("&");
@@ -359,15 +292,11 @@ public class Util {
         connection.setReadTimeout(Constants.ONE_MINUTE);
     }
 
-    public static boolean checkPermission(Context context, String permission) {
-        int result = context.checkCallingOrSelfPermission(permission);
-        return result == PackageManager.PERMISSION_GRANTED;
-    }
-
     public static String readStringField(ObjectInputStream.GetField fields, String name, String defaultValue) {
         return readObjectField(fields, name, defaultValue);
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> T readObjectField(ObjectInputStream.GetField fields, String name, T defaultValue) {
         try {
             return (T) fields.get(name, defaultValue);
@@ -507,14 +436,6 @@ public class Util {
         return String.format(Locale.US, formatString, bigInt);
     }
 
-    public static String[] getSupportedAbis() {
-        return Reflection.getSupportedAbis();
-    }
-
-    public static String getCpuAbi() {
-        return Reflection.getCpuAbi();
-    }
-
     public static String getReasonString(String message, Throwable throwable) {
         if (throwable != null) {
             return String.format(Locale.US, "%s: %s", message, throwable);
@@ -0,0 +1,33 @@
+package com.adjust.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps what the core logs, written as "level message".
+ */
+public class MockLogger extends Logger {
+    private final List<String> lines = new ArrayList<String>();
+
+    public MockLogger() {
+        setLogLevel(LogLevel.VERBOSE);
+    }
+
+    @Override
+    protected synchronized void println(LogLevel level, String message) {
+        lines.add(level + " " + message);
+    }
+
+    public synchronized boolean contains(LogLevel level, String message) {
+        return lines.contains(level + " " + message);
+    }
+
+    public synchronized boolean containsLevel(LogLevel level) {
+        for (String line : lines) {
+            if (line.startsWith(level + " ")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.adjust.sdk;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestCoreFactory {
+    @Test
+    public void testJvmDefaults() {
+        // without the android module, the core logs to the standard output and measures no cpu time
+        assertEquals(Logger.class, CoreFactory.getLogger().getClass());
+        assertSame(CoreFactory.getLogger(), CoreFactory.getLogger());
+
+        IClock clock = CoreFactory.getClock();
+        assertEquals(-1, clock.threadCpuTimeNanos());
+
+        long elapsed = clock.elapsedRealtime();
+        assertTrue(clock.elapsedRealtime() >= elapsed);
+    }
+}
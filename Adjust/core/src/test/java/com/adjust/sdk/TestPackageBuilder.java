@@ -0,0 +1,149 @@
+package com.adjust.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestPackageBuilder {
+    private static final long CREATED_AT = 1000000L;
+
+    private MockLogger mockLogger;
+
+    // what the android module reads from the config, the context and the advertising id
+    static class StaticDeviceInfo implements IDeviceInfo {
+        final Map<String, String> defaultParameters = new HashMap<String, String>();
+        final Map<String, String> idsParameters = new HashMap<String, String>();
+        String defaultTracker;
+
+        StaticDeviceInfo() {
+            idsParameters.put("app_token", "123456789012");
+            idsParameters.put("environment", "sandbox");
+            idsParameters.put("gps_adid", "gpsAdid");
+
+            defaultParameters.putAll(idsParameters);
+            defaultParameters.put("package_name", "com.adjust.core.test");
+            defaultParameters.put("os_name", "linux");
+        }
+
+        @Override
+        public String getClientSdk() {
+            return "jvm4.7.0";
+        }
+
+        @Override
+        public Map<String, String> getDefaultParameters() {
+            return Collections.unmodifiableMap(defaultParameters);
+        }
+
+        @Override
+        public Map<String, String> getIdsParameters() {
+            return Collections.unmodifiableMap(idsParameters);
+        }
+
+        @Override
+        public String getDefaultTracker() {
+            return defaultTracker;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        mockLogger = new MockLogger();
+        CoreFactory.setLogger(mockLogger);
+    }
+
+    @After
+    public void tearDown() {
+        CoreFactory.setLogger(null);
+    }
+
+    @Test
+    public void testSessionPackage() {
+        StaticDeviceInfo deviceInfo = new StaticDeviceInfo();
+        deviceInfo.defaultTracker = "tracker";
+
+        ActivityState activityState = new ActivityState();
+        activityState.sessionCount = 2;
+        activityState.lastInterval = 1499;
+
+        ActivityPackage sessionPackage = new PackageBuilder(deviceInfo, activityState, CREATED_AT).buildSessionPackage();
+        Map<String, String> parameters = sessionPackage.getParameters();
+
+        assertEquals(ActivityKind.SESSION, sessionPackage.getActivityKind());
+        assertEquals("/session", sessionPackage.getPath());
+        assertEquals("jvm4.7.0", sessionPackage.getClientSdk());
+
+        // the parameters of the device info and those of the session
+        assertEquals("com.adjust.core.test", parameters.get("package_name"));
+        assertEquals("gpsAdid", parameters.get("gps_adid"));
+        assertEquals(activityState.uuid, parameters.get("android_uuid"));
+        assertEquals("2", parameters.get("session_count"));
+        assertEquals("1", parameters.get("last_interval"));
+        assertEquals("tracker", parameters.get("default_tracker"));
+        assertEquals(Util.dateFormat(CREATED_AT), parameters.get("created_at"));
+
+        // the shared parameters of the device info are not changed
+        assertFalse(deviceInfo.getDefaultParameters().containsKey("created_at"));
+        assertFalse(mockLogger.containsLevel(LogLevel.ERROR));
+    }
+
+    @Test
+    public void testEventPackage() {
+        ActivityState activityState = new ActivityState();
+        activityState.eventCount = 3;
+
+        AdjustEvent event = new AdjustEvent("abc123");
+        event.setRevenue(0.5, "EUR");
+        event.addCallbackParameter("key", "value");
+
+        ActivityPackage eventPackage = new PackageBuilder(new StaticDeviceInfo(), activityState, CREATED_AT)
+                .buildEventPackage(event);
+        Map<String, String> parameters = eventPackage.getParameters();
+
+        assertEquals("/event", eventPackage.getPath());
+        assertEquals("(0.50000 EUR, 'abc123')", eventPackage.getSuffix());
+        assertEquals("abc123", parameters.get("event_token"));
+        assertEquals("3", parameters.get("event_count"));
+        assertEquals("0.50000", parameters.get("revenue"));
+        assertEquals("{\"key\":\"value\"}", parameters.get("callback_params"));
+    }
+
+    @Test
+    public void testClickPackage() {
+        ActivityState activityState = new ActivityState();
+
+        PackageBuilder builder = new PackageBuilder(new StaticDeviceInfo(), activityState, CREATED_AT);
+        builder.reftag = "reftag";
+        ActivityPackage clickPackage = builder.buildClickPackage("reftag", CREATED_AT - 1000);
+        Map<String, String> parameters = clickPackage.getParameters();
+
+        assertEquals("/sdk_click", clickPackage.getPath());
+        assertEquals("reftag", parameters.get("source"));
+        assertEquals(Util.dateFormat(CREATED_AT - 1000), parameters.get("click_time"));
+
+        // clicks only identify the app and the device
+        assertEquals("123456789012", parameters.get("app_token"));
+        assertNull(parameters.get("package_name"));
+        assertNull(parameters.get("session_count"));
+    }
+
+    @Test
+    public void testMissingDeviceIds() {
+        StaticDeviceInfo deviceInfo = new StaticDeviceInfo();
+        deviceInfo.idsParameters.remove("gps_adid");
+
+        new PackageBuilder(deviceInfo, new ActivityState(), CREATED_AT).buildAttributionPackage();
+
+        assertTrue(mockLogger.contains(LogLevel.ERROR,
+                "Missing device id's. Please check if Proguard is correctly set with Adjust SDK"));
+    }
+}
@@ -0,0 +1,178 @@
+package com.adjust.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestPackageParameters {
+    private static final String FILENAME = "AdjustIoPackageQueue";
+    private static final String NAME = "Package queue";
+
+    private Map<String, String> base;
+    private PackageParameters parameters;
+
+    @Before
+    public void setUp() {
+        CoreFactory.setLogger(new MockLogger());
+
+        base = new HashMap<String, String>();
+        base.put("app_token", "123456789012");
+        base.put("environment", "sandbox");
+        base.put("os_name", "android");
+
+        parameters = new PackageParameters(base);
+        parameters.put("created_at", "2016-01-01T00:00:00.000Z+0000");
+        parameters.put("environment", "production");
+    }
+
+    @After
+    public void tearDown() {
+        CoreFactory.setLogger(null);
+    }
+
+    @Test
+    public void testOverriddenKeys() {
+        assertEquals("production", parameters.get("environment"));
+        assertEquals("123456789012", parameters.get("app_token"));
+        assertEquals("2016-01-01T00:00:00.000Z+0000", parameters.get("created_at"));
+        assertNull(parameters.get("unknown"));
+
+        assertTrue(parameters.containsKey("environment"));
+        assertTrue(parameters.containsKey("created_at"));
+        assertTrue(parameters.containsKey("os_name"));
+        assertFalse(parameters.containsKey("unknown"));
+
+        // the overridden key is only counted once
+        assertEquals(4, parameters.size());
+
+        // overriding it again keeps the count and returns the overlay value
+        assertEquals("production", parameters.put("environment", "staging"));
+        assertEquals(4, parameters.size());
+
+        // null values of the overlay shadow the base too
+        assertEquals("android", parameters.put("os_name", null));
+        assertNull(parameters.get("os_name"));
+        assertTrue(parameters.containsKey("os_name"));
+        assertEquals(4, parameters.size());
+
+        // the shared base is never modified
+        assertEquals("sandbox", base.get("environment"));
+        assertEquals("android", base.get("os_name"));
+        assertEquals(3, base.size());
+    }
+
+    @Test
+    public void testIteration() {
+        Map<String, String> iterated = new HashMap<String, String>();
+        int count = 0;
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            iterated.put(entry.getKey(), entry.getValue());
+            count++;
+        }
+
+        // every key once, with the overlay value for the overridden one
+        assertEquals(4, count);
+        assertEquals(parameters.size(), parameters.entrySet().size());
+        assertEquals("production", iterated.get("environment"));
+        assertEquals("123456789012", iterated.get("app_token"));
+        assertEquals("android", iterated.get("os_name"));
+        assertEquals("2016-01-01T00:00:00.000Z+0000", iterated.get("created_at"));
+
+        Iterator<Map.Entry<String, String>> iterator = parameters.entrySet().iterator();
+        iterator.next();
+        try {
+            iterator.remove();
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        assertEquals("2016-01-01T00:00:00.000Z+0000", parameters.remove("created_at"));
+        assertFalse(parameters.containsKey("created_at"));
+        assertEquals(3, parameters.size());
+
+        try {
+            parameters.remove("app_token");
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        assertTrue(parameters.containsKey("app_token"));
+    }
+
+    @Test
+    public void testEqualsHashMap() {
+        Map<String, String> expected = new HashMap<String, String>();
+        expected.put("app_token", "123456789012");
+        expected.put("environment", "production");
+        expected.put("os_name", "android");
+        expected.put("created_at", "2016-01-01T00:00:00.000Z+0000");
+
+        assertEquals(expected, parameters);
+        assertEquals(parameters, expected);
+        assertEquals(expected.hashCode(), parameters.hashCode());
+
+        // the base value of an overridden key is not part of the map
+        expected.put("environment", "sandbox");
+        assertFalse(expected.equals(parameters));
+        assertFalse(parameters.equals(expected));
+    }
+
+    @Test
+    public void testQueueRoundTrip() {
+        File directory = new File(System.getProperty("java.io.tmpdir"), "TestPackageParameters" + System.nanoTime());
+        IStorage storage = new FileStorage(directory);
+
+        // the packages of a queue share the same base
+        List<ActivityPackage> packageQueue = new ArrayList<ActivityPackage>();
+        for (int i = 0; i < 3; i++) {
+            PackageParameters packageParameters = new PackageParameters(base);
+            packageParameters.put("event_count", Integer.toString(i));
+            packageParameters.put("environment", "production");
+
+            ActivityPackage activityPackage = new ActivityPackage(ActivityKind.EVENT);
+            activityPackage.setParameters(packageParameters);
+            packageQueue.add(activityPackage);
+        }
+
+        try {
+            Util.writeObject(packageQueue, storage, FILENAME, NAME);
+            @SuppressWarnings("unchecked")
+            List<ActivityPackage> readQueue = Util.readObject(storage, FILENAME, NAME,
+                    (Class<List<ActivityPackage>>) (Class) List.class);
+
+            assertEquals(packageQueue, readQueue);
+            for (int i = 0; i < 3; i++) {
+                Map<String, String> readParameters = readQueue.get(i).getParameters();
+
+                // persisted as plain maps with the merged values
+                assertSame(HashMap.class, readParameters.getClass());
+                assertEquals(packageQueue.get(i).getParameters(), readParameters);
+                assertEquals(Integer.toString(i), readParameters.get("event_count"));
+                assertEquals("production", readParameters.get("environment"));
+                assertEquals("android", readParameters.get("os_name"));
+                assertEquals(4, readParameters.size());
+            }
+            assertNotSame(readQueue.get(0).getParameters(), readQueue.get(1).getParameters());
+        } finally {
+            storage.delete(FILENAME);
+            directory.delete();
+        }
+    }
+}
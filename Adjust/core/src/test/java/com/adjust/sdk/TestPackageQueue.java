@@ -0,0 +1,123 @@
+package com.adjust.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestPackageQueue {
+    private static final String FILENAME = "AdjustIoPackageQueue";
+    private static final String NAME = "Package queue";
+
+    private MockLogger mockLogger;
+    private File directory;
+    private IStorage storage;
+
+    @Before
+    public void setUp() {
+        mockLogger = new MockLogger();
+        CoreFactory.setLogger(mockLogger);
+
+        directory = new File(System.getProperty("java.io.tmpdir"), "TestPackageQueue" + System.nanoTime());
+        storage = new FileStorage(directory);
+    }
+
+    @After
+    public void tearDown() {
+        storage.delete(FILENAME);
+        directory.delete();
+
+        CoreFactory.setLogger(null);
+        CoreFactory.setClock(null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testQueueRoundTrip() {
+        List<ActivityPackage> packageQueue = new ArrayList<ActivityPackage>();
+        for (int i = 0; i < 3; i++) {
+            AdjustEvent event = new AdjustEvent("abc123");
+            ActivityState activityState = new ActivityState();
+            activityState.eventCount = i;
+            packageQueue.add(new PackageBuilder(new TestPackageBuilder.StaticDeviceInfo(), activityState, i)
+                    .buildEventPackage(event));
+        }
+
+        Util.writeObject(packageQueue, storage, FILENAME, NAME);
+        assertTrue(storage.length(FILENAME) > 0);
+
+        List<ActivityPackage> readQueue = Util.readObject(storage, FILENAME, NAME,
+                (Class<List<ActivityPackage>>) (Class) List.class);
+        assertEquals(packageQueue, readQueue);
+        assertEquals("2", readQueue.get(2).getParameters().get("event_count"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMissingQueue() {
+        List<ActivityPackage> readQueue = Util.readObject(storage, FILENAME, NAME,
+                (Class<List<ActivityPackage>>) (Class) List.class);
+
+        assertNull(readQueue);
+        assertTrue(mockLogger.contains(LogLevel.DEBUG, "Package queue file not found"));
+        assertEquals(0, storage.length(FILENAME));
+    }
+
+    @Test
+    public void testPostData() throws Exception {
+        final long now = 1000000L;
+        CoreFactory.setClock(new IClock() {
+            @Override
+            public long currentTimeMillis() {
+                return now;
+            }
+
+            @Override
+            public long elapsedRealtime() {
+                return now;
+            }
+
+            @Override
+            public long threadCpuTimeNanos() {
+                return -1;
+            }
+        });
+
+        Map<String, String> body = new LinkedHashMap<String, String>();
+        body.put("event_token", "abc123");
+        body.put("callback_params", "{\"key\":\"a value\"}");
+
+        String postData = Util.getPostDataString(body, 4);
+
+        String sentAt = URLEncoder.encode(Util.dateFormat(now), Constants.ENCODING);
+        assertEquals("event_token=abc123&callback_params=%7B%22key%22%3A%22a+value%22%7D"
+                + "&sent_at=" + sentAt + "&queue_size=4", postData);
+    }
+
+    @Test
+    public void testWaitingTime() {
+        // no wait before the first retry
+        assertEquals(0, Util.getWaitingTime(0, BackoffStrategy.LONG_WAIT));
+
+        // 2 minutes doubled per retry, with a jitter of 0.5 to 1
+        for (int retries = 1; retries < 5; retries++) {
+            long ceiling = (1L << (retries - 1)) * 2 * Constants.ONE_MINUTE;
+            long waitingTime = Util.getWaitingTime(retries, BackoffStrategy.LONG_WAIT);
+            assertTrue(waitingTime >= ceiling / 2 && waitingTime <= ceiling);
+        }
+
+        // up to a day
+        long waitingTime = Util.getWaitingTime(30, BackoffStrategy.LONG_WAIT);
+        assertTrue(waitingTime >= 12 * Constants.ONE_HOUR && waitingTime <= 24 * Constants.ONE_HOUR);
+    }
+}
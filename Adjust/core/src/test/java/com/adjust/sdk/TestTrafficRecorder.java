@@ -0,0 +1,82 @@
+package com.adjust.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class TestTrafficRecorder {
+    private MockLogger mockLogger;
+    private File recording;
+
+    @Before
+    public void setUp() {
+        mockLogger = new MockLogger();
+        CoreFactory.setLogger(mockLogger);
+
+        recording = new File(System.getProperty("java.io.tmpdir"), "TestTrafficRecorder" + System.nanoTime());
+    }
+
+    @After
+    public void tearDown() {
+        TrafficRecorder.stop();
+        recording.delete();
+
+        CoreFactory.setLogger(null);
+    }
+
+    @Test
+    public void testLongValues() throws Exception {
+        // above the 65535 bytes of writeUTF, in more bytes than chars
+        char[] chars = new char[40000];
+        Arrays.fill(chars, '\u00e9');
+        String longValue = new String(chars);
+
+        ActivityPackage activityPackage = new ActivityPackage(ActivityKind.EVENT);
+        activityPackage.setPath("/event");
+        activityPackage.setClientSdk("android4.7.0");
+
+        Map<String, String> parameters = new LinkedHashMap<String, String>();
+        parameters.put("callback_params", longValue);
+        parameters.put("event_token", "abc123");
+        parameters.put("partner_params", null);
+
+        TrafficRecorder.start(recording);
+        TrafficRecorder.record(activityPackage, parameters, 3, 1000, 20);
+        TrafficRecorder.stop();
+
+        // a later segment appended to the same file
+        TrafficRecorder.start(recording);
+        TrafficRecorder.record(activityPackage, parameters, 4, 2000, 30);
+        TrafficRecorder.stop();
+
+        assertFalse(mockLogger.containsLevel(LogLevel.ERROR));
+
+        List<TrafficRecorder.Entry> entries = TrafficRecorder.read(recording);
+        assertEquals(2, entries.size());
+
+        for (int i = 0; i < 2; i++) {
+            TrafficRecorder.Entry entry = entries.get(i);
+            assertEquals(1000 * (i + 1), entry.sentAt);
+            assertEquals(3 + i, entry.queueSize);
+            assertEquals(ActivityKind.EVENT, entry.activityPackage.getActivityKind());
+            assertEquals("/event", entry.activityPackage.getPath());
+            assertNull(entry.activityPackage.getSuffix());
+
+            Map<String, String> readParameters = entry.activityPackage.getParameters();
+            assertEquals(longValue, readParameters.get("callback_params"));
+            assertEquals("abc123", readParameters.get("event_token"));
+            assertNull(readParameters.get("partner_params"));
+            assertEquals(3, readParameters.size());
+        }
+    }
+}
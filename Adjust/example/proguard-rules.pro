@@ -18,6 +18,8 @@
 
 -keep class com.adjust.sdk.plugin.MacAddressUtil { java.lang.String getMacAddress(android.content.Context); }
 -keep class com.adjust.sdk.plugin.AndroidIdUtil { java.lang.String getAndroidId(android.content.Context); }
+-keep class com.adjust.sdk.AndroidLogger { <init>(); }
+-keep class com.adjust.sdk.AndroidClock { <init>(); }
 
 -keep class com.google.android.gms.common.ConnectionResult {
     int SUCCESS;
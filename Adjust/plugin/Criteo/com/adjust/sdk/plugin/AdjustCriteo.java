@@ -5,12 +5,12 @@ import android.net.Uri;
 import com.adjust.sdk.AdjustEvent;
 import com.adjust.sdk.AdjustFactory;
 import com.adjust.sdk.ILogger;
+import com.adjust.sdk.JsonWriter;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Created by pfms on 24/02/15.
@@ -153,26 +153,16 @@ public class AdjustCriteo {
             logger.warn("Criteo View Listing product ids list is null. It will sent as empty.");
             productIds = new ArrayList<String>();
         }
-        StringBuffer criteoVLValue = new StringBuffer("[");
+        JsonWriter criteoVLValue = JsonWriter.obtain().beginArray();
         int productIdsSize = productIds.size();
 
         if (productIdsSize > MAX_VIEW_LISTING_PRODUCTS) {
             logger.warn("Criteo View Listing should only have at most 3 product ids. The rest will be discarded.");
         }
-        for (int i = 0; i < productIdsSize; ) {
-            String productID = productIds.get(i);
-            String productString = String.format(Locale.US, "\"%s\"", productID);
-            criteoVLValue.append(productString);
-
-            i++;
-
-            if (i == productIdsSize || i >= MAX_VIEW_LISTING_PRODUCTS) {
-                break;
-            }
-
-            criteoVLValue.append(",");
+        for (int i = 0; i < productIdsSize && i < MAX_VIEW_LISTING_PRODUCTS; i++) {
+            criteoVLValue.value(productIds.get(i));
         }
-        criteoVLValue.append("]");
+        criteoVLValue.endArray();
         String result = null;
         try {
             result = URLEncoder.encode(criteoVLValue.toString(),"UTF-8");
@@ -187,25 +177,15 @@ public class AdjustCriteo {
             logger.warn("Criteo Event product list is empty. It will sent as empty.");
             products = new ArrayList<CriteoProduct>();
         }
-        StringBuffer criteoVBValue = new StringBuffer("[");
-        int productsSize = products.size();
-        for (int i = 0; i < productsSize; ) {
-            CriteoProduct criteoProduct = products.get(i);
-            String productString = String.format(Locale.US, "{\"i\":\"%s\",\"pr\":%f,\"q\":%d}",
-                    criteoProduct.productID,
-                    criteoProduct.price,
-                    criteoProduct.quantity);
-            criteoVBValue.append(productString);
-
-            i++;
-
-            if (i == productsSize) {
-                break;
-            }
-
-            criteoVBValue.append(",");
+        JsonWriter criteoVBValue = JsonWriter.obtain().beginArray();
+        for (CriteoProduct criteoProduct : products) {
+            criteoVBValue.beginObject()
+                    .name("i").value(criteoProduct.productID)
+                    .name("pr").value(criteoProduct.price)
+                    .name("q").value(criteoProduct.quantity)
+                    .endObject();
         }
-        criteoVBValue.append("]");
+        criteoVBValue.endArray();
         String result = null;
         try {
             result = URLEncoder.encode(criteoVBValue.toString(),"UTF-8");
@@ -3,11 +3,11 @@ package com.adjust.sdk.plugin;
 import com.adjust.sdk.AdjustEvent;
 import com.adjust.sdk.AdjustFactory;
 import com.adjust.sdk.ILogger;
+import com.adjust.sdk.JsonWriter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -365,61 +365,6 @@ public abstract class AdjustSociomantic {
     }
 
     private static String stringify(Object o) {
-        if (o == null) {
-            return "null";
-        }
-
-        if (o instanceof String) {
-            return "\"".concat((String) o).concat("\"");
-        }
-
-        if (o instanceof Integer || o instanceof Long || o instanceof Double) {
-            return o.toString();
-        }
-
-        if (o instanceof Boolean) {
-            return (Boolean) o ? "true" : "false";
-        }
-
-        if (o instanceof List) {
-            String res = "[";
-            List<Object> list = (List) o;
-            Iterator<Object> iterator = list.iterator();
-
-            while (iterator.hasNext()) {
-                Object item = iterator.next();
-                res = res.concat(stringify(item));
-
-                if (iterator.hasNext()) {
-                    res = res.concat(",");
-                }
-            }
-
-            return res.concat("]");
-        }
-
-        if (o instanceof Map) {
-            String res = "{";
-            Map<Object, Object> map = (Map) o;
-            Iterator<Entry<Object, Object>> iterator = map.entrySet().iterator();
-
-            while(iterator.hasNext()) {
-                Entry<Object, Object> entry = iterator.next();
-
-                res = res.concat(stringify(entry.getKey()))
-                        .concat(":")
-                        .concat(stringify(entry.getValue()));
-
-                if (iterator.hasNext()) {
-                    res = res.concat(",");
-                }
-            }
-
-            return res.concat("}");
-        }
-
-        logger.error("Could not parse the object ".concat(o.toString().concat(" into a JSON string, returned empty string.")));
-        return "";
-
+        return JsonWriter.toJson(o);
     }
 }
@@ -4,11 +4,10 @@ package com.adjust.sdk.plugin;
 import com.adjust.sdk.AdjustEvent;
 import com.adjust.sdk.AdjustFactory;
 import com.adjust.sdk.ILogger;
+import com.adjust.sdk.JsonWriter;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 
 
@@ -50,27 +49,14 @@ public class AdjustTrademob {
             logger.warn("TM View Listing item ids list is null. Empty ids array will be sent.");
             itemIds = new ArrayList<String>();
         }
-        StringBuffer tmViewList = new StringBuffer("[");
+        JsonWriter tmViewList = JsonWriter.obtain().beginArray();
         int itemsSize = itemIds.size();
-        int i = 0;
 
-        while (i < itemsSize) {
-            String itemId = itemIds.get(i);
-            String itemString = String.format(Locale.US, "\"%s\"", itemId);
-            tmViewList.append(itemString);
-
-            i++;
-
-            if (i == itemsSize ||  i >= MAX_LISTING_ITEMS_COUNT) {
-                break;
-            }
-
-            tmViewList.append(",");
+        for (int i = 0; i < itemsSize && i < MAX_LISTING_ITEMS_COUNT; i++) {
+            tmViewList.value(itemIds.get(i));
         }
 
-        tmViewList.append("]");
-
-        return tmViewList.toString();
+        return tmViewList.endArray().toString();
     }
 
     private static String stringifyItems(List<TrademobItem> items) {
@@ -79,51 +65,26 @@ public class AdjustTrademob {
             items = new ArrayList<TrademobItem>();
         }
 
-        StringBuffer itemsStrBuffer = new StringBuffer("[");
+        JsonWriter itemsWriter = JsonWriter.obtain().beginArray();
         int itemsSize = items.size();
 
-        for (int i = 0; i < itemsSize; ) {
+        for (int i = 0; i < itemsSize && i < MAX_LISTING_ITEMS_COUNT; i++) {
             TrademobItem item = items.get(i);
-            String itemString = String.format(Locale.US, "{\"id\":\"%s\",\"price\":%f,\"quantity\":%d}",
-                    item.itemId,
-                    item.price,
-                    item.quantity);
-            itemsStrBuffer.append(itemString);
-
-            i++;
-
-            if (i == itemsSize ||  i >= MAX_LISTING_ITEMS_COUNT) {
-                break;
-            }
-
-            itemsStrBuffer.append(",");
+            itemsWriter.beginObject()
+                    .name("id").value(item.itemId)
+                    .name("price").value(item.price)
+                    .name("quantity").value(item.quantity)
+                    .endObject();
         }
 
-        itemsStrBuffer.append("]");
-
-        return itemsStrBuffer.toString();
+        return itemsWriter.endArray().toString();
     }
 
     private static String stringifyMetadata(Map<String, String> metadata) {
-
-        if(null == metadata) {
+        if (null == metadata) {
             return "{}";
         }
-        String res = "{";
-
-        Iterator<Map.Entry<String, String>> iterator = metadata.entrySet().iterator();
-
-        while(iterator.hasNext()) {
-            Map.Entry<String, String> entry = iterator.next();
-            String key = "\"".concat(entry.getKey()).concat("\"");
-            String value = "\"".concat(entry.getValue()).concat("\"");
-            res = res.concat(key).concat(":").concat(value);
-
-            if (iterator.hasNext()) {
-                res = res.concat(",");
-            }
-        }
 
-        return res.concat("}");
+        return JsonWriter.toJson(metadata);
     }
 }
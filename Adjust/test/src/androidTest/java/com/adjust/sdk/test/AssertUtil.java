@@ -126,6 +126,10 @@ public class AssertUtil {
         Assert.assertEquals(mockLogger.toString(), expected, actual);
     }
 
+    public void isEqual(long expected, long actual) {
+        Assert.assertEquals(mockLogger.toString(), expected, actual);
+    }
+
     public void fail() {
         Assert.fail(mockLogger.toString());
     }
@@ -10,6 +10,7 @@ import com.adjust.sdk.IActivityHandler;
 import com.adjust.sdk.ResponseData;
 import com.adjust.sdk.EventResponseData;
 import com.adjust.sdk.SessionResponseData;
+import com.adjust.sdk.StartupReport;
 import com.adjust.sdk.AttributionResponseData;
 
 
@@ -21,6 +22,7 @@ public class MockActivityHandler implements IActivityHandler {
     private String prefix = "ActivityHandler ";
     private AdjustConfig config;
     private ResponseData lastResponseData;
+    private StartupReport startupReport = new StartupReport();
 
     public MockActivityHandler(MockLogger testLogger) {
         this.testLogger = testLogger;
@@ -98,6 +100,36 @@ public class MockActivityHandler implements IActivityHandler {
         testLogger.test(prefix + "sendReferrer, " + referrer + ". ClickTime, " + clickTime);
     }
 
+    @Override
+    public void addSessionCallbackParameter(String key, String value) {
+        testLogger.test(prefix + "addSessionCallbackParameter, " + key + "=" + value);
+    }
+
+    @Override
+    public void addSessionPartnerParameter(String key, String value) {
+        testLogger.test(prefix + "addSessionPartnerParameter, " + key + "=" + value);
+    }
+
+    @Override
+    public void removeSessionCallbackParameter(String key) {
+        testLogger.test(prefix + "removeSessionCallbackParameter, " + key);
+    }
+
+    @Override
+    public void removeSessionPartnerParameter(String key) {
+        testLogger.test(prefix + "removeSessionPartnerParameter, " + key);
+    }
+
+    @Override
+    public void resetSessionCallbackParameters() {
+        testLogger.test(prefix + "resetSessionCallbackParameters");
+    }
+
+    @Override
+    public void resetSessionPartnerParameters() {
+        testLogger.test(prefix + "resetSessionPartnerParameters");
+    }
+
     @Override
     public void setOfflineMode(boolean enabled) {
         testLogger.test(prefix + "setOfflineMode, " + enabled);
@@ -107,4 +139,20 @@ public class MockActivityHandler implements IActivityHandler {
     public void setAskingAttribution(boolean askingAttribution) {
         testLogger.test(prefix + "setAskingAttribution, " + askingAttribution);
     }
+
+    @Override
+    public StartupReport getStartupReport() {
+        return startupReport;
+    }
+
+    @Override
+    public int flush(long timeoutMilliseconds) {
+        testLogger.test(prefix + "flush, " + timeoutMilliseconds);
+        return 0;
+    }
+
+    @Override
+    public void teardown() {
+        testLogger.test(prefix + "teardown");
+    }
 }
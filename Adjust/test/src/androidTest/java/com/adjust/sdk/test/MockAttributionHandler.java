@@ -51,4 +51,9 @@ public class MockAttributionHandler implements IAttributionHandler {
     public void resumeSending() {
         testLogger.test(prefix + "resumeSending");
     }
+
+    @Override
+    public void teardown() {
+        testLogger.test(prefix + "teardown");
+    }
 }
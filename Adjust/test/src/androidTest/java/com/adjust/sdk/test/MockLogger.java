@@ -136,6 +136,17 @@ public class MockLogger implements ILogger {
                 Log.ASSERT);
     }
 
+    // every level is recorded
+    @Override
+    public boolean isVerboseEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return true;
+    }
+
     public void test(String message) {
         logMessage(message, TEST_LEVEL, "t", Log.VERBOSE);
     }
@@ -65,4 +65,20 @@ public class MockPackageHandler implements IPackageHandler {
     public void resumeSending() {
         testLogger.test(prefix + "resumeSending");
     }
+
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public int flush(long timeoutMilliseconds) {
+        testLogger.test(prefix + "flush, " + timeoutMilliseconds);
+        return queue.size();
+    }
+
+    @Override
+    public void teardown() {
+        testLogger.test(prefix + "teardown");
+    }
 }
@@ -36,4 +36,9 @@ public class MockRequestHandler implements IRequestHandler {
         }
         */
     }
+
+    @Override
+    public void teardown() {
+        testLogger.test(prefix + "teardown");
+    }
 }
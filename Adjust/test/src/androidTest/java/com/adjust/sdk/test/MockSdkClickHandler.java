@@ -38,4 +38,15 @@ public class MockSdkClickHandler implements ISdkClickHandler {
         testLogger.test(prefix + "sendSdkClick");
         queue.add(sdkClick);
     }
+
+    @Override
+    public int flush(long timeoutMilliseconds) {
+        testLogger.test(prefix + "flush, " + timeoutMilliseconds);
+        return queue.size();
+    }
+
+    @Override
+    public void teardown() {
+        testLogger.test(prefix + "teardown");
+    }
 }
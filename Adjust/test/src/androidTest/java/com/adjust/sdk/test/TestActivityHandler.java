@@ -16,6 +16,7 @@ import com.adjust.sdk.AdjustConfig;
 import com.adjust.sdk.AdjustEvent;
 import com.adjust.sdk.AdjustEventFailure;
 import com.adjust.sdk.AdjustEventSuccess;
+import com.adjust.sdk.AdjustEventTemplate;
 import com.adjust.sdk.AdjustFactory;
 import com.adjust.sdk.AdjustSessionFailure;
 import com.adjust.sdk.AdjustSessionSuccess;
@@ -32,10 +33,15 @@ import com.adjust.sdk.OnSessionTrackingFailedListener;
 import com.adjust.sdk.OnSessionTrackingSucceededListener;
 import com.adjust.sdk.ResponseData;
 import com.adjust.sdk.SessionResponseData;
+import com.adjust.sdk.StartupReport;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 public class TestActivityHandler extends ActivityInstrumentationTestCase2<UnitTestActivity> {
     protected MockLogger mockLogger;
@@ -67,6 +73,8 @@ public class TestActivityHandler extends ActivityInstrumentationTestCase2<UnitTe
         AdjustFactory.setPackageHandler(mockPackageHandler);
         AdjustFactory.setAttributionHandler(mockAttributionHandler);
         AdjustFactory.setSdkClickHandler(mockSdkClickHandler);
+        // end subsessions right away, unless a test checks the grace interval
+        AdjustFactory.setLifecycleGraceInterval(0);
 
         activity = getActivity();
         context = activity.getApplicationContext();
@@ -74,6 +82,7 @@ public class TestActivityHandler extends ActivityInstrumentationTestCase2<UnitTe
         // deleting the activity state file to simulate a first session
         boolean activityStateDeleted = ActivityHandler.deleteActivityState(context);
         boolean attributionDeleted = ActivityHandler.deleteAttribution(context);
+        ActivityHandler.deleteSessionParameters(context);
 
         mockLogger.test("Was AdjustActivityState deleted? " + activityStateDeleted);
 
@@ -94,8 +103,10 @@ public class TestActivityHandler extends ActivityInstrumentationTestCase2<UnitTe
         AdjustFactory.setLogger(null);
         AdjustFactory.setTimerInterval(-1);
         AdjustFactory.setTimerStart(-1);
+        AdjustFactory.setTimerMaxInterval(-1);
         AdjustFactory.setSessionInterval(-1);
         AdjustFactory.setSubsessionInterval(-1);
+        AdjustFactory.setLifecycleGraceInterval(-1);
 
         activity = null;
         context = null;
@@ -1005,6 +1016,55 @@ public class TestActivityHandler extends ActivityInstrumentationTestCase2<UnitTe
         checkFinishTasks(config, failureDelegatesPresent);
     }
 
+    public void testCallbackExecutor() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestActivityHandler testCallbackExecutor");
+
+        // create the config to start the session
+        AdjustConfig config = getConfig();
+
+        config.setOnSessionTrackingSucceededListener(new OnSessionTrackingSucceededListener() {
+            @Override
+            public void onFinishedSessionTrackingSucceeded(AdjustSessionSuccess sessionSuccessResponseData) {
+                mockLogger.test("onFinishedSessionTrackingSucceeded: " + sessionSuccessResponseData);
+            }
+        });
+
+        // hold the dispatches to run them later
+        final List<Runnable> dispatches = new ArrayList<Runnable>();
+        config.setCallbackExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                mockLogger.test("Callback executor execute");
+                dispatches.add(command);
+            }
+        });
+
+        ActivityHandler activityHandler = startAndCheckFirstSession(config);
+
+        ActivityPackage firstSessionPackage = mockPackageHandler.queue.get(0);
+        SessionResponseData successSessionResponseData = (SessionResponseData) ResponseData.buildResponseData(firstSessionPackage);
+        successSessionResponseData.success = true;
+
+        // responses arriving in a burst
+        activityHandler.launchSessionResponseTasks(successSessionResponseData);
+        activityHandler.launchSessionResponseTasks(successSessionResponseData);
+        SystemClock.sleep(1000);
+
+        assertUtil.debug("Launching success session tracking listener");
+        assertUtil.debug("Launching success session tracking listener");
+
+        // both callbacks are batched in one dispatch
+        assertUtil.test("Callback executor execute");
+        assertUtil.notInTest("Callback executor execute");
+        assertUtil.isEqual(1, dispatches.size());
+
+        dispatches.get(0).run();
+
+        assertUtil.test("onFinishedSessionTrackingSucceeded: ");
+        assertUtil.test("onFinishedSessionTrackingSucceeded: ");
+    }
+
     public void testLaunchDeepLink() {
         // assert test name to read better in logcat
         mockLogger.Assert("TestActivityHandler testLaunchDeepLink");
@@ -1779,6 +1839,125 @@ public class TestActivityHandler extends ActivityInstrumentationTestCase2<UnitTe
         checkForegroundTimerFired(false);
     }
 
+    public void testForegroundTimerBackoff() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestActivityHandler testForegroundTimerBackoff");
+
+        AdjustFactory.setTimerInterval(2000);
+        AdjustFactory.setTimerStart(2000);
+        AdjustFactory.setTimerMaxInterval(4000);
+
+        // create the config to start the session
+        AdjustConfig config = getConfig();
+
+        // start activity handler with config
+        ActivityHandler activityHandler = startAndCheckFirstSession(config);
+
+        // empty the queue to have nothing left to send
+        mockPackageHandler.queue.clear();
+
+        // wait enough to fire the first cycle
+        SystemClock.sleep(1500);
+
+        checkForegroundTimerFired(true);
+
+        // nothing to send, timer backs off
+        assertUtil.notInTest("PackageHandler sendFirstPackage");
+        assertUtil.verbose("Foreground timer idle, cycle every 4.0 seconds");
+
+        // track an event to have something to send
+        activityHandler.trackEvent(new AdjustEvent("event1"));
+
+        SystemClock.sleep(1000);
+
+        // timer goes back to the initial cycle
+        assertUtil.verbose("Foreground timer woken up, cycle every 2.0 seconds");
+        assertUtil.test("PackageHandler addPackage");
+        assertUtil.test("PackageHandler sendFirstPackage");
+
+        // wait enough for the next cycle
+        SystemClock.sleep(2000);
+
+        checkForegroundTimerFired(true);
+        assertUtil.test("PackageHandler sendFirstPackage");
+        assertUtil.notInVerbose("Foreground timer idle");
+    }
+
+    public void testLifecycleGraceInterval() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestActivityHandler testLifecycleGraceInterval");
+
+        AdjustFactory.setLifecycleGraceInterval(500);
+
+        // create the config to start the session
+        AdjustConfig config = getConfig();
+
+        // start activity handler with config
+        ActivityHandler activityHandler = startAndCheckFirstSession(config);
+
+        // switch activities, pause and resume within the grace interval
+        activityHandler.onPause();
+        SystemClock.sleep(100);
+        activityHandler.onResume();
+
+        SystemClock.sleep(1000);
+
+        // the subsession did not end nor start again
+        assertUtil.verbose("Subsession continues");
+        assertUtil.notInVerbose("Foreground timer suspended");
+        assertUtil.notInVerbose("Subsession end");
+        assertUtil.notInVerbose("Subsession start");
+        assertUtil.notInDebug("Wrote Activity state");
+
+        // go to the background for longer than the grace interval
+        stopActivity(activityHandler);
+
+        SystemClock.sleep(1000);
+
+        // the subsession ends after the grace interval
+        checkOnPause(false, false);
+        assertUtil.debug("Wrote Activity state");
+
+        // resume after the grace interval
+        activityHandler.onResume();
+
+        SystemClock.sleep(1000);
+
+        assertUtil.notInVerbose("Subsession continues");
+        assertUtil.verbose("Subsession start");
+    }
+
+    public void testDeviceInfoCache() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestActivityHandler testDeviceInfoCache");
+
+        // simulate the first launch with this sdk
+        context.deleteFile(Constants.DEVICE_INFO_CACHE_FILENAME);
+
+        // create the config to start the session
+        AdjustConfig config = getConfig();
+
+        ActivityHandler.getInstance(config);
+        SystemClock.sleep(2000);
+
+        // expensive fields are read and persisted
+        assertUtil.debug("Device info cache file not found");
+        assertUtil.debug("Device info read in ");
+        assertUtil.debug("Wrote Device info cache");
+
+        // simulate the next launch
+        ActivityHandler.getInstance(config);
+        SystemClock.sleep(2000);
+
+        // expensive fields are read from the cache
+        assertUtil.debug("Read Device info cache");
+        assertUtil.debug("Device info read from cache in ");
+
+        // and read again in the background for the next launch
+        assertUtil.debug("Wrote Device info cache");
+        assertUtil.notInDebug("Device info changed since the last launch");
+    }
+
     public void testSendBackground() {
         // assert test name to read better in logcat
         mockLogger.Assert("TestActivityHandler testSendBackground");
@@ -1932,6 +2111,228 @@ public class TestActivityHandler extends ActivityInstrumentationTestCase2<UnitTe
         checkHandlerStatus(false);
     }
 
+    public void testFlushAndTeardown() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestActivityHandler testFlushAndTeardown");
+
+        // create the config to start the session
+        AdjustConfig config = getConfig();
+
+        // start activity handler with config
+        ActivityHandler activityHandler = startAndCheckFirstSession(config);
+
+        // flush returns the packages left in the package handler and the sdk click handler
+        int packagesRemaining = activityHandler.flush(1000);
+
+        assertEquals(1, packagesRemaining);
+
+        // it should write the activity state before flushing the handlers
+        assertUtil.debug("Wrote Activity state");
+        assertUtil.test("PackageHandler resumeSending");
+        assertUtil.test("SdkClickHandler resumeSending");
+        assertUtil.test("PackageHandler flush, ");
+        assertUtil.test("SdkClickHandler flush, ");
+
+        activityHandler.teardown();
+
+        SystemClock.sleep(1000);
+
+        // persist the state one last time
+        assertUtil.debug("Wrote Activity state");
+
+        // stop the timers
+        assertUtil.verbose("Foreground timer teardown");
+        assertUtil.verbose("Background timer teardown");
+
+        // and every handler
+        assertUtil.test("PackageHandler teardown");
+        assertUtil.test("AttributionHandler teardown");
+        assertUtil.test("SdkClickHandler teardown");
+
+        // the activity handler no longer processes calls
+        activityHandler.trackEvent(new AdjustEvent("abc123"));
+
+        SystemClock.sleep(1000);
+
+        assertUtil.notInTest("PackageHandler addPackage");
+    }
+
+    public void testStartupReport() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestActivityHandler testStartupReport");
+
+        // create the config to start the session
+        AdjustConfig config = getConfig();
+
+        // start activity handler with config
+        ActivityHandler activityHandler = startAndCheckFirstSession(config);
+
+        StartupReport startupReport = activityHandler.getStartupReport();
+
+        // the phases of the activity handler finished with the first session
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.ACTIVITY_HANDLER_CONSTRUCTION));
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.READ_ATTRIBUTION));
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.READ_ACTIVITY_STATE));
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.READ_SESSION_PARAMETERS));
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.DEVICE_INFO));
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.HANDLER_THREADS_START));
+
+        // the package queue is read by the package handler, mocked here
+        assertUtil.isFalse(startupReport.hasFinished(StartupReport.Phase.READ_PACKAGE_QUEUE));
+        assertUtil.isEqual(-1L, startupReport.getDurationNanos(StartupReport.Phase.READ_PACKAGE_QUEUE));
+
+        // nothing was sent yet
+        assertUtil.isFalse(startupReport.hasFinished(StartupReport.Phase.FIRST_PACKAGE_SENT));
+        assertUtil.isFalse(startupReport.hasFinished(StartupReport.Phase.FIRST_SESSION_SENT));
+
+        // the response to the first session package
+        ActivityPackage firstSessionPackage = mockPackageHandler.queue.get(0);
+        activityHandler.finishedTrackingActivity(ResponseData.buildResponseData(firstSessionPackage));
+
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.FIRST_PACKAGE_SENT));
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.FIRST_SESSION_SENT));
+
+        // only the first response counts
+        long firstSessionSent = startupReport.getDurationNanos(StartupReport.Phase.FIRST_SESSION_SENT);
+        SystemClock.sleep(100);
+        activityHandler.finishedTrackingActivity(ResponseData.buildResponseData(firstSessionPackage));
+        assertUtil.isEqual(firstSessionSent, startupReport.getDurationNanos(StartupReport.Phase.FIRST_SESSION_SENT));
+
+        // the construction started first and is part of the first response time
+        assertUtil.isTrue(startupReport.getDurationNanos(StartupReport.Phase.ACTIVITY_HANDLER_CONSTRUCTION)
+                < firstSessionSent);
+        assertUtil.isEqual(8, startupReport.getDurations().size());
+    }
+
+    public void testEventTemplate() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestActivityHandler testEventTemplate");
+
+        // create the config to start the session
+        AdjustConfig config = getConfig();
+
+        // start activity handler with config
+        ActivityHandler activityHandler = startAndCheckFirstSession(config);
+
+        // invalid tokens are only reported once, by the template
+        AdjustEventTemplate invalidTemplate = new AdjustEventTemplate("abc");
+        assertUtil.error("Malformed Event Token 'abc'");
+        assertUtil.isFalse(invalidTemplate.isValid());
+        assertUtil.isFalse(invalidTemplate.newEvent().isValid());
+
+        AdjustEventTemplate template = new AdjustEventTemplate("event1");
+        template.addCallbackParameter("keyCall", "valueCall");
+        template.addPartnerParameter("keyPartner", "valuePartner");
+
+        // only with the parameters of the template
+        activityHandler.trackEvent(template.newEvent());
+
+        // with its own revenue and parameters
+        AdjustEvent secondEvent = template.newEvent();
+        secondEvent.setRevenue(0.001, "EUR");
+        secondEvent.addCallbackParameter("fooCall", "barCall");
+        secondEvent.addPartnerParameter("keyPartner", "valuePartner2");
+        activityHandler.trackEvent(secondEvent);
+
+        // the template is not changed by the second event
+        activityHandler.trackEvent(template.newEvent());
+
+        SystemClock.sleep(2000);
+
+        assertUtil.warn("key keyPartner was overwritten");
+
+        // 1 session + 3 events
+        assertEquals(4, mockPackageHandler.queue.size());
+
+        TestActivityPackage testFirstEventPackage = new TestActivityPackage(mockPackageHandler.queue.get(1));
+        testFirstEventPackage.eventCount = "1";
+        testFirstEventPackage.suffix = "'event1'";
+        testFirstEventPackage.callbackParams = "{\"keyCall\":\"valueCall\"}";
+        testFirstEventPackage.partnerParams = "{\"keyPartner\":\"valuePartner\"}";
+        testFirstEventPackage.testEventPackage("event1");
+
+        TestActivityPackage testSecondEventPackage = new TestActivityPackage(mockPackageHandler.queue.get(2));
+        testSecondEventPackage.eventCount = "2";
+        testSecondEventPackage.suffix = "(0.00100 EUR, 'event1')";
+        testSecondEventPackage.revenueString = "0.00100";
+        testSecondEventPackage.currency = "EUR";
+        testSecondEventPackage.callbackParams = "{\"keyCall\":\"valueCall\",\"fooCall\":\"barCall\"}";
+        testSecondEventPackage.partnerParams = "{\"keyPartner\":\"valuePartner2\"}";
+        testSecondEventPackage.testEventPackage("event1");
+
+        TestActivityPackage testThirdEventPackage = new TestActivityPackage(mockPackageHandler.queue.get(3));
+        testThirdEventPackage.eventCount = "3";
+        testThirdEventPackage.suffix = "'event1'";
+        testThirdEventPackage.callbackParams = "{\"keyCall\":\"valueCall\"}";
+        testThirdEventPackage.partnerParams = "{\"keyPartner\":\"valuePartner\"}";
+        testThirdEventPackage.testEventPackage("event1");
+    }
+
+    public void testSessionParameters() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestActivityHandler testSessionParameters");
+
+        // create the config to start the session
+        AdjustConfig config = getConfig();
+
+        // start activity handler with config
+        ActivityHandler activityHandler = startAndCheckFirstSession(config);
+
+        activityHandler.addSessionCallbackParameter("sessionKey", "sessionValue");
+        activityHandler.addSessionCallbackParameter("sessionKey", "sessionValue2");
+        activityHandler.addSessionCallbackParameter("overridden", "sessionValue");
+        activityHandler.addSessionPartnerParameter("partnerKey", "partnerValue");
+        activityHandler.removeSessionPartnerParameter("missing");
+
+        SystemClock.sleep(1000);
+
+        assertUtil.debug("Wrote Session parameters");
+        assertUtil.warn("key sessionKey was overwritten");
+        assertUtil.warn("Key missing does not exist");
+
+        AdjustEvent firstEvent = new AdjustEvent("event1");
+        firstEvent.addCallbackParameter("overridden", "eventValue");
+        firstEvent.addCallbackParameter("eventKey", "eventValue");
+        activityHandler.trackEvent(firstEvent);
+
+        activityHandler.trackEvent(new AdjustEvent("event2"));
+
+        activityHandler.resetSessionCallbackParameters();
+        activityHandler.trackEvent(new AdjustEvent("event3"));
+
+        SystemClock.sleep(1000);
+
+        // 1 session + 3 events
+        assertEquals(4, mockPackageHandler.queue.size());
+
+        ActivityPackage firstEventPackage = mockPackageHandler.queue.get(1);
+        ActivityPackage secondEventPackage = mockPackageHandler.queue.get(2);
+        ActivityPackage thirdEventPackage = mockPackageHandler.queue.get(3);
+
+        // the packages only keep their own parameters
+        assertEquals("{\"overridden\":\"eventValue\",\"eventKey\":\"eventValue\"}",
+                firstEventPackage.getParameters().get("callback_params"));
+        assertNull(firstEventPackage.getParameters().get("partner_params"));
+
+        // and share the session parameters
+        assertSame(firstEventPackage.getSessionParameters(), secondEventPackage.getSessionParameters());
+
+        // merged when sent, the event parameters win
+        Map<String, String> firstBody = firstEventPackage.getBodyParameters();
+        assertEquals("{\"sessionKey\":\"sessionValue2\",\"overridden\":\"eventValue\",\"eventKey\":\"eventValue\"}",
+                firstBody.get("callback_params"));
+        assertEquals("{\"partnerKey\":\"partnerValue\"}", firstBody.get("partner_params"));
+
+        Map<String, String> secondBody = secondEventPackage.getBodyParameters();
+        assertEquals("{\"sessionKey\":\"sessionValue2\",\"overridden\":\"sessionValue\"}",
+                secondBody.get("callback_params"));
+
+        // reset callback parameters
+        Map<String, String> thirdBody = thirdEventPackage.getBodyParameters();
+        assertNull(thirdBody.get("callback_params"));
+        assertEquals("{\"partnerKey\":\"partnerValue\"}", thirdBody.get("partner_params"));
+    }
+
     public void checkFinishTasks(AdjustConfig config,
                                  DelegatesPresent delegatesPresent)
     {
@@ -0,0 +1,144 @@
+package com.adjust.sdk.test;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.AdvertisingIdProvider;
+import com.adjust.sdk.Constants;
+
+public class TestAdvertisingIdProvider extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+    private UnitTestActivity activity;
+    private Context context;
+
+    public TestAdvertisingIdProvider() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestAdvertisingIdProvider(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mockLogger = new MockLogger();
+
+        assertUtil = new AssertUtil(mockLogger);
+
+        AdjustFactory.setLogger(mockLogger);
+
+        activity = getActivity();
+        context = activity.getApplicationContext();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        AdjustFactory.setLogger(null);
+    }
+
+    public void testCachedRead() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestAdvertisingIdProvider testCachedRead");
+
+        AdvertisingIdProvider provider = new AdvertisingIdProvider(context, Constants.ONE_HOUR);
+
+        // first read goes to Play Services
+        AdvertisingIdProvider.Snapshot firstSnapshot = provider.getSnapshot();
+
+        assertUtil.verbose("Advertising id read in ");
+        assertUtil.isEqual(1, (int) provider.getMisses());
+        assertUtil.isEqual(0, (int) provider.getHits());
+        assertUtil.isEqual(1, (int) provider.getRefreshes());
+
+        // following reads use the cached values
+        AdvertisingIdProvider.Snapshot secondSnapshot = provider.getSnapshot();
+        provider.getPlayAdId();
+        provider.isPlayTrackingEnabled();
+
+        SystemClock.sleep(500);
+
+        assertUtil.isTrue(firstSnapshot == secondSnapshot);
+        assertUtil.notInVerbose("Advertising id read in ");
+        assertUtil.isEqual(1, (int) provider.getMisses());
+        assertUtil.isEqual(3, (int) provider.getHits());
+        assertUtil.isEqual(1, (int) provider.getRefreshes());
+    }
+
+    public void testStaleRead() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestAdvertisingIdProvider testStaleRead");
+
+        // every read is stale
+        AdvertisingIdProvider provider = new AdvertisingIdProvider(context, 0);
+
+        AdvertisingIdProvider.Snapshot firstSnapshot = provider.getSnapshot();
+
+        assertUtil.verbose("Advertising id read in ");
+
+        // stale values are returned right away and refreshed in the background
+        AdvertisingIdProvider.Snapshot secondSnapshot = provider.getSnapshot();
+
+        assertUtil.isTrue(firstSnapshot == secondSnapshot);
+
+        SystemClock.sleep(1000);
+
+        assertUtil.verbose("Advertising id read in ");
+        assertUtil.isEqual(1, (int) provider.getMisses());
+        assertUtil.isEqual(1, (int) provider.getHits());
+        assertUtil.isEqual(2, (int) provider.getRefreshes());
+
+        // the values did not change
+        assertUtil.notInDebug("Advertising id changed");
+    }
+
+    public void testMissingValuesRetried() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestAdvertisingIdProvider testMissingValuesRetried");
+
+        // read values are kept for an hour, missing ones are retried right away
+        AdvertisingIdProvider provider = new AdvertisingIdProvider(context, Constants.ONE_HOUR, 0);
+
+        AdvertisingIdProvider.Snapshot firstSnapshot = provider.getSnapshot();
+        AdvertisingIdProvider.Snapshot secondSnapshot = provider.getSnapshot();
+
+        // the read values are returned while retrying in the background
+        assertUtil.isTrue(firstSnapshot == secondSnapshot);
+
+        SystemClock.sleep(1000);
+
+        // depends on the Play Services of the device
+        if (firstSnapshot.playAdId == null) {
+            assertUtil.isEqual(2, (int) provider.getRefreshes());
+        } else {
+            assertUtil.isEqual(1, (int) provider.getRefreshes());
+        }
+        assertUtil.isEqual(1, (int) provider.getMisses());
+        assertUtil.isEqual(1, (int) provider.getHits());
+    }
+
+    public void testTeardown() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestAdvertisingIdProvider testTeardown");
+
+        // every read is stale
+        AdvertisingIdProvider provider = new AdvertisingIdProvider(context, 0);
+        AdvertisingIdProvider.Snapshot firstSnapshot = provider.getSnapshot();
+
+        provider.teardown();
+
+        assertUtil.verbose("AdvertisingIdProvider teardown");
+
+        // the cached values are still returned, without refreshing them
+        assertUtil.isTrue(firstSnapshot == provider.getSnapshot());
+
+        SystemClock.sleep(1000);
+
+        assertUtil.isEqual(1, (int) provider.getRefreshes());
+    }
+}
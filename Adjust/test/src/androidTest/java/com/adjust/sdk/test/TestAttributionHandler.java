@@ -98,6 +98,7 @@ public class TestAttributionHandler extends ActivityInstrumentationTestCase2<Uni
         AdjustFactory.setHttpsURLConnection(null);
         AdjustFactory.setActivityHandler(null);
         AdjustFactory.setLogger(null);
+        AdjustFactory.setRetryBudget(null);
 
         activity = null;
         context = null;
@@ -0,0 +1,59 @@
+package com.adjust.sdk.test;
+
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.AndroidClock;
+import com.adjust.sdk.AndroidLogger;
+import com.adjust.sdk.CoreFactory;
+import com.adjust.sdk.IClock;
+
+public class TestCoreFactory extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+
+    public TestCoreFactory() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestCoreFactory(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mockLogger = new MockLogger();
+
+        assertUtil = new AssertUtil(mockLogger);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        AdjustFactory.setLogger(null);
+        AdjustFactory.setClock(null);
+    }
+
+    public void testAndroidDefaults() {
+        // nothing set, the core uses the adapters of the android module
+        AdjustFactory.setLogger(null);
+        AdjustFactory.setClock(null);
+
+        boolean androidLogger = CoreFactory.getLogger() instanceof AndroidLogger;
+        boolean androidClock = CoreFactory.getClock() instanceof AndroidClock;
+
+        AdjustFactory.setLogger(mockLogger);
+
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestCoreFactory testAndroidDefaults");
+
+        assertUtil.isTrue(androidLogger);
+        assertUtil.isTrue(androidClock);
+
+        // the cpu time of the thread is measured on the device
+        IClock clock = CoreFactory.getClock();
+        assertUtil.isTrue(clock.threadCpuTimeNanos() >= 0);
+    }
+}
@@ -0,0 +1,153 @@
+package com.adjust.sdk.test;
+
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.Adjust;
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.LogLevel;
+import com.adjust.sdk.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestDiagnosticLog extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+
+    public TestDiagnosticLog() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestDiagnosticLog(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mockLogger = new MockLogger();
+
+        assertUtil = new AssertUtil(mockLogger);
+
+        AdjustFactory.setLogger(mockLogger);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        Adjust.disableDiagnosticLog();
+        AdjustFactory.setLogger(null);
+    }
+
+    public void testRecords() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestDiagnosticLog testRecords");
+
+        // production logging, nothing goes to logcat
+        Logger logger = new Logger();
+        logger.setLogLevel(LogLevel.ASSERT);
+        assertUtil.isFalse(logger.isDebugEnabled());
+
+        Adjust.enableDiagnosticLog(4, LogLevel.DEBUG);
+
+        // the guarded arguments are built for the diagnostic log
+        assertUtil.isTrue(logger.isDebugEnabled());
+        assertUtil.isFalse(logger.isVerboseEnabled());
+
+        logger.verbose("not kept %d", 0);
+        for (int i = 1; i <= 6; i++) {
+            logger.debug("record %d of %s", i, "six");
+        }
+        logger.error("broken %d", "template");
+
+        String[] lines = Adjust.dumpDiagnosticLog().split("\n");
+
+        // the last four records, oldest first
+        assertUtil.isEqual(4, lines.length);
+        assertUtil.isTrue(lines[0].endsWith(" D [" + Thread.currentThread().getName() + "] record 4 of six"));
+        assertUtil.isTrue(lines[1].endsWith("record 5 of six"));
+        assertUtil.isTrue(lines[2].endsWith("record 6 of six"));
+
+        // a template that doesn't fit its arguments is dumped with them
+        assertUtil.isTrue(lines[3].endsWith(" E [" + Thread.currentThread().getName() + "] broken %d [template]"));
+
+        // nothing is kept once disabled
+        Adjust.disableDiagnosticLog();
+        logger.error("not kept");
+
+        assertUtil.isEqual("", Adjust.dumpDiagnosticLog());
+        assertUtil.isFalse(logger.isDebugEnabled());
+    }
+
+    public void testInvalidCapacity() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestDiagnosticLog testInvalidCapacity");
+
+        Adjust.enableDiagnosticLog(0, LogLevel.DEBUG);
+
+        assertUtil.error("Invalid diagnostic log capacity 0 or level DEBUG");
+
+        // can't be rounded up to a power of two
+        Adjust.enableDiagnosticLog((1 << 30) + 1, LogLevel.DEBUG);
+
+        assertUtil.error("Invalid diagnostic log capacity 1073741825 or level DEBUG");
+
+        Adjust.enableDiagnosticLog(Integer.MAX_VALUE, LogLevel.DEBUG);
+
+        assertUtil.error("Invalid diagnostic log capacity 2147483647 or level DEBUG");
+
+        // nothing is kept
+        new Logger().debug("not kept");
+
+        assertUtil.isEqual("", Adjust.dumpDiagnosticLog());
+    }
+
+    public void testConcurrentRecords() throws InterruptedException {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestDiagnosticLog testConcurrentRecords");
+
+        final Logger logger = new Logger();
+        logger.setLogLevel(LogLevel.ASSERT);
+
+        // rounded up to 64 records
+        Adjust.enableDiagnosticLog(50, LogLevel.INFO);
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            final int threadIndex = t;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        logger.info("thread %d record %d", threadIndex, i);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        String[] lines = Adjust.dumpDiagnosticLog().split("\n");
+        assertUtil.isEqual(64, lines.length);
+
+        // the records of every thread are kept in the order they were written
+        for (int t = 0; t < 8; t++) {
+            String prefix = "thread " + t + " record ";
+            int lastRecord = -1;
+            for (String line : lines) {
+                int index = line.indexOf(prefix);
+                if (index < 0) {
+                    continue;
+                }
+                int record = Integer.parseInt(line.substring(index + prefix.length()));
+                assertUtil.isTrue(record > lastRecord);
+                lastRecord = record;
+            }
+        }
+    }
+}
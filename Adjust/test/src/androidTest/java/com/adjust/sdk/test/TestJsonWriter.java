@@ -0,0 +1,117 @@
+package com.adjust.sdk.test;
+
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.JsonWriter;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestJsonWriter extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+
+    public TestJsonWriter() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestJsonWriter(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mockLogger = new MockLogger();
+
+        assertUtil = new AssertUtil(mockLogger);
+
+        AdjustFactory.setLogger(mockLogger);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        AdjustFactory.setLogger(null);
+    }
+
+    public void testWriter() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestJsonWriter testWriter");
+
+        String json = JsonWriter.obtain()
+                .beginArray()
+                .beginObject()
+                .name("i").value("product")
+                .name("pr").value(12.5f)
+                .name("q").value(3)
+                .endObject()
+                .beginObject()
+                .name("empty").beginArray().endArray()
+                .name("valid").value(true)
+                .name("none").nullValue()
+                .name("nan").value(Double.NaN)
+                .endObject()
+                .endArray()
+                .toString();
+
+        assertUtil.isEqual("[{\"i\":\"product\",\"pr\":12.5,\"q\":3},{\"empty\":[],\"valid\":true,\"none\":null,\"nan\":null}]", json);
+
+        // the buffer of the thread is reused
+        assertUtil.isEqual("[]", JsonWriter.obtain().beginArray().endArray().toString());
+    }
+
+    public void testNumbers() throws JSONException {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestJsonWriter testNumbers");
+
+        Map<String, Object> product = new LinkedHashMap<String, Object>();
+        product.put("pr", new BigDecimal("9.99"));
+        product.put("large", new BigDecimal("1E+3"));
+        product.put("id", new BigInteger("123456789012345678901234567890"));
+        product.put("q", 3);
+        product.put("count", new AtomicLong(7));
+
+        String json = JsonWriter.toJson(product);
+
+        // the fraction and the digits of the prices are kept
+        assertUtil.isEqual("{\"pr\":9.99,\"large\":1000,\"id\":123456789012345678901234567890,\"q\":3,\"count\":7}", json);
+        assertUtil.isTrue(new JSONObject(json).getDouble("pr") == 9.99);
+    }
+
+    public void testEscaping() throws JSONException {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestJsonWriter testEscaping");
+
+        String tricky = "quote\" backslash\\ slash/ newline\n tab\t bell\u0007 separator\u2028 \u00e4";
+
+        String json = JsonWriter.toJson(tricky);
+        assertUtil.isEqual("\"quote\\\" backslash\\\\ slash/ newline\\n tab\\t bell\\u0007 separator\\u2028 \u00e4\"", json);
+
+        // read back by org.json
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("key\"", tricky);
+        map.put("list", Arrays.asList("a", 1, 2.5, false, null));
+
+        JSONObject jsonObject = new JSONObject(JsonWriter.toJson(map));
+        assertUtil.isEqual(tricky, jsonObject.getString("key\""));
+
+        JSONArray list = jsonObject.getJSONArray("list");
+        assertUtil.isEqual(5, list.length());
+        assertUtil.isEqual("a", list.getString(0));
+        assertUtil.isEqual(1, list.getInt(1));
+        assertUtil.isTrue(list.getDouble(2) == 2.5);
+        assertUtil.isFalse(list.getBoolean(3));
+        assertUtil.isTrue(list.isNull(4));
+    }
+}
@@ -0,0 +1,125 @@
+package com.adjust.sdk.test;
+
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.ActivityKind;
+import com.adjust.sdk.ActivityPackage;
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.LogLevel;
+import com.adjust.sdk.Logger;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class TestLogger extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private static final int BENCHMARK_ITERATIONS = 20000;
+
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+
+    public TestLogger() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestLogger(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mockLogger = new MockLogger();
+
+        assertUtil = new AssertUtil(mockLogger);
+
+        AdjustFactory.setLogger(mockLogger);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        AdjustFactory.setLogger(null);
+    }
+
+    public void testLevelGuards() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestLogger testLevelGuards");
+
+        Logger logger = new Logger();
+
+        logger.setLogLevel(LogLevel.VERBOSE);
+        assertUtil.isTrue(logger.isVerboseEnabled());
+        assertUtil.isTrue(logger.isDebugEnabled());
+
+        logger.setLogLevel(LogLevel.DEBUG);
+        assertUtil.isFalse(logger.isVerboseEnabled());
+        assertUtil.isTrue(logger.isDebugEnabled());
+
+        logger.setLogLevel(LogLevel.ASSERT);
+        assertUtil.isFalse(logger.isVerboseEnabled());
+        assertUtil.isFalse(logger.isDebugEnabled());
+    }
+
+    public void testBenchmark() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestLogger testBenchmark");
+
+        // production logging, as when tracking an event
+        Logger logger = new Logger();
+        logger.setLogLevel(LogLevel.ASSERT);
+
+        ActivityPackage eventPackage = new ActivityPackage(ActivityKind.EVENT);
+        Map<String, String> parameters = new HashMap<String, String>();
+        for (int i = 0; i < 30; i++) {
+            parameters.put("parameter" + i, "value" + i);
+        }
+        eventPackage.setParameters(parameters);
+        eventPackage.setPath("/event");
+        eventPackage.setSuffix("'abc123'");
+
+        // warm up both
+        for (int i = 0; i < BENCHMARK_ITERATIONS / 10; i++) {
+            logEager(logger, eventPackage, i);
+            logGuarded(logger, eventPackage, i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            logEager(logger, eventPackage, i);
+        }
+        long eagerNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            logGuarded(logger, eventPackage, i);
+        }
+        long guardedNanos = System.nanoTime() - start;
+
+        mockLogger.test(String.format(Locale.US, "Logging off, eager arguments %d ns/event, guarded %d ns/event",
+                eagerNanos / BENCHMARK_ITERATIONS,
+                guardedNanos / BENCHMARK_ITERATIONS));
+
+        assertUtil.isTrue(guardedNanos < eagerNanos);
+    }
+
+    // what the package handler logged for every event before the guards
+    private static void logEager(Logger logger, ActivityPackage eventPackage, int queueSize) {
+        logger.debug("Added package %d (%s)", queueSize, eventPackage);
+        logger.verbose("%s", eventPackage.getExtendedString());
+        logger.debug("Package handler wrote %d packages", queueSize);
+    }
+
+    private static void logGuarded(Logger logger, ActivityPackage eventPackage, int queueSize) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Added package %d (%s)", queueSize, eventPackage);
+        }
+        if (logger.isVerboseEnabled()) {
+            logger.verbose("%s", eventPackage.getExtendedString());
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Package handler wrote %d packages", queueSize);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.adjust.sdk.test;
+
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestMetricsRegistry extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+
+    public TestMetricsRegistry() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestMetricsRegistry(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mockLogger = new MockLogger();
+
+        assertUtil = new AssertUtil(mockLogger);
+
+        AdjustFactory.setLogger(mockLogger);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        AdjustFactory.setLogger(null);
+    }
+
+    public void testMetrics() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestMetricsRegistry testMetrics");
+
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+        metricsRegistry.counter("counter").increment();
+        metricsRegistry.counter("counter").add(10);
+        metricsRegistry.gauge("gauge").set(5);
+        metricsRegistry.gauge("gauge").set(3);
+
+        MetricsRegistry.Histogram histogram = metricsRegistry.histogram("histogram");
+        histogram.record(10);
+        histogram.record(50);
+        histogram.record(51);
+        histogram.record(600);
+        histogram.record(60000);
+
+        MetricsRegistry.Snapshot snapshot = metricsRegistry.snapshot();
+
+        assertUtil.isEqual(11L, (long) snapshot.counters.get("counter"));
+        assertUtil.isEqual(3L, (long) snapshot.gauges.get("gauge"));
+
+        MetricsRegistry.HistogramSnapshot histogramSnapshot = snapshot.histograms.get("histogram");
+        assertUtil.isEqual(5L, histogramSnapshot.count);
+        assertUtil.isEqual(60711L, histogramSnapshot.sum);
+        assertUtil.isEqual(60000L, histogramSnapshot.max);
+        assertUtil.isEqual(MetricsRegistry.LATENCY_BUCKETS.length + 1, histogramSnapshot.counts.length);
+
+        // up to 50, up to 100, up to 1000 and above the last bound
+        assertUtil.isEqual(2L, histogramSnapshot.counts[0]);
+        assertUtil.isEqual(1L, histogramSnapshot.counts[1]);
+        assertUtil.isEqual(1L, histogramSnapshot.counts[4]);
+        assertUtil.isEqual(1L, histogramSnapshot.counts[histogramSnapshot.counts.length - 1]);
+
+        // snapshots don't change with the metrics
+        metricsRegistry.counter("counter").increment();
+        histogram.record(1);
+        assertUtil.isEqual(11L, (long) snapshot.counters.get("counter"));
+        assertUtil.isEqual(5L, histogramSnapshot.count);
+
+        try {
+            snapshot.counters.put("counter", 0L);
+            assertUtil.fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    public void testConcurrentUpdates() throws InterruptedException {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestMetricsRegistry testConcurrentUpdates");
+
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        final int threadCount = 8;
+        final int updates = 10000;
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t++) {
+            final int threadIndex = t;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < updates; i++) {
+                        // looked up every time to race on creation too
+                        metricsRegistry.counter("counter").increment();
+                        metricsRegistry.histogram("histogram").record(threadIndex * 100 + i % 100);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        MetricsRegistry.Snapshot snapshot = metricsRegistry.snapshot();
+        assertUtil.isEqual((long) threadCount * updates, (long) snapshot.counters.get("counter"));
+
+        MetricsRegistry.HistogramSnapshot histogramSnapshot = snapshot.histograms.get("histogram");
+        assertUtil.isEqual((long) threadCount * updates, histogramSnapshot.count);
+        assertUtil.isEqual((threadCount - 1) * 100L + 99, histogramSnapshot.max);
+
+        long bucketTotal = 0;
+        for (long count : histogramSnapshot.counts) {
+            bucketTotal += count;
+        }
+        assertUtil.isEqual((long) threadCount * updates, bucketTotal);
+    }
+}
@@ -0,0 +1,161 @@
+package com.adjust.sdk.test;
+
+import android.os.SystemClock;
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.Adjust;
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.IClock;
+import com.adjust.sdk.OnOverheadBudgetExceededListener;
+import com.adjust.sdk.OverheadMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestOverheadMonitor extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+
+    public TestOverheadMonitor() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestOverheadMonitor(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // errors take long, as if the sdk did disk io on the thread of the caller
+        mockLogger = new MockLogger() {
+            @Override
+            public void error(String message, Object... parameters) {
+                SystemClock.sleep(10);
+                super.error(message, parameters);
+            }
+        };
+
+        assertUtil = new AssertUtil(mockLogger);
+
+        AdjustFactory.setLogger(mockLogger);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        Adjust.setOverheadBudget(0, 0, null);
+        AdjustFactory.setLogger(null);
+        AdjustFactory.setClock(null);
+    }
+
+    public void testViolations() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestOverheadMonitor testViolations");
+
+        final List<OverheadMonitor.Violation> violations = new ArrayList<OverheadMonitor.Violation>();
+        Adjust.setOverheadBudget(1000, 1000, new OnOverheadBudgetExceededListener() {
+            @Override
+            public void onOverheadBudgetExceeded(OverheadMonitor.Violation violation) {
+                violations.add(violation);
+            }
+        });
+
+        // the sdk is not initialized, so the call logs an error
+        Adjust.setOfflineMode(true);
+
+        assertUtil.error("Adjust not initialized correctly");
+
+        // reported on the thread of the caller, before the call returned
+        assertUtil.isEqual(1, violations.size());
+
+        OverheadMonitor.Violation violation = violations.get(0);
+        assertUtil.isEqual("Adjust.setOfflineMode", violation.api);
+        assertUtil.isFalse(violation.mainThread);
+        assertUtil.isEqual(Thread.currentThread().getName(), violation.threadName);
+        assertUtil.isEqual(1000000L, violation.budgetNanos);
+        assertUtil.isTrue(violation.wallNanos >= 10000000L);
+        // sleeping takes no cpu time
+        assertUtil.isTrue(violation.cpuNanos >= 0);
+        assertUtil.isTrue(violation.cpuNanos < violation.wallNanos);
+    }
+
+    public void testUnmeasuredCpuTime() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestOverheadMonitor testUnmeasuredCpuTime");
+
+        // a clock without cpu time, as outside of Android
+        AdjustFactory.setClock(new IClock() {
+            @Override
+            public long currentTimeMillis() {
+                return System.currentTimeMillis();
+            }
+
+            @Override
+            public long elapsedRealtime() {
+                return SystemClock.elapsedRealtime();
+            }
+
+            @Override
+            public long threadCpuTimeNanos() {
+                return -1;
+            }
+        });
+
+        final List<OverheadMonitor.Violation> violations = new ArrayList<OverheadMonitor.Violation>();
+        Adjust.setOverheadBudget(1000, 1000, new OnOverheadBudgetExceededListener() {
+            @Override
+            public void onOverheadBudgetExceeded(OverheadMonitor.Violation violation) {
+                violations.add(violation);
+            }
+        });
+
+        Adjust.setOfflineMode(true);
+
+        assertUtil.error("Adjust not initialized correctly");
+        assertUtil.isEqual(1, violations.size());
+
+        // not reported as a measured cpu time of 0
+        OverheadMonitor.Violation violation = violations.get(0);
+        assertUtil.isEqual(-1L, violation.cpuNanos);
+        assertUtil.isTrue(violation.toString().contains("(cpu n/a)"));
+    }
+
+    public void testBudgets() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestOverheadMonitor testBudgets");
+
+        // without a listener, violations are logged
+        Adjust.setOverheadBudget(1000, 1000, null);
+
+        Adjust.trackEvent(null);
+
+        assertUtil.error("Adjust not initialized correctly");
+        assertUtil.warn("Adjust.trackEvent took ");
+
+        // the budget is larger than the call
+        Adjust.setOverheadBudget(1000, 1000000, null);
+
+        Adjust.trackEvent(null);
+
+        assertUtil.error("Adjust not initialized correctly");
+        assertUtil.notInWarn("Adjust.trackEvent took ");
+
+        // calls on other threads than the main one are not checked
+        Adjust.setOverheadBudget(1000, 0, null);
+
+        Adjust.trackEvent(null);
+
+        assertUtil.error("Adjust not initialized correctly");
+        assertUtil.notInWarn("Adjust.trackEvent took ");
+
+        // and nothing is checked without budgets
+        Adjust.setOverheadBudget(0, 0, null);
+
+        Adjust.trackEvent(null);
+
+        assertUtil.error("Adjust not initialized correctly");
+        assertUtil.notInWarn("Adjust.trackEvent took ");
+    }
+}
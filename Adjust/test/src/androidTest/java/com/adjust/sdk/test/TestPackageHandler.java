@@ -9,7 +9,9 @@ import com.adjust.sdk.ActivityPackage;
 import com.adjust.sdk.AdjustFactory;
 import com.adjust.sdk.BackoffStrategy;
 import com.adjust.sdk.Constants;
+import com.adjust.sdk.MetricsRegistry;
 import com.adjust.sdk.PackageHandler;
+import com.adjust.sdk.StartupReport;
 import com.adjust.sdk.ResponseData;
 import com.adjust.sdk.UnknownResponseData;
 
@@ -58,6 +60,8 @@ public class TestPackageHandler extends ActivityInstrumentationTestCase2<UnitTes
 
         AdjustFactory.setRequestHandler(null);
         AdjustFactory.setLogger(null);
+        AdjustFactory.setRetryBudget(null);
+        AdjustFactory.setMetricsRegistry(null);
     }
 
     public void testAddPackage() {
@@ -106,6 +110,52 @@ public class TestPackageHandler extends ActivityInstrumentationTestCase2<UnitTes
         assertUtil.test("RequestHandler sendPackage, queueSize 0");
     }
 
+    public void testMetrics() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestPackageHandler testMetrics");
+
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        AdjustFactory.setMetricsRegistry(metricsRegistry);
+
+        PackageHandler packageHandler = startPackageHandler();
+
+        packageHandler.addPackage(createClickPackage("FirstPackage"));
+        packageHandler.addPackage(createClickPackage("SecondPackage"));
+        SystemClock.sleep(1000);
+
+        MetricsRegistry.Snapshot snapshot = metricsRegistry.snapshot();
+        assertUtil.isEqual(2L, (long) snapshot.counters.get(MetricsRegistry.PACKAGES_ADDED));
+        assertUtil.isEqual(2L, (long) snapshot.gauges.get(MetricsRegistry.PACKAGE_QUEUE_SIZE));
+        assertUtil.isTrue(snapshot.gauges.get(MetricsRegistry.PACKAGE_QUEUE_FILE_BYTES) > 0);
+        long twoPackagesHeapBytes = snapshot.gauges.get(MetricsRegistry.PACKAGE_QUEUE_HEAP_BYTES);
+        assertUtil.isTrue(twoPackagesHeapBytes > 0);
+
+        packageHandler.sendFirstPackage();
+        SystemClock.sleep(1000);
+
+        packageHandler.sendNextPackage(null);
+        SystemClock.sleep(1000);
+
+        snapshot = metricsRegistry.snapshot();
+        assertUtil.isEqual(1L, (long) snapshot.gauges.get(MetricsRegistry.PACKAGE_QUEUE_SIZE));
+        assertUtil.isEqual(0L, (long) snapshot.counters.get(MetricsRegistry.PACKAGE_RETRIES));
+
+        // the sent package no longer counts
+        long onePackageHeapBytes = snapshot.gauges.get(MetricsRegistry.PACKAGE_QUEUE_HEAP_BYTES);
+        assertUtil.isTrue(onePackageHeapBytes > 0);
+        assertUtil.isTrue(onePackageHeapBytes < twoPackagesHeapBytes);
+
+        // the estimate of the queue read again is the same
+        packageHandler.teardown();
+        SystemClock.sleep(1000);
+
+        new PackageHandler(mockActivityHandler, context, true);
+        SystemClock.sleep(1000);
+
+        snapshot = metricsRegistry.snapshot();
+        assertUtil.isEqual(onePackageHeapBytes, (long) snapshot.gauges.get(MetricsRegistry.PACKAGE_QUEUE_HEAP_BYTES));
+    }
+
     public void testSendFirst() {
         // assert test name to read better in logcat
         mockLogger.Assert("TestPackageHandler testSendFirst");
@@ -317,6 +367,11 @@ public class TestPackageHandler extends ActivityInstrumentationTestCase2<UnitTes
 
         assertUtil.debug("Package queue file not found");
 
+        // reading the queue and starting the request handler are part of the startup
+        StartupReport startupReport = mockActivityHandler.getStartupReport();
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.READ_PACKAGE_QUEUE));
+        assertUtil.isTrue(startupReport.hasFinished(StartupReport.Phase.HANDLER_THREADS_START));
+
         return packageHandler;
     }
 
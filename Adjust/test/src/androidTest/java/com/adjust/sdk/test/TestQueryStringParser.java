@@ -0,0 +1,120 @@
+package com.adjust.sdk.test;
+
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.QueryStringParser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestQueryStringParser extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private static final String ADJUST_PREFIX = "adjust_";
+
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+
+    public TestQueryStringParser() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestQueryStringParser(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mockLogger = new MockLogger();
+
+        assertUtil = new AssertUtil(mockLogger);
+
+        AdjustFactory.setLogger(mockLogger);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        AdjustFactory.setLogger(null);
+    }
+
+    public void testParse() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestQueryStringParser testParse");
+
+        Map<String, String> parameters = parse("adjust_foo=bar&other=stuff&adjust_key=value");
+        assertUtil.isEqual(2, parameters.size());
+        assertUtil.isEqual("bar", parameters.get("foo"));
+        assertUtil.isEqual("value", parameters.get("key"));
+
+        // values can contain '=', the last of repeated keys wins
+        parameters = parse("adjust_foo=a=b&adjust_key=first&adjust_key=second");
+        assertUtil.isEqual(2, parameters.size());
+        assertUtil.isEqual("a=b", parameters.get("foo"));
+        assertUtil.isEqual("second", parameters.get("key"));
+
+        // incomplete pairs are skipped
+        parameters = parse("adjust_foo&adjust_=bar&adjust_key=&&=value&adjust_valid=1&");
+        assertUtil.isEqual(1, parameters.size());
+        assertUtil.isEqual("1", parameters.get("valid"));
+
+        parameters = parse("");
+        assertUtil.isEqual(0, parameters.size());
+    }
+
+    public void testDecode() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestQueryStringParser testDecode");
+
+        Map<String, String> parameters = parse("adjust_campaign=summer%20sale%20%C3%A4&adjust_tracker=a%26b%3Dc");
+        assertUtil.isEqual("summer sale \u00e4", parameters.get("campaign"));
+        assertUtil.isEqual("a&b=c", parameters.get("tracker"));
+
+        // deep links keep '+', as Uri.getQuery does
+        parameters = parse("adjust_label=a+b&adjust_sum=1%2B1");
+        assertUtil.isEqual("a+b", parameters.get("label"));
+        assertUtil.isEqual("1+1", parameters.get("sum"));
+
+        // the prefix is matched on the decoded key
+        parameters = parse("adjust%5Ftracker=abc&%61djust_label=def&adjust%5F=empty&other%5Fkey=ghi");
+        assertUtil.isEqual(2, parameters.size());
+        assertUtil.isEqual("abc", parameters.get("tracker"));
+        assertUtil.isEqual("def", parameters.get("label"));
+
+        // the form decoding of referrers turns '+' into a space
+        assertUtil.isEqual("a b", QueryStringParser.decode("a+b"));
+
+        // malformed escapes are kept
+        assertUtil.isEqual("100%", QueryStringParser.decode("100%"));
+        assertUtil.isEqual("%zz%4", QueryStringParser.decode("%zz%4"));
+
+        // nothing to decode
+        assertUtil.isEqual("plain", QueryStringParser.decode("plain"));
+
+        // install referrers arrive encoded as a whole
+        assertUtil.isEqual("adjust_reftag=abc&utm_source=test",
+                QueryStringParser.decode("adjust_reftag%3Dabc%26utm_source%3Dtest"));
+    }
+
+    public void testReferrerRoundTrip() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestQueryStringParser testReferrerRoundTrip");
+
+        // decoded as a whole by the receiver, the pairs are not decoded again
+        String referrer = QueryStringParser.decode("adjust_reftag%3Dabc%2Bdef%26adjust_campaign%3D100%2525");
+        assertUtil.isEqual("adjust_reftag=abc+def&adjust_campaign=100%25", referrer);
+
+        Map<String, String> parameters = new LinkedHashMap<String, String>();
+        QueryStringParser.parseDecoded(referrer, ADJUST_PREFIX, parameters);
+        assertUtil.isEqual(2, parameters.size());
+        assertUtil.isEqual("abc+def", parameters.get("reftag"));
+        assertUtil.isEqual("100%25", parameters.get("campaign"));
+    }
+
+    private Map<String, String> parse(String queryString) {
+        Map<String, String> parameters = new LinkedHashMap<String, String>();
+        QueryStringParser.parse(queryString, ADJUST_PREFIX, parameters);
+        return parameters;
+    }
+}
@@ -0,0 +1,158 @@
+package com.adjust.sdk.test;
+
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.Reflection;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+public class TestReflection extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private static final int BENCHMARK_ITERATIONS = 100000;
+    private static final String MISSING_CLASS = "com.adjust.sdk.test.MissingClass";
+
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+
+    public TestReflection() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestReflection(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    // invoked by reflection
+    public static String echo(String value) {
+        return value;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mockLogger = new MockLogger();
+
+        assertUtil = new AssertUtil(mockLogger);
+
+        AdjustFactory.setLogger(mockLogger);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        AdjustFactory.setLogger(null);
+    }
+
+    public void testLookups() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestReflection testLookups");
+
+        // missing classes are cached and keep failing the same way
+        for (int i = 0; i < 2; i++) {
+            assertUtil.isTrue(Reflection.forName(MISSING_CLASS) == null);
+
+            try {
+                Reflection.invokeStaticMethod(MISSING_CLASS, "echo", new Class[]{String.class}, "value");
+                assertUtil.fail();
+            } catch (ClassNotFoundException e) {
+                // expected
+            } catch (Exception e) {
+                assertUtil.fail();
+            }
+        }
+
+        // missing methods as well
+        for (int i = 0; i < 2; i++) {
+            try {
+                Reflection.invokeStaticMethod(TestReflection.class.getName(), "missingMethod", null);
+                assertUtil.fail();
+            } catch (NoSuchMethodException e) {
+                // expected
+            } catch (Exception e) {
+                assertUtil.fail();
+            }
+        }
+
+        // cached methods are still invoked with the new arguments
+        try {
+            assertUtil.isEqual("first", (String) Reflection.invokeStaticMethod(TestReflection.class.getName(),
+                    "echo", new Class[]{String.class}, "first"));
+            assertUtil.isEqual("second", (String) Reflection.invokeStaticMethod(TestReflection.class.getName(),
+                    "echo", new Class[]{String.class}, "second"));
+        } catch (Exception e) {
+            assertUtil.fail();
+        }
+
+        // the presence checks don't change between calls
+        assertUtil.isTrue(Reflection.isPlayServicesPresent() == Reflection.isPlayServicesPresent());
+        if (!Reflection.isMacAddressUtilPresent()) {
+            assertUtil.isTrue(Reflection.getMacAddress(getActivity()) == null);
+        }
+        if (!Reflection.isAndroidIdUtilPresent()) {
+            assertUtil.isTrue(Reflection.getAndroidId(getActivity()) == null);
+        }
+    }
+
+    public void testBenchmark() throws Exception {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestReflection testBenchmark");
+
+        String className = TestReflection.class.getName();
+        Class[] cArgs = new Class[]{String.class};
+
+        // warm up both
+        for (int i = 0; i < BENCHMARK_ITERATIONS / 10; i++) {
+            invokeUncached(className, cArgs);
+            Reflection.invokeStaticMethod(className, "echo", cArgs, "value");
+        }
+
+        // how every call was resolved before the cache
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            invokeUncached(className, cArgs);
+        }
+        long uncachedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            Reflection.invokeStaticMethod(className, "echo", cArgs, "value");
+        }
+        long cachedNanos = System.nanoTime() - start;
+
+        // a missing class used to throw and fill a stack trace on every call
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS / 10; i++) {
+            try {
+                Class.forName(MISSING_CLASS);
+            } catch (ClassNotFoundException e) {
+                // expected
+            }
+        }
+        long uncachedMissingNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS / 10; i++) {
+            Reflection.forName(MISSING_CLASS);
+        }
+        long cachedMissingNanos = System.nanoTime() - start;
+
+        mockLogger.test(String.format(Locale.US,
+                "Uncached invoke %d ns/op, cached invoke %d ns/op, uncached missing class %d ns/op, cached missing class %d ns/op",
+                uncachedNanos / BENCHMARK_ITERATIONS,
+                cachedNanos / BENCHMARK_ITERATIONS,
+                uncachedMissingNanos / (BENCHMARK_ITERATIONS / 10),
+                cachedMissingNanos / (BENCHMARK_ITERATIONS / 10)));
+
+        assertUtil.isTrue(cachedNanos < uncachedNanos);
+        assertUtil.isTrue(cachedMissingNanos < uncachedMissingNanos);
+    }
+
+    private static Object invokeUncached(String className, Class[] cArgs) throws Exception {
+        Class classObject = Class.forName(className);
+        @SuppressWarnings("unchecked")
+        Method methodObject = classObject.getMethod("echo", cArgs);
+        return methodObject.invoke(null, "value");
+    }
+}
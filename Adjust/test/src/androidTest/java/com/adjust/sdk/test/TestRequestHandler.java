@@ -7,8 +7,19 @@ import android.test.ActivityInstrumentationTestCase2;
 import com.adjust.sdk.ActivityHandler;
 import com.adjust.sdk.ActivityPackage;
 import com.adjust.sdk.AdjustConfig;
+import com.adjust.sdk.ActivityKind;
 import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.IClock;
+import com.adjust.sdk.MetricsRegistry;
+import com.adjust.sdk.OnPackageStageListener;
+import com.adjust.sdk.PackageTracer;
 import com.adjust.sdk.RequestHandler;
+import com.adjust.sdk.RetryBudget;
+import com.adjust.sdk.TrafficRecorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
 
 /**
  * Created by pfms on 30/01/15.
@@ -58,6 +69,11 @@ public class TestRequestHandler extends ActivityInstrumentationTestCase2<UnitTes
         AdjustFactory.setHttpsURLConnection(null);
         AdjustFactory.setPackageHandler(null);
         AdjustFactory.setLogger(null);
+        PackageTracer.setListener(null);
+        TrafficRecorder.stop();
+        AdjustFactory.setClock(null);
+        AdjustFactory.setRetryBudget(null);
+        AdjustFactory.setMetricsRegistry(null);
     }
 
     public void testSend() {
@@ -79,6 +95,160 @@ public class TestRequestHandler extends ActivityInstrumentationTestCase2<UnitTes
         messageTest();
     }
 
+    public void testRetryBudget() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestRequestHandler testRetryBudget");
+
+        // without refills, only responses of the server give back to the budget
+        RetryBudget retryBudget = new RetryBudget(1, 1.0, 0);
+        AdjustFactory.setRetryBudget(retryBudget);
+
+        // and only they count as sent
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        AdjustFactory.setMetricsRegistry(metricsRegistry);
+
+        requestHandler = new RequestHandler(mockPackageHandler);
+
+        // failing before reaching the server is not a success
+        mockHttpsURLConnection.responseType = null;
+
+        requestHandler.sendPackage(sessionPackage, -1);
+        SystemClock.sleep(1000);
+
+        assertUtil.error("Failed to track session. (Runtime exception: java.lang.NullPointerException)");
+        assertUtil.test("PackageHandler sendNextPackage");
+
+        assertUtil.isEqual(0, (int) retryBudget.getSuccesses());
+
+        MetricsRegistry.Snapshot snapshot = metricsRegistry.snapshot();
+        assertUtil.isEqual(0L, (long) snapshot.counters.get(MetricsRegistry.PACKAGES_SENT));
+        assertUtil.isEqual(1L, (long) snapshot.counters.get(MetricsRegistry.REQUEST_FAILURES + "session"));
+
+        mockHttpsURLConnection.responseType = ResponseType.MESSAGE;
+
+        requestHandler.sendPackage(sessionPackage, 1);
+        SystemClock.sleep(1000);
+
+        assertUtil.test("PackageHandler sendNextPackage, message:response OK");
+
+        assertUtil.isEqual(1, (int) retryBudget.getSuccesses());
+
+        snapshot = metricsRegistry.snapshot();
+        assertUtil.isEqual(1L, (long) snapshot.counters.get(MetricsRegistry.PACKAGES_SENT));
+        assertUtil.isEqual(1L, (long) snapshot.counters.get(MetricsRegistry.REQUEST_FAILURES + "session"));
+    }
+
+    public void testPackageStages() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestRequestHandler testPackageStages");
+
+        final long[] lastTimestamp = new long[1];
+        PackageTracer.setListener(new OnPackageStageListener() {
+            @Override
+            public void onPackageStage(PackageTracer.Stage stage, long packageId, ActivityKind activityKind, long timestampNanos) {
+                mockLogger.test(String.format("PackageStage %s, packageId %d, %s", stage, packageId, activityKind));
+                if (timestampNanos < lastTimestamp[0]) {
+                    mockLogger.test("PackageStage went back in time");
+                }
+                lastTimestamp[0] = timestampNanos;
+            }
+        });
+
+        requestHandler = new RequestHandler(mockPackageHandler);
+
+        mockHttpsURLConnection.responseType = ResponseType.MESSAGE;
+
+        requestHandler.sendPackage(sessionPackage, 0);
+        SystemClock.sleep(1000);
+
+        assertUtil.notInTest("PackageStage went back in time");
+
+        long packageId = sessionPackage.getPackageId();
+        assertUtil.test("PackageStage QUEUE_WAIT, packageId " + packageId + ", session");
+        assertUtil.test("PackageStage HTTP, packageId " + packageId + ", session");
+        assertUtil.test("PackageStage PARSE, packageId " + packageId + ", session");
+
+        assertUtil.test("PackageHandler sendNextPackage, message:response OK");
+
+        // nothing is reported without a listener
+        PackageTracer.setListener(null);
+
+        requestHandler.sendPackage(sessionPackage, 0);
+        SystemClock.sleep(1000);
+
+        assertUtil.notInTest("PackageStage");
+    }
+
+    public void testTrafficRecording() throws IOException {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestRequestHandler testTrafficRecording");
+
+        final IClock deviceClock = AdjustFactory.getClock();
+        AdjustFactory.setClock(new IClock() {
+            @Override
+            public long currentTimeMillis() {
+                return 1000000L;
+            }
+
+            @Override
+            public long elapsedRealtime() {
+                return deviceClock.elapsedRealtime();
+            }
+
+            @Override
+            public long threadCpuTimeNanos() {
+                return deviceClock.threadCpuTimeNanos();
+            }
+        });
+
+        File recording = new File(context.getFilesDir(), "TestTrafficRecording");
+        recording.delete();
+        TrafficRecorder.start(recording);
+
+        assertUtil.info("Recording traffic to " + recording);
+
+        requestHandler = new RequestHandler(mockPackageHandler);
+
+        mockHttpsURLConnection.responseType = ResponseType.MESSAGE;
+
+        requestHandler.sendPackage(sessionPackage, 2);
+        requestHandler.sendPackage(sessionPackage, 1);
+        SystemClock.sleep(1000);
+
+        assertUtil.test("PackageHandler sendNextPackage, message:response OK");
+        assertUtil.test("PackageHandler sendNextPackage, message:response OK");
+
+        // a second recording on the same file is appended
+        TrafficRecorder.start(recording);
+        requestHandler.sendPackage(sessionPackage, 0);
+        SystemClock.sleep(1000);
+        TrafficRecorder.stop();
+
+        List<TrafficRecorder.Entry> entries = TrafficRecorder.read(recording);
+        assertUtil.isEqual(3, entries.size());
+
+        for (int i = 0; i < entries.size(); i++) {
+            TrafficRecorder.Entry entry = entries.get(i);
+            assertUtil.isEqual(1000000L, entry.sentAt);
+            assertUtil.isEqual(2 - i, entry.queueSize);
+            assertUtil.isTrue(entry.durationMillis >= 0);
+
+            ActivityPackage recordedPackage = entry.activityPackage;
+            assertUtil.isTrue(ActivityKind.SESSION == recordedPackage.getActivityKind());
+            assertUtil.isEqual(sessionPackage.getPath(), recordedPackage.getPath());
+            assertUtil.isEqual(sessionPackage.getClientSdk(), recordedPackage.getClientSdk());
+            assertUtil.isTrue(sessionPackage.getBodyParameters().equals(recordedPackage.getParameters()));
+        }
+
+        // nothing is recorded once stopped
+        requestHandler.sendPackage(sessionPackage, 0);
+        SystemClock.sleep(1000);
+
+        assertUtil.isEqual(3, TrafficRecorder.read(recording).size());
+
+        recording.delete();
+    }
+
 /* configure local test server
     public void testTimeout() {
         // assert test name to read better in logcat
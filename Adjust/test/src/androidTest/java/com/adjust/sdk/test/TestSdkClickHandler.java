@@ -10,6 +10,7 @@ import com.adjust.sdk.ActivityPackage;
 import com.adjust.sdk.AdjustConfig;
 import com.adjust.sdk.AdjustFactory;
 import com.adjust.sdk.BackoffStrategy;
+import com.adjust.sdk.RetryBudget;
 import com.adjust.sdk.SdkClickHandler;
 
 /**
@@ -53,6 +54,7 @@ public class TestSdkClickHandler extends ActivityInstrumentationTestCase2<UnitTe
 
         AdjustFactory.setHttpsURLConnection(null);
         AdjustFactory.setLogger(null);
+        AdjustFactory.setRetryBudget(null);
     }
 
     private ActivityPackage getClickPackage() {
@@ -234,6 +236,35 @@ public class TestSdkClickHandler extends ActivityInstrumentationTestCase2<UnitTe
         assertUtil.debug("Added sdk_click");
     }
 
+    public void testRetryBudget() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestRequestHandler testRetryBudget");
+
+        AdjustFactory.setSdkClickBackoffStrategy(BackoffStrategy.NO_WAIT);
+
+        // empty budget, one token every 2 seconds
+        RetryBudget retryBudget = new RetryBudget(0, 1.0, 2000);
+        AdjustFactory.setRetryBudget(retryBudget);
+
+        SdkClickHandler sdkClickHandler = new SdkClickHandler(true);
+
+        mockHttpsURLConnection.responseType = ResponseType.CLIENT_PROTOCOL_EXCEPTION;
+
+        sdkClickHandler.sendSdkClick(sdkClickPackage);
+        SystemClock.sleep(1000);
+
+        assertUtil.error("Retrying sdk_click package for the 1 time");
+
+        // the retry is deferred until the budget has a token
+        assertUtil.debug("Retry budget exhausted, deferring retry for 2.0 seconds");
+        assertUtil.verbose("Sleeping for 2.0 seconds before retrying sdk_click for the 1 time");
+
+        assertUtil.isEqual(1, (int) retryBudget.getDeferredRetries());
+        assertUtil.isEqual(0, (int) retryBudget.getGrantedRetries());
+
+        sdkClickHandler.teardown();
+    }
+
     public void testServerError() {
         // assert test name to read better in logcat
         mockLogger.Assert("TestRequestHandler testServerError");
@@ -315,4 +346,49 @@ public class TestSdkClickHandler extends ActivityInstrumentationTestCase2<UnitTe
 
         assertUtil.info("response OK");
     }
+
+    public void testFlushAndTeardown() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestRequestHandler testFlushAndTeardown");
+
+        AdjustFactory.setSdkClickBackoffStrategy(BackoffStrategy.NO_WAIT);
+
+        mockHttpsURLConnection.responseType = ResponseType.MESSAGE;
+
+        // paused, the click can't be sent
+        SdkClickHandler pausedSdkClickHandler = new SdkClickHandler(false);
+
+        pausedSdkClickHandler.sendSdkClick(sdkClickPackage);
+
+        int clicksRemaining = pausedSdkClickHandler.flush(500);
+
+        assertUtil.isEqual(1, clicksRemaining);
+        assertUtil.debug("Sdk click handler flushed with 1 packages remaining");
+        assertUtil.notInTest("MockHttpsURLConnection getInputStream");
+
+        // and it's lost at the teardown
+        pausedSdkClickHandler.teardown();
+        SystemClock.sleep(1000);
+
+        assertUtil.verbose("SdkClickHandler teardown");
+        assertUtil.warn("Dropped 1 sdk_click packages at teardown");
+
+        // sending, flush waits for the click to be sent
+        SdkClickHandler sdkClickHandler = new SdkClickHandler(true);
+
+        sdkClickHandler.sendSdkClick(sdkClickPackage);
+
+        clicksRemaining = sdkClickHandler.flush(2000);
+
+        assertUtil.isEqual(0, clicksRemaining);
+        assertUtil.test("MockHttpsURLConnection getInputStream, responseType: MESSAGE");
+        assertUtil.debug("Sdk click handler flushed with 0 packages remaining");
+
+        // nothing left to drop
+        sdkClickHandler.teardown();
+        SystemClock.sleep(1000);
+
+        assertUtil.verbose("SdkClickHandler teardown");
+        assertUtil.notInWarn("Dropped");
+    }
 }
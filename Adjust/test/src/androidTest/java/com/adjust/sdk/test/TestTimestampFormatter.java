@@ -0,0 +1,145 @@
+package com.adjust.sdk.test;
+
+import android.test.ActivityInstrumentationTestCase2;
+
+import com.adjust.sdk.AdjustFactory;
+import com.adjust.sdk.TimestampFormatter;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestTimestampFormatter extends ActivityInstrumentationTestCase2<UnitTestActivity> {
+    private static final int BENCHMARK_ITERATIONS = 100000;
+
+    private MockLogger mockLogger;
+    private AssertUtil assertUtil;
+    private TimeZone defaultTimeZone;
+
+    public TestTimestampFormatter() {
+        super(UnitTestActivity.class);
+    }
+
+    public TestTimestampFormatter(Class<UnitTestActivity> activityClass) {
+        super(activityClass);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mockLogger = new MockLogger();
+
+        assertUtil = new AssertUtil(mockLogger);
+
+        AdjustFactory.setLogger(mockLogger);
+
+        defaultTimeZone = TimeZone.getDefault();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+
+        TimeZone.setDefault(defaultTimeZone);
+        AdjustFactory.setLogger(null);
+    }
+
+    public void testSameOutput() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestTimestampFormatter testSameOutput");
+
+        String[] timeZones = {"UTC", "Europe/Berlin", "America/St_Johns", "Asia/Kolkata", "Asia/Kathmandu"};
+        Random random = new Random(42);
+
+        for (String timeZone : timeZones) {
+            TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+            SimpleDateFormat simpleDateFormat = new SimpleDateFormat(TimestampFormatter.PATTERN, Locale.US);
+
+            // the next weeks and random times far from now
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < 10000; i++) {
+                long millis;
+                if (i % 2 == 0) {
+                    millis = now + random.nextInt(Integer.MAX_VALUE);
+                } else {
+                    millis = random.nextLong() % 4000000000000L;
+                }
+
+                assertUtil.isEqual(simpleDateFormat.format(millis), TimestampFormatter.format(millis));
+            }
+        }
+    }
+
+    public void testConcurrentUse() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestTimestampFormatter testConcurrentUse");
+
+        final AtomicInteger mismatches = new AtomicInteger(0);
+        Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++) {
+            final long seed = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(TimestampFormatter.PATTERN, Locale.US);
+                    Random random = new Random(seed);
+                    long now = System.currentTimeMillis();
+
+                    for (int i = 0; i < 20000; i++) {
+                        // different seconds on every thread to keep replacing the cached second
+                        long millis = now + random.nextInt(10000);
+                        if (!simpleDateFormat.format(millis).equals(TimestampFormatter.format(millis))) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                assertUtil.fail();
+            }
+        }
+
+        assertUtil.isEqual(0, mismatches.get());
+    }
+
+    public void testBenchmark() {
+        // assert test name to read better in logcat
+        mockLogger.Assert("TestTimestampFormatter testBenchmark");
+
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(TimestampFormatter.PATTERN, Locale.US);
+        long now = System.currentTimeMillis();
+
+        // warm up both
+        for (int i = 0; i < BENCHMARK_ITERATIONS / 10; i++) {
+            simpleDateFormat.format(now + i);
+            TimestampFormatter.format(now + i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            simpleDateFormat.format(now + i);
+        }
+        long simpleDateFormatNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            TimestampFormatter.format(now + i);
+        }
+        long timestampFormatterNanos = System.nanoTime() - start;
+
+        mockLogger.test(String.format(Locale.US, "SimpleDateFormat %d ns/op, TimestampFormatter %d ns/op",
+                simpleDateFormatNanos / BENCHMARK_ITERATIONS,
+                timestampFormatterNanos / BENCHMARK_ITERATIONS));
+
+        assertUtil.isTrue(timestampFormatterNanos < simpleDateFormatNanos);
+    }
+}